@@ -0,0 +1,131 @@
+package com.antekk.flappybird;
+
+import com.antekk.flappybird.game.RandomSource;
+import com.antekk.flappybird.game.bird.Bird;
+import com.antekk.flappybird.game.bird.gamemodes.MlTrainingMode;
+import com.antekk.flappybird.game.training.CourseSchedule;
+import com.antekk.flappybird.game.training.LockstepEvaluator;
+import com.antekk.flappybird.game.training.PopulationEvaluator;
+import com.antekk.flappybird.game.training.TrainingCheckpoint;
+import com.antekk.flappybird.game.training.TrainingSettings;
+import com.antekk.flappybird.game.world.Board;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+//trains headlessly, writes a checkpoint, resumes from it the way the game does and checks that the resumed
+//generations get exactly the fitness the uninterrupted run gave them. Both generation cycles of the game loop are
+//covered: on the board every generation plays the course its reset started, headless ones are evaluated on the
+//course after it. Exits with 1 on the first generation that differs
+//usage: CheckpointResumeCheck [--population N] [--checkpoint-at GENERATION] [--generations N] [--seed N]
+public class CheckpointResumeCheck {
+    private static final int BLOCK_SIZE = 50;
+    private static final int PIPE_GAP = 3 * BLOCK_SIZE;
+    private static final long MAX_TICKS = 3000;
+    private static final String USAGE = "usage: CheckpointResumeCheck [--population N] [--checkpoint-at GENERATION] " +
+            "[--generations N] [--seed N]";
+
+    public static void main(String[] args) throws IOException {
+        int population = 100;
+        int checkpointAt = 5;
+        int generations = 5;
+        long seed = 1;
+        try {
+            for(int i = 0; i < args.length; i++) {
+                switch(args[i]) {
+                    case "--population" -> population = Integer.parseInt(args[++i]);
+                    case "--checkpoint-at" -> checkpointAt = Integer.parseInt(args[++i]);
+                    case "--generations" -> generations = Integer.parseInt(args[++i]);
+                    case "--seed" -> seed = Long.parseLong(args[++i]);
+                    default -> throw new IllegalArgumentException();
+                }
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+
+        TrainingSettings defaults = TrainingSettings.getDefault();
+        TrainingSettings settings = new TrainingSettings(population, defaults.getEliteCount(), defaults.getSelection(),
+                defaults.getCrossover(), defaults.getMutation(), defaults.getMutationRate(), defaults.getMutationSigma());
+        Board board = Board.headless(BLOCK_SIZE);
+        File file = File.createTempFile("checkpoint", ".bin");
+        file.deleteOnExit();
+
+        for(boolean headless : new boolean[] {false, true}) {
+            RandomSource.setRunSeed(seed);
+            long[][] expected = train(settings, board, checkpointAt, generations, headless, file);
+            long[][] resumed = resume(board, generations, headless, file);
+            for(int g = 0; g < generations; g++) {
+                if(!Arrays.equals(expected[g], resumed[g])) {
+                    System.out.println((headless ? "Headless" : "Board") + " cycle: generation " + (checkpointAt + 1 + g) +
+                            " differs after resuming from generation " + checkpointAt);
+                    System.exit(1);
+                }
+            }
+        }
+        System.out.println("OK, " + generations + " generations after a checkpoint at generation " + checkpointAt +
+                " match the uninterrupted run on the board and headless");
+    }
+
+    //the uninterrupted run, fitness of the generations after the checkpoint
+    private static long[][] train(TrainingSettings settings, Board board, int checkpointAt, int generations,
+                                  boolean headless, File file) throws IOException {
+        MlTrainingMode mode = new MlTrainingMode(settings);
+        mode.init(board);
+        CourseSchedule courses = new CourseSchedule();
+        long[][] fitness = new long[generations][];
+        for(int generation = 1; generation <= checkpointAt + generations; generation++) {
+            evaluate(mode, courses, headless);
+            if(generation > checkpointAt)
+                fitness[generation - checkpointAt - 1] = fitnessOf(mode);
+            //taken where the game loop takes it, when the generation has ended and before breeding
+            if(generation == checkpointAt)
+                mode.createCheckpoint(courses.getCoursesPlayed()).writeTo(file);
+            mode.newPopulation();
+        }
+        return fitness;
+    }
+
+    //what resuming in the game does: the checkpoint's seed and courses, its generation bred, a preview of the
+    //upcoming course, then the game is started
+    private static long[][] resume(Board board, int generations, boolean headless, File file) throws IOException {
+        RandomSource.setRunSeed(0);
+        TrainingCheckpoint checkpoint = TrainingCheckpoint.readFrom(file);
+        RandomSource.setRunSeed(checkpoint.getRunSeed());
+        MlTrainingMode mode = new MlTrainingMode(checkpoint.getSettings());
+        mode.init(board);
+        mode.restoreCheckpoint(checkpoint);
+        mode.newPopulation();
+        CourseSchedule courses = new CourseSchedule();
+        courses.restart(checkpoint.getCoursesPlayed());
+        courses.peek();
+
+        long[][] fitness = new long[generations][];
+        for(int g = 0; g < generations; g++) {
+            evaluate(mode, courses, headless);
+            fitness[g] = fitnessOf(mode);
+            mode.newPopulation();
+        }
+        return fitness;
+    }
+
+    //starting the game and every next generation reset the board onto a new course, a headless generation is
+    //then evaluated on the one after it
+    private static void evaluate(MlTrainingMode mode, CourseSchedule courses, boolean headless) {
+        long boardCourse = courses.next();
+        long courseSeed = headless ? courses.next() : boardCourse;
+        PopulationEvaluator evaluator = new LockstepEvaluator(MAX_TICKS);
+        evaluator.evaluate(mode.getBirds(), PIPE_GAP, courseSeed);
+    }
+
+    private static long[] fitnessOf(MlTrainingMode mode) {
+        ArrayList<Bird> birds = mode.getBirds();
+        long[] fitness = new long[birds.size()];
+        for(int i = 0; i < fitness.length; i++)
+            fitness[i] = birds.get(i).getFitness();
+        return fitness;
+    }
+}
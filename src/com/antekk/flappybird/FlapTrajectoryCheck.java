@@ -0,0 +1,157 @@
+package com.antekk.flappybird;
+
+import com.antekk.flappybird.game.bird.Bird;
+import com.antekk.flappybird.game.bird.BirdPopulation;
+import com.antekk.flappybird.game.world.Board;
+import com.antekk.flappybird.game.world.World;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+
+//checks the flap trajectory tables against the sin/cos state machine the bird movement used before them.
+//Every flight state a bird can reach (frames since the last flap, rising or falling) is stepped once through a
+//real World, on the Bird path and on the BirdPopulation path, and compared with the old code's displacement and
+//next state. Exits with 1 on the first block size that doesn't match
+//usage: FlapTrajectoryCheck [BLOCK_SIZE...]    all block sizes from 35 (the smallest the options allow) to 300 by default
+public class FlapTrajectoryCheck {
+    private static final int MIN_BLOCK_SIZE = 35;
+    private static final int MAX_BLOCK_SIZE = 300;
+
+    //a bird's flight state at the start of a tick
+    private record State(int frames, boolean movingUp) {}
+
+    private record Stepped(Bird bird, int dy) {}
+
+    public static void main(String[] args) {
+        ArrayList<Integer> blockSizes = new ArrayList<>();
+        try {
+            for(String arg : args)
+                blockSizes.add(Integer.parseInt(arg));
+        } catch (NumberFormatException e) {
+            System.err.println("usage: FlapTrajectoryCheck [BLOCK_SIZE...]");
+            System.exit(1);
+        }
+        if(blockSizes.isEmpty()) {
+            for(int blockSize = MIN_BLOCK_SIZE; blockSize <= MAX_BLOCK_SIZE; blockSize++)
+                blockSizes.add(blockSize);
+        }
+
+        long checked = 0;
+        for(int blockSize : blockSizes) {
+            ArrayList<State> states = reachableStates(blockSize);
+            for(State state : states) {
+                String mismatch = check(blockSize, state);
+                if(mismatch != null) {
+                    System.out.println("Block size " + blockSize + ", frames " + state.frames() +
+                            (state.movingUp() ? " rising: " : " falling: ") + mismatch);
+                    System.exit(1);
+                }
+            }
+            checked += states.size();
+        }
+        System.out.println("OK, " + checked + " flight states on " + blockSizes.size() +
+                (blockSizes.size() == 1 ? " block size" : " block sizes") + " match the old movement code");
+    }
+
+    //a bird starts falling from frame 0 and can flap at the end of any tick, which puts it at frame 0 rising
+    private static ArrayList<State> reachableStates(int blockSize) {
+        ArrayList<State> states = new ArrayList<>();
+        HashSet<State> seen = new HashSet<>();
+        ArrayDeque<State> queue = new ArrayDeque<>();
+        queue.add(new State(0, false));
+        queue.add(new State(0, true));
+        while(!queue.isEmpty()) {
+            State state = queue.poll();
+            if(!seen.add(state))
+                continue;
+            states.add(state);
+            ReferenceBird bird = new ReferenceBird(state);
+            referenceBirdLogic(bird, (float) blockSize / 6);
+            queue.add(new State(bird.framesSinceBirdStartedMoving, bird.isMovingUp));
+        }
+        return states;
+    }
+
+    private static String check(int blockSize, State state) {
+        ReferenceBird expected = new ReferenceBird(state);
+        referenceBirdLogic(expected, (float) blockSize / 6);
+
+        Board board = Board.headless(blockSize);
+        String mismatch = compare("Bird path", expected, stepBird(board, state, false));
+        return mismatch != null ? mismatch : compare("BirdPopulation path", expected, stepBird(board, state, true));
+    }
+
+    //one tick of a brainless bird in a fresh world, the first pipe is still far to the right
+    private static Stepped stepBird(Board board, State state, boolean population) {
+        Bird bird = new Bird(board);
+        bird.framesSinceBirdStartedMoving = state.frames();
+        bird.isMovingUp = state.movingUp();
+        ArrayList<Bird> birds = new ArrayList<>(1);
+        birds.add(bird);
+
+        World world = new World(board, 3 * board.getBlockSizePx());
+        if(population)
+            world.reset(new BirdPopulation(birds), 0);
+        else
+            world.reset(birds, 0);
+        int startY = bird.getHitboxPosY();
+        world.step();
+        world.syncBirdViews();
+        //moveUpBy(dy) moves the bird to y - dy
+        return new Stepped(bird, startY - bird.getHitboxPosY());
+    }
+
+    private static String compare(String path, ReferenceBird expected, Stepped actual) {
+        Bird bird = actual.bird();
+        if(!bird.isAlive)
+            return path + " bird died";
+        if(actual.dy() != expected.dy)
+            return path + " moved by " + actual.dy() + " instead of " + expected.dy;
+        if(bird.framesSinceBirdStartedMoving != expected.framesSinceBirdStartedMoving || bird.isMovingUp != expected.isMovingUp)
+            return path + " went to frames " + bird.framesSinceBirdStartedMoving + (bird.isMovingUp ? " rising" : " falling") +
+                    " instead of " + expected.framesSinceBirdStartedMoving + (expected.isMovingUp ? " rising" : " falling");
+        if(bird.rotationAngle != expected.rotationAngle)
+            return path + " rotated to " + bird.rotationAngle + " instead of " + expected.rotationAngle;
+        return null;
+    }
+
+    private static final class ReferenceBird {
+        private boolean isMovingUp;
+        private int framesSinceBirdStartedMoving;
+        private int rotationAngle = 0;
+        private int dy = 0;
+
+        private ReferenceBird(State state) {
+            isMovingUp = state.movingUp();
+            framesSinceBirdStartedMoving = state.frames();
+        }
+
+        private void moveUpBy(int dy) {
+            this.dy += dy;
+        }
+    }
+
+    //World.birdLogic as it was before FlapTrajectory, kept verbatim apart from the multiplier being a parameter
+    private static void referenceBirdLogic(ReferenceBird bird, float MOVEMENT_SINE_MULTIPLIER) {
+        final int TICKS_PER_SECOND = 60;
+
+        if (bird.framesSinceBirdStartedMoving >= 90 && bird.isMovingUp) {
+            bird.isMovingUp = false;
+            bird.framesSinceBirdStartedMoving = 0;
+        }
+
+        if (!bird.isMovingUp) {
+            bird.rotationAngle++;
+            bird.moveUpBy((int) -Math.ceil((MOVEMENT_SINE_MULTIPLIER * Math.sin((double) bird.framesSinceBirdStartedMoving / TICKS_PER_SECOND))));
+            if (bird.framesSinceBirdStartedMoving < 90)
+                bird.framesSinceBirdStartedMoving += 9;
+        }
+
+        if (bird.isMovingUp) {
+            bird.rotationAngle = 0;
+            bird.moveUpBy((int) Math.floor(MOVEMENT_SINE_MULTIPLIER * Math.cos((double) bird.framesSinceBirdStartedMoving / TICKS_PER_SECOND)));
+            bird.framesSinceBirdStartedMoving += 6;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.antekk.flappybird;
+
+import com.antekk.flappybird.game.ai.NetworkBinaryFormat;
+import org.json.JSONException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+//converts saved networks between json and the binary format, the direction follows the output's extension
+//usage: NetworkConverter INPUT... OUTPUT
+//  NetworkConverter best.json other.json networks.fbn    packs json files into one binary file
+//  NetworkConverter networks.fbn best.json               unpacks, several networks become best-0.json, best-1.json...
+public class NetworkConverter {
+    public static void main(String[] args) {
+        if(args.length < 2) {
+            System.err.println("usage: NetworkConverter INPUT... OUTPUT (json files to a " + NetworkBinaryFormat.EXTENSION +
+                    " file or the other way around)");
+            System.exit(1);
+        }
+
+        ArrayList<Path> inputs = new ArrayList<>();
+        for(int i = 0; i < args.length - 1; i++)
+            inputs.add(Path.of(args[i]));
+        try {
+            NetworkBinaryFormat.convert(inputs, Path.of(args[args.length - 1]));
+        } catch (IOException | JSONException | IllegalArgumentException e) {
+            System.err.println("Cannot convert: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.antekk.flappybird;
+
+import com.antekk.flappybird.game.RandomSource;
+import com.antekk.flappybird.game.ai.Brain;
+import com.antekk.flappybird.game.ai.GameStateRecorder;
+import com.antekk.flappybird.game.ai.NeuralNetwork;
+import com.antekk.flappybird.game.ai.QuantizedPopulation;
+import com.antekk.flappybird.game.bird.Bird;
+import com.antekk.flappybird.game.training.LockstepEvaluator;
+import com.antekk.flappybird.game.world.Board;
+import org.json.JSONException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+//plays the given networks headlessly while recording the game states they see, then quantizes them and reports
+//how often the int8 and int16 copies decide differently than float predict on those states
+//the board sits under the game's toolbar unless --top says otherwise, networks trained in the game die at once on
+//other layouts and the states would say nothing about play
+//usage: QuantizationCalibrator [--courses N] [--pipe-gap PX] [--top PX] [--max-states N] [--seed N] NETWORK_FILE...
+public class QuantizationCalibrator {
+    private static final int BLOCK_SIZE = 50;
+    private static final String USAGE = "usage: QuantizationCalibrator [--courses N] [--pipe-gap PX] [--top PX] [--max-states N] " +
+            "[--seed N] NETWORK_FILE...";
+
+    public static void main(String[] args) {
+        int courses = 3;
+        int pipeGap = 3 * BLOCK_SIZE;
+        int top = Board.getToolbarHeight(BLOCK_SIZE);
+        int maxStates = 200_000;
+        long seed = 1;
+        ArrayList<String> files = new ArrayList<>();
+        try {
+            for(int i = 0; i < args.length; i++) {
+                switch(args[i]) {
+                    case "--courses" -> courses = Integer.parseInt(args[++i]);
+                    case "--pipe-gap" -> pipeGap = Integer.parseInt(args[++i]);
+                    case "--top" -> top = Integer.parseInt(args[++i]);
+                    case "--max-states" -> maxStates = Integer.parseInt(args[++i]);
+                    case "--seed" -> seed = Long.parseLong(args[++i]);
+                    default -> files.add(args[i]);
+                }
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            files.clear();
+        }
+        if(files.isEmpty()) {
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+
+        ArrayList<NeuralNetwork> networks = new ArrayList<>();
+        try {
+            for(Brain network : Brain.loadAll(files)) {
+                if(network instanceof NeuralNetwork fixed)
+                    networks.add(fixed);
+            }
+        } catch (IOException | JSONException e) {
+            System.err.println("Cannot load the networks: " + e.getMessage());
+            System.exit(1);
+        }
+        if(networks.isEmpty()) {
+            System.err.println("No fixed topology networks to quantize, NEAT networks are skipped");
+            System.exit(1);
+        }
+
+        RandomSource.setRunSeed(seed);
+        Board board = new Board(BLOCK_SIZE, top);
+        int[][] states = recordStates(networks, board, courses, pipeGap, maxStates);
+        int count = states[0].length;
+        System.out.println(networks.size() + (networks.size() == 1 ? " network, " : " networks, ") + count + " recorded states from " + courses + " courses");
+        System.out.println("Board: block size " + BLOCK_SIZE + " px, top offset " + top + " px" +
+                (top == Board.getToolbarHeight(BLOCK_SIZE) ? " (game layout)" : "") + ", pipes gap " + pipeGap + " px");
+
+        NeuralNetwork[] array = networks.toArray(new NeuralNetwork[0]);
+        System.out.printf("FLOAT  %4d bytes per network%n", NeuralNetwork.PARAMETER_COUNT * Float.BYTES);
+        for(QuantizedPopulation.Precision precision : QuantizedPopulation.Precision.values()) {
+            QuantizedPopulation population = new QuantizedPopulation(array, precision);
+            QuantizedPopulation.Calibration calibration = population.calibrate(array, states[0], states[1], count);
+            System.out.printf("%-6s %4d bytes per network, %d of %d decisions differ (%.4f%%) in %d networks, max output error %.6f%n",
+                    precision, QuantizedPopulation.getBytesPerNetwork(precision), calibration.disagreements(),
+                    calibration.decisions(), calibration.getDisagreementRate() * 100, calibration.disagreeingNetworks(),
+                    calibration.maxOutputError());
+        }
+    }
+
+    //every network flies its own bird on the same seeded courses, states are taken from the networks in turn until
+    //there are enough of them
+    private static int[][] recordStates(List<NeuralNetwork> networks, Board board, int courses, int pipeGap, int maxStates) {
+        LockstepEvaluator evaluator = new LockstepEvaluator();
+        ArrayList<GameStateRecorder> recorders = new ArrayList<>();
+        for(int course = 0; course < courses; course++) {
+            ArrayList<Bird> birds = new ArrayList<>();
+            for(NeuralNetwork network : networks) {
+                GameStateRecorder recorder = new GameStateRecorder(network, maxStates);
+                recorders.add(recorder);
+                birds.add(new Bird(board, recorder));
+            }
+            evaluator.evaluate(birds, pipeGap, RandomSource.stream(RandomSource.COURSE_STREAM, course).nextLong());
+        }
+
+        long total = 0;
+        int[][] recorded1 = new int[recorders.size()][];
+        int[][] recorded2 = new int[recorders.size()][];
+        for(int r = 0; r < recorders.size(); r++) {
+            recorded1[r] = recorders.get(r).getInput1();
+            recorded2[r] = recorders.get(r).getInput2();
+            total += recorded1[r].length;
+        }
+        int count = (int) Math.min(total, maxStates);
+        int[] input1 = new int[count];
+        int[] input2 = new int[count];
+        for(int k = 0, taken = 0; k < count; taken++) {
+            for(int r = 0; r < recorders.size() && k < count; r++) {
+                if(taken >= recorded1[r].length)
+                    continue;
+                input1[k] = recorded1[r][taken];
+                input2[k] = recorded2[r][taken];
+                k++;
+            }
+        }
+        return new int[][] {input1, input2};
+    }
+}
@@ -0,0 +1,221 @@
+package com.antekk.flappybird;
+
+import com.antekk.flappybird.game.RandomSource;
+import com.antekk.flappybird.game.ai.Inference;
+import com.antekk.flappybird.game.training.SweepJob;
+import com.antekk.flappybird.game.training.TrainingSettings;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+//headless hyperparameter sweep, every configuration is a training run on a bounded pool and results are
+//streamed to a csv as runs finish
+//usage: SweepRunner [--random N] [--threads N] [--target SCORE] [--max-generations N] [--replicates N] [--seed N]
+//                   [--out FILE] [axis=value,value,...]...
+//axes: population, elites, selection, crossover, mutation, mutation_rate, mutation_sigma, pipe_gap, block_size, inference
+//random sweeps also accept ranges (axis=low..high) and draw every axis independently
+public class SweepRunner {
+    private static final List<String> AXES = List.of("population", "elites", "selection", "crossover", "mutation",
+            "mutation_rate", "mutation_sigma", "pipe_gap", "block_size", "inference");
+    private static final String CSV_HEADER = "job,replicate,population,elites,selection,crossover,mutation,mutation_rate," +
+            "mutation_sigma,pipe_gap,block_size,inference,generations_to_target,best_score,generations,seconds," +
+            "generations_per_second,episodes_per_second";
+    private static final int DEFAULT_BLOCK_SIZE = 50;
+
+    private int randomSamples = 0;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int targetScore = 50;
+    private int maxGenerations = 200;
+    private int replicates = 1;
+    private long seed = 1;
+    private String out = null;
+    private final LinkedHashMap<String, List<String>> axes = new LinkedHashMap<>();
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        SweepRunner runner = new SweepRunner();
+        List<Map<String, String>> configurations;
+        try {
+            runner.parse(args);
+            configurations = runner.configurations();
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("usage: SweepRunner [--random N] [--threads N] [--target SCORE] [--max-generations N] " +
+                    "[--replicates N] [--seed N] [--out FILE] [axis=value,value,...]...");
+            System.err.println("axes: " + String.join(", ", AXES));
+            System.exit(1);
+            return;
+        }
+        runner.run(configurations);
+    }
+
+    private void parse(String[] args) {
+        for(int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if(arg.startsWith("--")) {
+                if(i + 1 == args.length)
+                    throw new IllegalArgumentException("Missing value for " + arg);
+                String value = args[++i];
+                switch (arg) {
+                    case "--random" -> randomSamples = parseInt(arg, value);
+                    case "--threads" -> threads = Math.max(1, parseInt(arg, value));
+                    case "--target" -> targetScore = parseInt(arg, value);
+                    case "--max-generations" -> maxGenerations = parseInt(arg, value);
+                    case "--replicates" -> replicates = Math.max(1, parseInt(arg, value));
+                    case "--seed" -> seed = Long.parseLong(value);
+                    case "--out" -> out = value;
+                    default -> throw new IllegalArgumentException("Unknown option " + arg);
+                }
+                continue;
+            }
+
+            int equals = arg.indexOf('=');
+            String axis = equals < 0 ? arg : arg.substring(0, equals);
+            if(equals < 0 || !AXES.contains(axis))
+                throw new IllegalArgumentException("Unknown axis " + axis);
+            axes.put(axis, List.of(arg.substring(equals + 1).split(",")));
+        }
+    }
+
+    private static int parseInt(String option, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(option + " needs a number, got " + value);
+        }
+    }
+
+    private List<Map<String, String>> configurations() {
+        ArrayList<Map<String, String>> configurations = new ArrayList<>();
+        if(randomSamples > 0) {
+            //sampling has its own random, the drawn configurations only depend on --seed
+            SplittableRandom random = new SplittableRandom(seed);
+            for(int i = 0; i < randomSamples; i++) {
+                LinkedHashMap<String, String> configuration = new LinkedHashMap<>();
+                for(var axis : axes.entrySet())
+                    configuration.put(axis.getKey(), sample(axis.getValue(), random));
+                configurations.add(configuration);
+            }
+            return configurations;
+        }
+
+        configurations.add(new LinkedHashMap<>());
+        for(var axis : axes.entrySet()) {
+            ArrayList<Map<String, String>> expanded = new ArrayList<>();
+            for(Map<String, String> configuration : configurations) {
+                for(String value : axis.getValue()) {
+                    if(value.contains(".."))
+                        throw new IllegalArgumentException("Ranges like " + value + " only work with --random");
+                    LinkedHashMap<String, String> next = new LinkedHashMap<>(configuration);
+                    next.put(axis.getKey(), value);
+                    expanded.add(next);
+                }
+            }
+            configurations = expanded;
+        }
+        return configurations;
+    }
+
+    //a single low..high value is a range, integers stay integers
+    private static String sample(List<String> values, SplittableRandom random) {
+        String value = values.get(random.nextInt(values.size()));
+        int range = value.indexOf("..");
+        if(range < 0)
+            return value;
+
+        String low = value.substring(0, range);
+        String high = value.substring(range + 2);
+        try {
+            if(!low.contains(".") && !high.contains("."))
+                return String.valueOf(random.nextLong(Long.parseLong(low), Long.parseLong(high) + 1));
+            return String.valueOf((float) random.nextDouble(Double.parseDouble(low), Double.parseDouble(high)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Bad range " + value);
+        }
+    }
+
+    private SweepJob createJob(Map<String, String> configuration, int replicate) {
+        TrainingSettings defaults = TrainingSettings.getDefault();
+        int blockSize = Integer.parseInt(configuration.getOrDefault("block_size", String.valueOf(DEFAULT_BLOCK_SIZE)));
+        TrainingSettings settings = new TrainingSettings(
+                Integer.parseInt(configuration.getOrDefault("population", String.valueOf(defaults.getPopulationSize()))),
+                Integer.parseInt(configuration.getOrDefault("elites", String.valueOf(defaults.getEliteCount()))),
+                TrainingSettings.Selection.valueOf(configuration.getOrDefault("selection", defaults.getSelection().name())),
+                TrainingSettings.Crossover.valueOf(configuration.getOrDefault("crossover", defaults.getCrossover().name())),
+                TrainingSettings.Mutation.valueOf(configuration.getOrDefault("mutation", defaults.getMutation().name())),
+                Float.parseFloat(configuration.getOrDefault("mutation_rate", String.valueOf(defaults.getMutationRate()))),
+                Float.parseFloat(configuration.getOrDefault("mutation_sigma", String.valueOf(defaults.getMutationSigma())))
+        );
+        //same default gap as a fresh config file
+        int pipeGap = Integer.parseInt(configuration.getOrDefault("pipe_gap", String.valueOf(3 * blockSize)));
+        Inference inference = Inference.valueOf(configuration.getOrDefault("inference", Inference.FLOAT.name()));
+        return new SweepJob(settings, blockSize, pipeGap, replicate, inference);
+    }
+
+    private void run(List<Map<String, String>> configurations) throws IOException, InterruptedException {
+        ArrayList<SweepJob> jobs = new ArrayList<>();
+        try {
+            for(Map<String, String> configuration : configurations) {
+                for(int replicate = 0; replicate < replicates; replicate++)
+                    jobs.add(createJob(configuration, replicate));
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Bad sweep value: " + e.getMessage());
+            System.exit(1);
+        }
+
+        RandomSource.setRunSeed(seed);
+        try(PrintWriter csv = out == null ? new PrintWriter(System.out) : new PrintWriter(new FileWriter(out))) {
+            csv.println(CSV_HEADER);
+            csv.flush();
+            System.err.println(jobs.size() + " training runs on " + threads + " threads, target score " + targetScore +
+                    ", max " + maxGenerations + " generations");
+
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            for(int i = 0; i < jobs.size(); i++) {
+                int index = i;
+                SweepJob job = jobs.get(i);
+                pool.execute(() -> {
+                    SweepJob.Result result = job.run(targetScore, maxGenerations);
+                    String row = toCsv(index, job, result);
+                    //rows go out as runs finish, a long sweep can be watched or cut short
+                    synchronized(csv) {
+                        csv.println(row);
+                        csv.flush();
+                    }
+                });
+            }
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+        }
+    }
+
+    private static String toCsv(int index, SweepJob job, SweepJob.Result result) {
+        TrainingSettings settings = job.getSettings();
+        double seconds = Math.max(result.seconds(), 1e-9);
+        return String.join(",",
+                String.valueOf(index),
+                String.valueOf(job.getReplicate()),
+                String.valueOf(settings.getPopulationSize()),
+                String.valueOf(settings.getEliteCount()),
+                settings.getSelection().name(),
+                settings.getCrossover().name(),
+                settings.getMutation().name(),
+                String.valueOf(settings.getMutationRate()),
+                String.valueOf(settings.getMutationSigma()),
+                String.valueOf(job.getPipeGap()),
+                String.valueOf(job.getBlockSize()),
+                job.getInference().name(),
+                result.reachedTarget() ? String.valueOf(result.generationsToTarget()) : "",
+                String.valueOf(result.bestScore()),
+                String.valueOf(result.generations()),
+                String.format(Locale.ROOT, "%.3f", result.seconds()),
+                String.format(Locale.ROOT, "%.2f", result.generations() / seconds),
+                String.format(Locale.ROOT, "%.1f", (double) result.generations() * settings.getPopulationSize() / seconds)
+        );
+    }
+}
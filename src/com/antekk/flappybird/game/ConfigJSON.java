@@ -1,14 +1,22 @@
 package com.antekk.flappybird.game;
 
-import com.antekk.flappybird.game.ai.NeuralNetwork;
+import com.antekk.flappybird.game.ai.Brain;
+import com.antekk.flappybird.game.ai.EnsembleNetwork;
+import com.antekk.flappybird.game.ai.Inference;
 import com.antekk.flappybird.game.bird.gamemodes.GameMode;
+import com.antekk.flappybird.game.bird.gamemodes.MlEnsembleMode;
 import com.antekk.flappybird.game.bird.gamemodes.PlayerMode;
 import com.antekk.flappybird.game.bird.gamemodes.MlPretrainedMode;
 import com.antekk.flappybird.game.pipes.PipeFormation;
+import com.antekk.flappybird.game.training.EvaluationSettings;
+import com.antekk.flappybird.game.training.GenerationLimits;
+import com.antekk.flappybird.game.training.IslandSettings;
+import com.antekk.flappybird.game.training.TrainingSettings;
 import com.antekk.flappybird.view.ErrorDialog;
 import com.antekk.flappybird.view.GamePanel;
 import com.antekk.flappybird.view.themes.GameColors;
 import com.antekk.flappybird.view.themes.Theme;
+import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
@@ -17,12 +25,17 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.FileSystemException;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
 
 import static com.antekk.flappybird.view.GamePanel.getBlockSizePx;
 
 public final class ConfigJSON {
     private static final File file = new File("flappy_bird_config.json");
     private static JSONObject object;
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 10;
+    private static final List<String> DEFAULT_ENSEMBLE_FILES = List.of("pretrained_150px.json", "pretrained_180px.json");
 
     public static void initializeValuesFromConfigFile() {
         if(object == null) {
@@ -44,10 +57,17 @@ public final class ConfigJSON {
 
         GameColors.setTheme(theme);
         PipeFormation.futureGap = object.getInt("vertical_pipes_gap");
-        PipeFormation.updatePipeGap();
+        applyRunSeed(getSeed());
+        writeToFile();
+    }
 
+    //seed 0 means a fresh random seed, the one actually used is kept in last_run_seed so a run can be replayed
+    public static void applyRunSeed(long seed) {
+        RandomSource.setRunSeed(seed != 0 ? seed : new SplittableRandom().nextLong());
+        object.put("last_run_seed", RandomSource.getRunSeed());
     }
 
+    //the general tab and the game mode, writes the file together with whatever the other tabs set before it
     public static void saveValues(int pipesVGap, Theme theme, int blockSize, boolean showNewBestDialog,
                                   GameMode gameMode, String pretrainedJSON) {
         object.put("vertical_pipes_gap", pipesVGap);
@@ -59,6 +79,59 @@ public final class ConfigJSON {
         writeToFile();
     }
 
+    //the setters below only update the values in memory, saveValues writes them
+
+    public static void setSeed(long seed) {
+        object.put("seed", seed);
+    }
+
+    public static void setTurboTraining(boolean turboTraining, int renderInterval) {
+        object.put("turbo_training", turboTraining);
+        object.put("turbo_render_interval", renderInterval);
+    }
+
+    public static void setCheckpointInterval(int checkpointInterval) {
+        object.put("checkpoint_interval", checkpointInterval);
+    }
+
+    public static void setEnsemble(List<String> ensembleFiles, EnsembleNetwork.Vote ensembleVote) {
+        object.put("ensemble_json_files", new JSONArray(ensembleFiles));
+        object.put("ensemble_vote", ensembleVote.name());
+    }
+
+    public static void setTrainingSettings(TrainingSettings trainingSettings, IslandSettings islandSettings) {
+        object.put("population_size", trainingSettings.getPopulationSize());
+        object.put("elite_count", trainingSettings.getEliteCount());
+        object.put("selection", trainingSettings.getSelection().name());
+        object.put("crossover", trainingSettings.getCrossover().name());
+        object.put("mutation", trainingSettings.getMutation().name());
+        object.put("mutation_rate", trainingSettings.getMutationRate());
+        object.put("mutation_sigma", trainingSettings.getMutationSigma());
+        object.put("island_count", islandSettings.getIslandCount());
+        object.put("migration_interval", islandSettings.getMigrationInterval());
+        object.put("migrant_count", islandSettings.getMigrantCount());
+    }
+
+    public static void setEvaluationSettings(EvaluationSettings evaluationSettings, GenerationLimits generationLimits) {
+        object.put("evaluation_courses", evaluationSettings.getCourses());
+        object.put("fitness_aggregation", evaluationSettings.getAggregation().name());
+        object.put("fitness_percentile", evaluationSettings.getPercentile());
+        object.put("fixed_evaluation_courses", evaluationSettings.hasFixedCourses());
+        object.put("max_generation_ticks", generationLimits.getMaxTicks());
+        object.put("max_generation_distance", generationLimits.getMaxDistance());
+        object.put("stagnation_ticks", generationLimits.getStagnationTicks());
+        object.put("generation_time_budget_ms", generationLimits.getTimeBudgetMillis());
+    }
+
+    public static void setParallelEvaluation(boolean parallelEvaluation, int remoteWorkers) {
+        object.put("parallel_evaluation", parallelEvaluation);
+        object.put("remote_workers", remoteWorkers);
+    }
+
+    public static void setInference(Inference inference) {
+        object.put("inference", inference.name());
+    }
+
     private static void generateNewJsonObject() {
         object = new JSONObject();
         object.put("vertical_pipes_gap", 3 * getBlockSizePx());
@@ -67,6 +140,33 @@ public final class ConfigJSON {
         object.put("show_new_best_dialog", true);
         object.put("game_mode", new PlayerMode().toString());
         object.put("pretrained_json_file", "");
+        object.put("parallel_evaluation", false);
+        object.put("seed", 0);
+        object.put("turbo_training", false);
+        object.put("turbo_render_interval", 1);
+        object.put("population_size", TrainingSettings.DEFAULT_POPULATION_SIZE);
+        object.put("elite_count", TrainingSettings.DEFAULT_ELITE_COUNT);
+        object.put("selection", TrainingSettings.Selection.TOURNAMENT.name());
+        object.put("crossover", TrainingSettings.Crossover.BIAS_CUT.name());
+        object.put("mutation", TrainingSettings.Mutation.BIAS_SWAP.name());
+        object.put("mutation_rate", TrainingSettings.DEFAULT_MUTATION_RATE);
+        object.put("mutation_sigma", TrainingSettings.DEFAULT_MUTATION_SIGMA);
+        object.put("island_count", IslandSettings.getDefaultIslandCount());
+        object.put("migration_interval", IslandSettings.DEFAULT_MIGRATION_INTERVAL);
+        object.put("migrant_count", IslandSettings.DEFAULT_MIGRANT_COUNT);
+        object.put("checkpoint_interval", DEFAULT_CHECKPOINT_INTERVAL);
+        object.put("evaluation_courses", EvaluationSettings.DEFAULT_COURSES);
+        object.put("fitness_aggregation", EvaluationSettings.Aggregation.MEAN.name());
+        object.put("fitness_percentile", EvaluationSettings.DEFAULT_PERCENTILE);
+        object.put("fixed_evaluation_courses", false);
+        object.put("max_generation_ticks", GenerationLimits.DEFAULT_MAX_TICKS);
+        object.put("max_generation_distance", 0);
+        object.put("stagnation_ticks", 0);
+        object.put("generation_time_budget_ms", 0);
+        object.put("remote_workers", 0);
+        object.put("ensemble_json_files", new JSONArray(DEFAULT_ENSEMBLE_FILES));
+        object.put("ensemble_vote", EnsembleNetwork.Vote.MAJORITY.name());
+        object.put("inference", Inference.FLOAT.name());
     }
 
     private static void initialize() throws IOException {
@@ -122,6 +222,123 @@ public final class ConfigJSON {
         return object.getBoolean("show_new_best_dialog");
     }
 
+    public static boolean useParallelEvaluation() {
+        return object.optBoolean("parallel_evaluation", false);
+    }
+
+    public static boolean useTurboTraining() {
+        return object.optBoolean("turbo_training", false);
+    }
+
+    public static int getTurboRenderInterval() {
+        return Math.max(1, object.optInt("turbo_render_interval", 1));
+    }
+
+    //generations between training checkpoints, 0 turns them off
+    public static int getCheckpointInterval() {
+        return Math.max(0, object.optInt("checkpoint_interval", DEFAULT_CHECKPOINT_INTERVAL));
+    }
+
+    //worker processes evaluating headless generations, 0 keeps everything in this process
+    public static int getRemoteWorkers() {
+        return Math.max(0, object.optInt("remote_workers", 0));
+    }
+
+    //networks voting in the ensemble mode, the bundled pretrained ones until the list is changed
+    public static List<String> getEnsembleFiles() {
+        JSONArray files = object.optJSONArray("ensemble_json_files");
+        if(files == null)
+            return DEFAULT_ENSEMBLE_FILES;
+        ArrayList<String> paths = new ArrayList<>();
+        for(int i = 0; i < files.length(); i++) {
+            String path = files.optString(i, "");
+            if(!path.isBlank())
+                paths.add(path);
+        }
+        return paths;
+    }
+
+    public static EnsembleNetwork.Vote getEnsembleVote() {
+        try {
+            return EnsembleNetwork.Vote.valueOf(object.optString("ensemble_vote", "MAJORITY"));
+        } catch (IllegalArgumentException e) {
+            return EnsembleNetwork.Vote.MAJORITY;
+        }
+    }
+
+    //arithmetic training populations are evaluated in, quantized inference is opt-in
+    public static Inference getInference() {
+        try {
+            return Inference.valueOf(object.optString("inference", "FLOAT"));
+        } catch (IllegalArgumentException e) {
+            return Inference.FLOAT;
+        }
+    }
+
+    public static TrainingSettings getTrainingSettings() {
+        if(object == null)
+            return TrainingSettings.getDefault();
+
+        TrainingSettings.Selection selection;
+        try {
+            selection = TrainingSettings.Selection.valueOf(object.optString("selection", "TOURNAMENT"));
+        } catch (IllegalArgumentException e) {
+            selection = TrainingSettings.Selection.TOURNAMENT;
+        }
+        return new TrainingSettings(
+                object.optInt("population_size", TrainingSettings.DEFAULT_POPULATION_SIZE),
+                object.optInt("elite_count", TrainingSettings.DEFAULT_ELITE_COUNT),
+                selection,
+                object.optEnum(TrainingSettings.Crossover.class, "crossover", TrainingSettings.Crossover.BIAS_CUT),
+                object.optEnum(TrainingSettings.Mutation.class, "mutation", TrainingSettings.Mutation.BIAS_SWAP),
+                object.optFloat("mutation_rate", TrainingSettings.DEFAULT_MUTATION_RATE),
+                object.optFloat("mutation_sigma", TrainingSettings.DEFAULT_MUTATION_SIGMA)
+        );
+    }
+
+    public static IslandSettings getIslandSettings() {
+        if(object == null)
+            return IslandSettings.getDefault();
+
+        return new IslandSettings(
+                object.optInt("island_count", IslandSettings.getDefaultIslandCount()),
+                object.optInt("migration_interval", IslandSettings.DEFAULT_MIGRATION_INTERVAL),
+                object.optInt("migrant_count", IslandSettings.DEFAULT_MIGRANT_COUNT)
+        );
+    }
+
+    public static EvaluationSettings getEvaluationSettings() {
+        if(object == null)
+            return EvaluationSettings.getDefault();
+
+        return new EvaluationSettings(
+                object.optInt("evaluation_courses", EvaluationSettings.DEFAULT_COURSES),
+                object.optEnum(EvaluationSettings.Aggregation.class, "fitness_aggregation", EvaluationSettings.Aggregation.MEAN),
+                object.optInt("fitness_percentile", EvaluationSettings.DEFAULT_PERCENTILE),
+                object.optBoolean("fixed_evaluation_courses", false)
+        );
+    }
+
+    public static GenerationLimits getGenerationLimits() {
+        if(object == null)
+            return GenerationLimits.getDefault();
+
+        return new GenerationLimits(
+                object.optLong("max_generation_ticks", GenerationLimits.DEFAULT_MAX_TICKS),
+                object.optLong("max_generation_distance", 0),
+                object.optLong("stagnation_ticks", 0),
+                object.optLong("generation_time_budget_ms", 0)
+        );
+    }
+
+    public static long getSeed() {
+        return object.optLong("seed", 0);
+    }
+
+    public static long getLastRunSeed() {
+        return object.optLong("last_run_seed", RandomSource.getRunSeed());
+    }
+
     public static String getPretrainedJSONFilePath() {
         return object.getString("pretrained_json_file");
     }
@@ -129,9 +346,18 @@ public final class ConfigJSON {
     public static GameMode getGameMode() {
         GameMode gameMode = GameMode.valueOf(object.getString("game_mode"));
 
+        if(gameMode instanceof MlEnsembleMode ensembleMode) {
+            try {
+                ensembleMode.setMembers(Brain.loadAll(getEnsembleFiles()), getEnsembleVote());
+            } catch (IOException | JSONException e) {
+                System.err.println("Cannot load the ensemble networks: " + e.getMessage());
+            }
+            return gameMode;
+        }
+
         if(gameMode.isPretrainedMode() && !getPretrainedJSONFilePath().isBlank()) {
             try {
-                ((MlPretrainedMode) gameMode).setBirdsNeuralNetwork(NeuralNetwork.getFromJSON(getPretrainedJSONFilePath()));
+                ((MlPretrainedMode) gameMode).setBirdsNeuralNetwork(Brain.load(getPretrainedJSONFilePath()));
             } catch (JSONException e) {
                 System.err.println(e.getMessage());
             }
@@ -0,0 +1,48 @@
+package com.antekk.flappybird.game;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class RandomSource {
+    public static final long INITIAL_POPULATION_STREAM = 1;
+    public static final long BREEDING_STREAM = 2;
+    public static final long COURSE_STREAM = 3;
+    public static final long THREAD_STREAM = 4;
+    public static final long ISLAND_STREAM = 5;
+
+    private static volatile long runSeed = new SplittableRandom().nextLong();
+    private static final AtomicLong threadStreams = new AtomicLong();
+    private static final ThreadLocal<SplittableRandom> threadRandom =
+            ThreadLocal.withInitial(() -> stream(THREAD_STREAM, threadStreams.getAndIncrement()));
+
+    private RandomSource() {}
+
+    //every stream is derived only from the run seed and its keys, so results don't depend on which thread draws them
+    public static SplittableRandom stream(long... keys) {
+        long seed = mix(runSeed);
+        for(long key : keys) {
+            seed = mix(seed ^ mix(key + 0x9e3779b97f4a7c15L));
+        }
+        return new SplittableRandom(seed);
+    }
+
+    public static SplittableRandom get() {
+        return threadRandom.get();
+    }
+
+    public static void setRunSeed(long seed) {
+        runSeed = seed;
+        threadStreams.set(0);
+        threadRandom.remove();
+    }
+
+    public static long getRunSeed() {
+        return runSeed;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,95 @@
+package com.antekk.flappybird.game.ai;
+
+public class BatchPredictor implements PopulationPredictor {
+    private static final int INPUTS = NeuralNetwork.INPUT_NEURONS;
+    private static final int HIDDEN = NeuralNetwork.HIDDEN_NEURONS;
+
+    private final int size;
+    //parameters of every network packed parameter-major, so each layer pass walks contiguous arrays
+    private final float[][] inputWeight = new float[INPUTS][];
+    private final float[][] inputBias = new float[INPUTS][];
+    private final float[][][] hiddenWeight = new float[HIDDEN][INPUTS][];
+    private final float[][] hiddenBias = new float[HIDDEN][];
+    private final float[][] outputWeight = new float[HIDDEN][];
+    private final float[] outputBias;
+
+    private double[][] activations = new double[INPUTS][0];
+    private double[] outputSum = new double[0];
+
+    public BatchPredictor(Brain[] networks) {
+        size = networks.length;
+        for(int n = 0; n < INPUTS; n++) {
+            inputWeight[n] = new float[size];
+            inputBias[n] = new float[size];
+        }
+        for(int h = 0; h < HIDDEN; h++) {
+            for(int n = 0; n < INPUTS; n++)
+                hiddenWeight[h][n] = new float[size];
+            hiddenBias[h] = new float[size];
+            outputWeight[h] = new float[size];
+        }
+        outputBias = new float[size];
+
+        //other topologies are left zeroed, the caller predicts those one by one
+        for(int i = 0; i < size; i++) {
+            if(networks[i] instanceof NeuralNetwork network)
+                pack(i, network);
+        }
+    }
+
+    private void pack(int i, NeuralNetwork network) {
+        float[] params = network.getParameters();
+        for(int n = 0; n < INPUTS; n++) {
+            int offset = NeuralNetwork.biasIndex(n);
+            inputBias[n][i] = params[offset];
+            inputWeight[n][i] = params[offset + 1];
+        }
+        for(int h = 0; h < HIDDEN; h++) {
+            int offset = NeuralNetwork.biasIndex(INPUTS + h);
+            hiddenBias[h][i] = params[offset];
+            for(int n = 0; n < INPUTS; n++)
+                hiddenWeight[h][n][i] = params[offset + 1 + n];
+        }
+        int offset = NeuralNetwork.biasIndex(INPUTS + HIDDEN);
+        outputBias[i] = params[offset];
+        for(int h = 0; h < HIDDEN; h++)
+            outputWeight[h][i] = params[offset + 1 + h];
+    }
+
+    //evaluates networks[indices[k]] on (input1[k], input2[k]) for k < count, same arithmetic as NeuralNetwork.predict
+    @Override
+    public void predict(int[] indices, int count, int[] input1, int[] input2, double[] result) {
+        if(outputSum.length < count) {
+            activations = new double[INPUTS][count];
+            outputSum = new double[count];
+        }
+
+        double[] a0 = activations[0];
+        double[] a1 = activations[1];
+        for(int k = 0; k < count; k++) {
+            int i = indices[k];
+            a0[k] = Neuron.reLU(0.0 + (double) input1[k] * inputWeight[0][i] + inputBias[0][i]);
+            a1[k] = Neuron.reLU(0.0 + (double) input2[k] * inputWeight[1][i] + inputBias[1][i]);
+            outputSum[k] = 0;
+        }
+
+        for(int h = 0; h < HIDDEN; h++) {
+            float[] w0 = hiddenWeight[h][0];
+            float[] w1 = hiddenWeight[h][1];
+            float[] bias = hiddenBias[h];
+            float[] out = outputWeight[h];
+            for(int k = 0; k < count; k++) {
+                int i = indices[k];
+                double hidden = Neuron.reLU(0.0 + a0[k] * w0[i] + a1[k] * w1[i] + bias[i]);
+                outputSum[k] += hidden * out[i];
+            }
+        }
+
+        for(int k = 0; k < count; k++)
+            result[k] = Neuron.reLU(outputSum[k] + outputBias[indices[k]]);
+    }
+
+    public int size() {
+        return size;
+    }
+}
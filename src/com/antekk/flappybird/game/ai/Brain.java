@@ -0,0 +1,134 @@
+package com.antekk.flappybird.game.ai;
+
+import com.antekk.flappybird.game.bird.Bird;
+import com.antekk.flappybird.view.ErrorDialog;
+import org.json.JSONException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+//whatever flies a bird: the fixed topology network, a NEAT genome, an ensemble or a recorder wrapping one of them.
+//Holds what birds and saving need, the flat parameter vector and the operators working on it are only on NeuralNetwork
+public abstract class Brain implements Cloneable {
+    public long fitnessTotalDistance = 0;
+    private Bird owner;
+    private long maxAchievedScore = -1;
+    private int pipesVGapNetworkPlayedOn = -1;
+    private long seed = 0;
+
+    public abstract double predict(int input1, int input2);
+
+    //neurons or nodes the brain is made of
+    public abstract int size();
+
+    //the binary format is picked by the file extension, anything else is saved as json
+    public void save(String filename) {
+        if(!NetworkBinaryFormat.isBinaryFile(filename)) {
+            saveToJSON(filename);
+            return;
+        }
+        try {
+            NetworkBinaryFormat.write(Path.of(filename), List.of(this));
+        } catch (IOException | IllegalArgumentException e) {
+            new ErrorDialog("Cannot save the neural network to \"" + filename + "\"", e);
+        }
+    }
+
+    public void saveToJSON(String filename) {
+        try {
+            writeJSON(Path.of(filename));
+        } catch (IOException | IllegalArgumentException e) {
+            new ErrorDialog("Cannot save the neural network to json", e);
+        }
+    }
+
+    public void writeJSON(Path path) throws IOException {
+        NetworkJSON.write(path, this);
+    }
+
+    //a network playing reports its bird's game, a loaded one what it was saved with
+    int getCurrentPipeGap() {
+        return owner == null ? pipesVGapNetworkPlayedOn : owner.getPlayer().pipesVerticalGap;
+    }
+
+    long getCurrentScore() {
+        return owner == null ? maxAchievedScore : owner.getPlayer().score;
+    }
+
+    void setGameParams(long achievedScore, int pipeGap, long seed) {
+        this.maxAchievedScore = achievedScore;
+        this.pipesVGapNetworkPlayedOn = pipeGap;
+        this.seed = seed;
+    }
+
+    //the first network of a binary file or a json file, null after an I/O error that was already shown
+    public static Brain load(String path) throws JSONException {
+        if(!NetworkBinaryFormat.isBinaryFile(path))
+            return getFromJSON(path);
+        try {
+            List<Brain> networks = NetworkBinaryFormat.read(Path.of(path));
+            if(networks.isEmpty())
+                throw new IOException("No networks in \"" + path + "\"");
+            return networks.get(0);
+        } catch (IOException e) {
+            new ErrorDialog("Cannot read neural network file at \"" + path + "\"", e);
+            return null;
+        }
+    }
+
+    //every network of the given files, json populations and binary files with several networks add all of theirs
+    public static List<Brain> loadAll(List<String> paths) throws IOException, JSONException {
+        ArrayList<Brain> networks = new ArrayList<>();
+        for(String path : paths) {
+            if(NetworkBinaryFormat.isBinaryFile(path))
+                networks.addAll(NetworkBinaryFormat.read(Path.of(path)));
+            else
+                networks.addAll(NetworkJSON.readPopulation(Path.of(path)));
+        }
+        return networks;
+    }
+
+    public static Brain getFromJSON(String jsonPath) throws JSONException {
+        try {
+            return readJSON(Path.of(jsonPath));
+        } catch (IOException e) {
+            new ErrorDialog("Cannot read neural network json file at \"" + jsonPath + "\" - I/O error", e);
+            return null;
+        }
+    }
+
+    public static Brain readJSON(Path path) throws IOException, JSONException {
+        return NetworkJSON.read(path);
+    }
+
+    @Override
+    public Brain clone() {
+        try {
+            return (Brain) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError();
+        }
+    }
+
+    public void setOwner(Bird owner) {
+        this.owner = owner;
+    }
+
+    public long getMaxAchievedScore() {
+        return maxAchievedScore;
+    }
+
+    public int getPipesVGapNetworkPlayedOn() {
+        return pipesVGapNetworkPlayedOn;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    protected void setSeed(long seed) {
+        this.seed = seed;
+    }
+}
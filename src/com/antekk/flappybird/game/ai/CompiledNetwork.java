@@ -0,0 +1,97 @@
+package com.antekk.flappybird.game.ai;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+//a genome flattened for inference: nodes in topological order, each one reading its sources from a
+//contiguous range of the connection arrays, so predict is a single pass without any lookups
+public final class CompiledNetwork {
+    //slots 0 and 1 hold the inputs, evaluated nodes follow in topological order
+    private final float[] bias;
+    private final int[] firstConnection;
+    private final int[] source;
+    private final float[] weight;
+    private final int outputSlot;
+    //scratch space, a network is only ever driven by the bird that owns it
+    private final double[] values;
+
+    CompiledNetwork(ArrayList<NodeGene> order, ArrayList<ConnectionGene> connections) {
+        HashMap<Integer, Integer> slotOf = new HashMap<>();
+        for(int i = 0; i < Genome.INPUT_NODES; i++)
+            slotOf.put(i, i);
+        int evaluated = 0;
+        for(NodeGene node : order) {
+            if(node.getType() != NodeGene.Type.INPUT)
+                slotOf.put(node.getId(), Genome.INPUT_NODES + evaluated++);
+        }
+
+        HashMap<Integer, ArrayList<ConnectionGene>> incoming = new HashMap<>();
+        int connectionCount = 0;
+        for(ConnectionGene connection : connections) {
+            Integer from = slotOf.get(connection.getFrom());
+            Integer to = slotOf.get(connection.getTo());
+            //connections closing a cycle would read a node that isn't computed yet, they are left out
+            if(!connection.enabled || from == null || to == null || from >= to)
+                continue;
+            incoming.computeIfAbsent(connection.getTo(), id -> new ArrayList<>()).add(connection);
+            connectionCount++;
+        }
+
+        bias = new float[evaluated];
+        firstConnection = new int[evaluated + 1];
+        source = new int[connectionCount];
+        weight = new float[connectionCount];
+        int n = 0;
+        int c = 0;
+        for(NodeGene node : order) {
+            if(node.getType() == NodeGene.Type.INPUT)
+                continue;
+            bias[n] = node.bias;
+            firstConnection[n] = c;
+            for(ConnectionGene connection : incoming.getOrDefault(node.getId(), new ArrayList<>())) {
+                source[c] = slotOf.get(connection.getFrom());
+                weight[c] = connection.weight;
+                c++;
+            }
+            n++;
+        }
+        firstConnection[evaluated] = c;
+        outputSlot = slotOf.get(Genome.OUTPUT_NODE);
+        values = new double[Genome.INPUT_NODES + evaluated];
+    }
+
+    private CompiledNetwork(CompiledNetwork other) {
+        bias = other.bias;
+        firstConnection = other.firstConnection;
+        source = other.source;
+        weight = other.weight;
+        outputSlot = other.outputSlot;
+        values = new double[other.values.length];
+    }
+
+    public double predict(int input1, int input2) {
+        double[] v = values;
+        v[0] = input1;
+        v[1] = input2;
+        for(int n = 0; n < bias.length; n++) {
+            double z = 0;
+            for(int c = firstConnection[n]; c < firstConnection[n + 1]; c++)
+                z += v[source[c]] * weight[c];
+            v[Genome.INPUT_NODES + n] = Neuron.reLU(z + bias[n]);
+        }
+        return v[outputSlot];
+    }
+
+    //shares the immutable arrays, only the scratch space is per copy
+    public CompiledNetwork copy() {
+        return new CompiledNetwork(this);
+    }
+
+    public int getNodeCount() {
+        return bias.length;
+    }
+
+    public int getConnectionCount() {
+        return source.length;
+    }
+}
@@ -0,0 +1,43 @@
+package com.antekk.flappybird.game.ai;
+
+public class ConnectionGene {
+    private final int innovation;
+    private final int from;
+    private final int to;
+    public float weight;
+    public boolean enabled;
+
+    public ConnectionGene(int innovation, int from, int to, float weight, boolean enabled) {
+        this.innovation = innovation;
+        this.from = from;
+        this.to = to;
+        this.weight = weight;
+        this.enabled = enabled;
+    }
+
+    public int getInnovation() {
+        return innovation;
+    }
+
+    public int getFrom() {
+        return from;
+    }
+
+    public int getTo() {
+        return to;
+    }
+
+    public ConnectionGene copy() {
+        return new ConnectionGene(innovation, from, to, weight, enabled);
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionGene{" +
+                "innovation=" + innovation +
+                ", " + from + " -> " + to +
+                ", weight=" + weight +
+                (enabled ? "" : ", disabled") +
+                '}';
+    }
+}
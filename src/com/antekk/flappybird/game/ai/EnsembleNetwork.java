@@ -0,0 +1,174 @@
+package com.antekk.flappybird.game.ai;
+
+import java.util.Arrays;
+import java.util.List;
+
+//several pretrained networks flying one bird, every frame each member votes and the ensemble flaps when the vote says so
+//fixed topology members are evaluated together in one pass of a batch predictor, the others one by one,
+//all buffers are allocated up front so a frame doesn't allocate anything however many members there are
+public class EnsembleNetwork extends Brain {
+    public enum Vote {
+        MAJORITY,
+        //members count with their achieved score, so a network that played long games outvotes a weak one
+        WEIGHTED
+    }
+
+    private Brain[] members;
+    private final Vote vote;
+    private final double[] weights;
+    private final double totalWeight;
+    private BatchPredictor batch;
+    private final int[] batchIndices;
+    private final int[] variableIndices;
+    private int[] input1;
+    private int[] input2;
+    private double[] batchResults;
+    private boolean[] votes;
+
+    private long[] agreements;
+    private long decisions = 0;
+    private long flaps = 0;
+    private long unanimousDecisions = 0;
+
+    public EnsembleNetwork(List<Brain> members, Vote vote) {
+        if(members.isEmpty())
+            throw new IllegalArgumentException("An ensemble needs at least one network");
+        this.members = members.toArray(new Brain[0]);
+        this.vote = vote;
+
+        int count = this.members.length;
+        weights = new double[count];
+        double total = 0;
+        int fixed = 0;
+        for(int i = 0; i < count; i++) {
+            weights[i] = vote == Vote.WEIGHTED ? Math.max(1, this.members[i].getMaxAchievedScore()) : 1;
+            total += weights[i];
+            if(this.members[i] instanceof NeuralNetwork)
+                fixed++;
+        }
+        totalWeight = total;
+
+        batchIndices = new int[fixed];
+        variableIndices = new int[count - fixed];
+        for(int i = 0, f = 0, v = 0; i < count; i++) {
+            if(this.members[i] instanceof NeuralNetwork)
+                batchIndices[f++] = i;
+            else
+                variableIndices[v++] = i;
+        }
+        allocateBuffers();
+        setSeed(this.members[0].getSeed());
+    }
+
+    private void allocateBuffers() {
+        batch = new BatchPredictor(members);
+        input1 = new int[batchIndices.length];
+        input2 = new int[batchIndices.length];
+        batchResults = new double[batchIndices.length];
+        votes = new boolean[members.length];
+        agreements = new long[members.length];
+    }
+
+    @Override
+    public double predict(int input1, int input2) {
+        int fixed = batchIndices.length;
+        if(fixed > 0) {
+            Arrays.fill(this.input1, input1);
+            Arrays.fill(this.input2, input2);
+            batch.predict(batchIndices, fixed, this.input1, this.input2, batchResults);
+        }
+
+        //same threshold a bird flaps at
+        double flapWeight = 0;
+        int flapVotes = 0;
+        for(int k = 0; k < fixed; k++) {
+            int i = batchIndices[k];
+            votes[i] = batchResults[k] > 0.5;
+        }
+        for(int i : variableIndices)
+            votes[i] = members[i].predict(input1, input2) > 0.5;
+        for(int i = 0; i < members.length; i++) {
+            if(votes[i]) {
+                flapWeight += weights[i];
+                flapVotes++;
+            }
+        }
+
+        //a tie keeps the bird gliding
+        boolean flap = 2 * flapWeight > totalWeight;
+        for(int i = 0; i < members.length; i++) {
+            if(votes[i] == flap)
+                agreements[i]++;
+        }
+        decisions++;
+        if(flap)
+            flaps++;
+        if(flapVotes == 0 || flapVotes == members.length)
+            unanimousDecisions++;
+        return flap ? 1.0 : 0.0;
+    }
+
+    public void resetStats() {
+        Arrays.fill(agreements, 0);
+        decisions = 0;
+        flaps = 0;
+        unanimousDecisions = 0;
+    }
+
+    public int getMemberCount() {
+        return members.length;
+    }
+
+    public Brain getMember(int index) {
+        return members[index];
+    }
+
+    public double getWeight(int index) {
+        return weights[index];
+    }
+
+    public Vote getVote() {
+        return vote;
+    }
+
+    //share of decisions the member voted for, 1 before the first decision
+    public double getAgreement(int index) {
+        return decisions == 0 ? 1 : (double) agreements[index] / decisions;
+    }
+
+    public long getDecisions() {
+        return decisions;
+    }
+
+    public long getFlaps() {
+        return flaps;
+    }
+
+    public double getUnanimity() {
+        return decisions == 0 ? 1 : (double) unanimousDecisions / decisions;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for(Brain member : members)
+            size += member.size();
+        return size;
+    }
+
+    @Override
+    public EnsembleNetwork clone() {
+        EnsembleNetwork clone = (EnsembleNetwork) super.clone();
+        clone.members = new Brain[members.length];
+        for(int i = 0; i < members.length; i++)
+            clone.members[i] = members[i].clone();
+        clone.allocateBuffers();
+        clone.resetStats();
+        return clone;
+    }
+
+    @Override
+    public String toString() {
+        return "Ensemble of " + members.length + " networks (" + vote.name().toLowerCase() + " vote)";
+    }
+}
@@ -0,0 +1,50 @@
+package com.antekk.flappybird.game.ai;
+
+import java.util.Arrays;
+
+//flies a bird with another network and keeps the inputs it was asked about, up to a limit, so the
+//quantized networks can be checked against states that came up in real games
+public class GameStateRecorder extends Brain {
+    private final Brain network;
+    private final int capacity;
+    private int[] input1 = new int[256];
+    private int[] input2 = new int[256];
+    private int count = 0;
+
+    public GameStateRecorder(Brain network, int capacity) {
+        this.network = network;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public double predict(int input1, int input2) {
+        if(count < capacity) {
+            if(count == this.input1.length) {
+                int length = (int) Math.min(capacity, 2L * count);
+                this.input1 = Arrays.copyOf(this.input1, length);
+                this.input2 = Arrays.copyOf(this.input2, length);
+            }
+            this.input1[count] = input1;
+            this.input2[count] = input2;
+            count++;
+        }
+        return network.predict(input1, input2);
+    }
+
+    @Override
+    public int size() {
+        return network.size();
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int[] getInput1() {
+        return Arrays.copyOf(input1, count);
+    }
+
+    public int[] getInput2() {
+        return Arrays.copyOf(input2, count);
+    }
+}
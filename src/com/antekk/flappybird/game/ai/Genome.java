@@ -0,0 +1,291 @@
+package com.antekk.flappybird.game.ai;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+//NEAT genome, node genes sorted by id and connection genes sorted by innovation number
+public class Genome {
+    public static final int INPUT_NODES = NeuralNetwork.INPUT_NEURONS;
+    public static final int OUTPUT_NODE = INPUT_NODES;
+    public static final int FIRST_HIDDEN_NODE = OUTPUT_NODE + 1;
+
+    private final ArrayList<NodeGene> nodes = new ArrayList<>();
+    private final ArrayList<ConnectionGene> connections = new ArrayList<>();
+
+    private Genome() {}
+
+    //inputs wired straight to the output, the topology grows from here
+    public static Genome minimal(InnovationTracker tracker, RandomGenerator random) {
+        Genome genome = new Genome();
+        for(int i = 0; i < INPUT_NODES; i++)
+            genome.nodes.add(new NodeGene(i, NodeGene.Type.INPUT, 0));
+        genome.nodes.add(new NodeGene(OUTPUT_NODE, NodeGene.Type.OUTPUT, random.nextFloat(-1, 1)));
+        for(int i = 0; i < INPUT_NODES; i++)
+            genome.connections.add(new ConnectionGene(tracker.getConnectionInnovation(i, OUTPUT_NODE), i, OUTPUT_NODE,
+                    random.nextFloat(-1, 1), true));
+        return genome;
+    }
+
+    public void mutateWeights(RandomGenerator random, float perturbChance, float sigma) {
+        for(ConnectionGene connection : connections) {
+            if(random.nextFloat() < perturbChance)
+                connection.weight += (float) (random.nextGaussian() * sigma);
+            else
+                connection.weight = random.nextFloat(-1, 1);
+        }
+        for(NodeGene node : nodes) {
+            if(node.getType() == NodeGene.Type.INPUT)
+                continue;
+            if(random.nextFloat() < perturbChance)
+                node.bias += (float) (random.nextGaussian() * sigma);
+            else
+                node.bias = random.nextFloat(-1, 1);
+        }
+    }
+
+    //returns false when the network is already fully connected
+    public boolean mutateAddConnection(InnovationTracker tracker, RandomGenerator random) {
+        ArrayList<int[]> candidates = new ArrayList<>();
+        for(NodeGene from : nodes) {
+            if(from.getType() == NodeGene.Type.OUTPUT)
+                continue;
+            for(NodeGene to : nodes) {
+                if(to.getType() == NodeGene.Type.INPUT || from == to)
+                    continue;
+                if(getConnection(from.getId(), to.getId()) != null || isReachable(to.getId(), from.getId()))
+                    continue;
+                candidates.add(new int[] {from.getId(), to.getId()});
+            }
+        }
+        if(candidates.isEmpty())
+            return false;
+
+        int[] picked = candidates.get(random.nextInt(candidates.size()));
+        addConnection(new ConnectionGene(tracker.getConnectionInnovation(picked[0], picked[1]), picked[0], picked[1],
+                random.nextFloat(-1, 1), true));
+        return true;
+    }
+
+    //splits an enabled connection, the new node passes the signal through unchanged at first
+    public boolean mutateAddNode(InnovationTracker tracker, RandomGenerator random) {
+        ArrayList<ConnectionGene> enabled = new ArrayList<>();
+        for(ConnectionGene connection : connections) {
+            if(connection.enabled)
+                enabled.add(connection);
+        }
+        if(enabled.isEmpty())
+            return false;
+
+        ConnectionGene split = enabled.get(random.nextInt(enabled.size()));
+        split.enabled = false;
+
+        int nodeId = tracker.getSplitNodeId(split.getInnovation(), this);
+        addNode(new NodeGene(nodeId, NodeGene.Type.HIDDEN, 0));
+        addConnection(new ConnectionGene(tracker.getConnectionInnovation(split.getFrom(), nodeId),
+                split.getFrom(), nodeId, 1, true));
+        addConnection(new ConnectionGene(tracker.getConnectionInnovation(nodeId, split.getTo()),
+                nodeId, split.getTo(), split.weight, true));
+        return true;
+    }
+
+    //matching genes come from a random parent, disjoint and excess genes only from the fitter one
+    public static Genome crossover(Genome fitter, Genome other, RandomGenerator random, float keepDisabledChance) {
+        Genome child = new Genome();
+        HashMap<Integer, ConnectionGene> otherConnections = new HashMap<>();
+        for(ConnectionGene connection : other.connections)
+            otherConnections.put(connection.getInnovation(), connection);
+
+        for(ConnectionGene connection : fitter.connections) {
+            ConnectionGene matching = otherConnections.get(connection.getInnovation());
+            ConnectionGene inherited = (matching != null && random.nextBoolean() ? matching : connection).copy();
+            if(matching != null && (!connection.enabled || !matching.enabled))
+                inherited.enabled = random.nextFloat() >= keepDisabledChance;
+            child.connections.add(inherited);
+        }
+
+        for(NodeGene node : fitter.nodes) {
+            NodeGene matching = other.getNode(node.getId());
+            child.nodes.add((matching != null && random.nextBoolean() ? matching : node).copy());
+        }
+        return child;
+    }
+
+    public double compatibilityDistance(Genome other, double excessCoefficient, double disjointCoefficient, double weightCoefficient) {
+        int i = 0;
+        int j = 0;
+        int matching = 0;
+        int disjoint = 0;
+        double weightDifference = 0;
+        while(i < connections.size() && j < other.connections.size()) {
+            ConnectionGene a = connections.get(i);
+            ConnectionGene b = other.connections.get(j);
+            if(a.getInnovation() == b.getInnovation()) {
+                matching++;
+                weightDifference += Math.abs(a.weight - b.weight);
+                i++;
+                j++;
+            } else if(a.getInnovation() < b.getInnovation()) {
+                disjoint++;
+                i++;
+            } else {
+                disjoint++;
+                j++;
+            }
+        }
+        int excess = connections.size() - i + other.connections.size() - j;
+
+        //small genomes aren't normalized, as in the original paper
+        int genes = Math.max(connections.size(), other.connections.size());
+        double normalization = genes < 20 ? 1 : genes;
+        return excessCoefficient * excess / normalization + disjointCoefficient * disjoint / normalization +
+                weightCoefficient * (matching == 0 ? 0 : weightDifference / matching);
+    }
+
+    //flattens the enabled part of the genome into topological order
+    public CompiledNetwork compile() {
+        HashMap<Integer, Integer> indexOf = new HashMap<>();
+        for(int i = 0; i < nodes.size(); i++)
+            indexOf.put(nodes.get(i).getId(), i);
+
+        int[] incoming = new int[nodes.size()];
+        ArrayList<ArrayList<ConnectionGene>> outgoing = new ArrayList<>();
+        for(int i = 0; i < nodes.size(); i++)
+            outgoing.add(new ArrayList<>());
+        for(ConnectionGene connection : connections) {
+            if(!connection.enabled || !indexOf.containsKey(connection.getFrom()) || !indexOf.containsKey(connection.getTo()))
+                continue;
+            incoming[indexOf.get(connection.getTo())]++;
+            outgoing.get(indexOf.get(connection.getFrom())).add(connection);
+        }
+
+        ArrayDeque<Integer> ready = new ArrayDeque<>();
+        for(int i = 0; i < nodes.size(); i++) {
+            if(incoming[i] == 0)
+                ready.add(i);
+        }
+        ArrayList<NodeGene> order = new ArrayList<>();
+        while(!ready.isEmpty()) {
+            int node = ready.poll();
+            order.add(nodes.get(node));
+            for(ConnectionGene connection : outgoing.get(node)) {
+                int to = indexOf.get(connection.getTo());
+                if(--incoming[to] == 0)
+                    ready.add(to);
+            }
+        }
+        //crossover can in rare cases join two parents' connections into a cycle, those nodes go last and
+        //only read from nodes that are already evaluated
+        if(order.size() < nodes.size()) {
+            for(int i = 0; i < nodes.size(); i++) {
+                if(incoming[i] > 0)
+                    order.add(nodes.get(i));
+            }
+        }
+        return new CompiledNetwork(order, connections);
+    }
+
+    public boolean hasNode(int id) {
+        return getNode(id) != null;
+    }
+
+    public NodeGene getNode(int id) {
+        for(NodeGene node : nodes) {
+            if(node.getId() == id)
+                return node;
+        }
+        return null;
+    }
+
+    private ConnectionGene getConnection(int from, int to) {
+        for(ConnectionGene connection : connections) {
+            if(connection.getFrom() == from && connection.getTo() == to)
+                return connection;
+        }
+        return null;
+    }
+
+    //disabled connections count too, crossover may enable them again
+    private boolean isReachable(int from, int to) {
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        ArrayList<Integer> visited = new ArrayList<>();
+        queue.add(from);
+        while(!queue.isEmpty()) {
+            int node = queue.poll();
+            if(node == to)
+                return true;
+            if(visited.contains(node))
+                continue;
+            visited.add(node);
+            for(ConnectionGene connection : connections) {
+                if(connection.getFrom() == node)
+                    queue.add(connection.getTo());
+            }
+        }
+        return false;
+    }
+
+    private void addNode(NodeGene node) {
+        int index = 0;
+        while(index < nodes.size() && nodes.get(index).getId() < node.getId())
+            index++;
+        nodes.add(index, node);
+    }
+
+    private void addConnection(ConnectionGene connection) {
+        int index = connections.size();
+        while(index > 0 && connections.get(index - 1).getInnovation() > connection.getInnovation())
+            index--;
+        connections.add(index, connection);
+    }
+
+    public ArrayList<NodeGene> getNodes() {
+        return nodes;
+    }
+
+    public ArrayList<ConnectionGene> getConnections() {
+        return connections;
+    }
+
+    public Genome copy() {
+        Genome copy = new Genome();
+        for(NodeGene node : nodes)
+            copy.nodes.add(node.copy());
+        for(ConnectionGene connection : connections)
+            copy.connections.add(connection.copy());
+        return copy;
+    }
+
+    //genes read back from a file, in any order
+    static Genome fromGenes(List<NodeGene> nodes, List<ConnectionGene> connections) {
+        Genome genome = new Genome();
+        genome.nodes.addAll(nodes);
+        genome.connections.addAll(connections);
+
+        genome.nodes.sort(Comparator.comparingInt(NodeGene::getId));
+        genome.connections.sort(Comparator.comparingInt(ConnectionGene::getInnovation));
+        for(int i = 0; i < INPUT_NODES; i++) {
+            NodeGene input = genome.getNode(i);
+            if(input == null || input.getType() != NodeGene.Type.INPUT)
+                throw new IllegalArgumentException("NEAT genome is missing input node " + i);
+        }
+        NodeGene output = genome.getNode(OUTPUT_NODE);
+        if(output == null || output.getType() != NodeGene.Type.OUTPUT)
+            throw new IllegalArgumentException("NEAT genome is missing the output node");
+        return genome;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder s = new StringBuilder("Nodes:");
+        for(NodeGene node : nodes)
+            s.append("\n\t").append(node);
+        s.append("\nConnections:");
+        for(ConnectionGene connection : connections)
+            s.append("\n\t").append(connection);
+        return s.toString();
+    }
+}
@@ -0,0 +1,17 @@
+package com.antekk.flappybird.game.ai;
+
+//arithmetic the fixed topology networks of a population are evaluated in. The quantized ones trade a few flap
+//decisions near the threshold (see QuantizationCalibrator) for a half or a quarter of the parameter memory
+public enum Inference {
+    FLOAT,
+    INT16,
+    INT8;
+
+    public PopulationPredictor createPredictor(Brain[] networks) {
+        return switch (this) {
+            case FLOAT -> new BatchPredictor(networks);
+            case INT16 -> new QuantizedPopulation(networks, QuantizedPopulation.Precision.INT16);
+            case INT8 -> new QuantizedPopulation(networks, QuantizedPopulation.Precision.INT8);
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.antekk.flappybird.game.ai;
+
+import java.util.HashMap;
+
+//hands out innovation numbers and node ids for one run, the same structural mutation always gets the same number
+//so that genomes which found it independently still line up in crossover and speciation
+public class InnovationTracker {
+    private final HashMap<Long, Integer> connectionInnovations = new HashMap<>();
+    private final HashMap<Integer, Integer> splitNodes = new HashMap<>();
+    private int nextInnovation = 0;
+    private int nextNodeId;
+
+    public InnovationTracker(int firstHiddenNodeId) {
+        this.nextNodeId = firstHiddenNodeId;
+    }
+
+    public synchronized int getConnectionInnovation(int from, int to) {
+        return connectionInnovations.computeIfAbsent(((long) from << 32) | (to & 0xffffffffL), key -> nextInnovation++);
+    }
+
+    //a genome may split the same connection twice (after re-enabling it), it gets a fresh node then
+    public synchronized int getSplitNodeId(int connectionInnovation, Genome genome) {
+        Integer id = splitNodes.get(connectionInnovation);
+        if(id == null || genome.hasNode(id)) {
+            id = nextNodeId++;
+            splitNodes.putIfAbsent(connectionInnovation, id);
+        }
+        return id;
+    }
+}
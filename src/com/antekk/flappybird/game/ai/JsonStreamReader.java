@@ -0,0 +1,251 @@
+package com.antekk.flappybird.game.ai;
+
+import org.json.JSONException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+//pull parser for json, values are read as they are reached and nothing is kept around afterwards.
+//Object members come back in file order, so callers match on names instead of relying on an order
+class JsonStreamReader {
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int position = 0;
+    private int limit = 0;
+    private long offset = 0;
+    //one entry per open container, whether a comma has to come before its next element
+    private boolean[] needsComma = new boolean[16];
+    private int depth = 0;
+
+    JsonStreamReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    void beginObject() throws IOException {
+        begin('{');
+    }
+
+    void endObject() throws IOException {
+        end('}');
+    }
+
+    void beginArray() throws IOException {
+        begin('[');
+    }
+
+    void endArray() throws IOException {
+        end(']');
+    }
+
+    private void begin(char open) throws IOException {
+        expect(open);
+        if(depth == needsComma.length)
+            needsComma = Arrays.copyOf(needsComma, depth * 2);
+        needsComma[depth++] = false;
+    }
+
+    private void end(char close) throws IOException {
+        expect(close);
+        depth--;
+        valueRead();
+    }
+
+    //true while the current object or array has elements left, the comma between elements is taken here
+    boolean hasNext() throws IOException {
+        char c = peekSignificant();
+        if(c == '}' || c == ']')
+            return false;
+        if(needsComma[depth - 1]) {
+            expect(',');
+            needsComma[depth - 1] = false;
+        }
+        return true;
+    }
+
+    boolean peekArray() throws IOException {
+        return peekSignificant() == '[';
+    }
+
+    String nextName() throws IOException {
+        String name = readString();
+        expect(':');
+        return name;
+    }
+
+    String nextString() throws IOException {
+        String value = readString();
+        valueRead();
+        return value;
+    }
+
+    boolean nextBoolean() throws IOException {
+        char c = peekSignificant();
+        String expected = c == 't' ? "true" : "false";
+        for(int i = 0; i < expected.length(); i++) {
+            if(read() != expected.charAt(i))
+                throw error("Expected a boolean");
+        }
+        valueRead();
+        return c == 't';
+    }
+
+    long nextLong() throws IOException {
+        String number = readNumber();
+        try {
+            return Long.parseLong(number);
+        } catch (NumberFormatException e) {
+            throw error("Expected an integer, got " + number);
+        }
+    }
+
+    int nextInt() throws IOException {
+        long value = nextLong();
+        if(value != (int) value)
+            throw error(value + " doesn't fit an int");
+        return (int) value;
+    }
+
+    float nextFloat() throws IOException {
+        String number = readNumber();
+        try {
+            return Float.parseFloat(number);
+        } catch (NumberFormatException e) {
+            throw error("Expected a number, got " + number);
+        }
+    }
+
+    //skips over a value of any kind, nested containers included
+    void skipValue() throws IOException {
+        char c = peekSignificant();
+        switch (c) {
+            case '{' -> {
+                beginObject();
+                while(hasNext()) {
+                    nextName();
+                    skipValue();
+                }
+                endObject();
+            }
+            case '[' -> {
+                beginArray();
+                while(hasNext())
+                    skipValue();
+                endArray();
+            }
+            case '"' -> nextString();
+            case 't', 'f' -> nextBoolean();
+            case 'n' -> {
+                for(int i = 0; i < 4; i++) {
+                    if(read() != "null".charAt(i))
+                        throw error("Unexpected value");
+                }
+                valueRead();
+            }
+            default -> readNumber();
+        }
+    }
+
+    //nothing but whitespace may follow the top level value
+    void endDocument() throws IOException {
+        if(depth != 0 || peekSignificantOrEnd() != 0)
+            throw error("Unexpected data after the end of the document");
+    }
+
+    JSONException error(String message) {
+        return new JSONException(message + " at character " + (offset + position));
+    }
+
+    private String readNumber() throws IOException {
+        peekSignificant();
+        StringBuilder number = new StringBuilder();
+        while(fill()) {
+            char c = buffer[position];
+            if((c < '0' || c > '9') && c != '-' && c != '+' && c != '.' && c != 'e' && c != 'E')
+                break;
+            number.append(c);
+            position++;
+        }
+        if(number.isEmpty())
+            throw error("Expected a value");
+        valueRead();
+        return number.toString();
+    }
+
+    private String readString() throws IOException {
+        expect('"');
+        StringBuilder string = new StringBuilder();
+        while(true) {
+            char c = read();
+            if(c == '"')
+                return string.toString();
+            if(c == '\n' || c == '\r')
+                throw error("Unterminated string");
+            if(c != '\\') {
+                string.append(c);
+                continue;
+            }
+            c = read();
+            switch (c) {
+                case 'b' -> string.append('\b');
+                case 't' -> string.append('\t');
+                case 'n' -> string.append('\n');
+                case 'f' -> string.append('\f');
+                case 'r' -> string.append('\r');
+                case 'u' -> {
+                    char[] hex = {read(), read(), read(), read()};
+                    try {
+                        string.append((char) Integer.parseInt(new String(hex), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("Illegal escape");
+                    }
+                }
+                case '"', '\\', '/' -> string.append(c);
+                default -> throw error("Illegal escape");
+            }
+        }
+    }
+
+    private void valueRead() {
+        if(depth > 0)
+            needsComma[depth - 1] = true;
+    }
+
+    private void expect(char expected) throws IOException {
+        if(peekSignificant() != expected)
+            throw error("Expected '" + expected + "'");
+        position++;
+    }
+
+    private char peekSignificant() throws IOException {
+        char c = peekSignificantOrEnd();
+        if(c == 0)
+            throw error("Unexpected end of the document");
+        return c;
+    }
+
+    private char peekSignificantOrEnd() throws IOException {
+        while(fill()) {
+            char c = buffer[position];
+            if(c != ' ' && c != '\n' && c != '\r' && c != '\t')
+                return c;
+            position++;
+        }
+        return 0;
+    }
+
+    private char read() throws IOException {
+        if(!fill())
+            throw error("Unexpected end of the document");
+        return buffer[position++];
+    }
+
+    private boolean fill() throws IOException {
+        if(position < limit)
+            return true;
+        offset += limit;
+        position = 0;
+        limit = Math.max(0, reader.read(buffer));
+        return limit > 0;
+    }
+}
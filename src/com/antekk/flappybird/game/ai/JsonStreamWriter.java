@@ -0,0 +1,189 @@
+package com.antekk.flappybird.game.ai;
+
+import org.json.JSONException;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+
+//writes json straight to a writer in the exact layout of org.json's toString(4), so streamed files are byte for
+//byte what the tree based saving produced. Container sizes are given up front because org.json puts a container
+//with a single element on one line
+class JsonStreamWriter {
+    private static final int INDENT = 4;
+    private static final String SPACES = " ".repeat(64);
+
+    private final Writer writer;
+    private final ArrayDeque<Container> containers = new ArrayDeque<>();
+    private boolean afterName = false;
+
+    JsonStreamWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    JsonStreamWriter beginObject(int size) throws IOException {
+        return begin(size, true, '{');
+    }
+
+    JsonStreamWriter beginArray(int size) throws IOException {
+        return begin(size, false, '[');
+    }
+
+    private JsonStreamWriter begin(int size, boolean object, char open) throws IOException {
+        int indent = containers.isEmpty() ? 0 : containers.peek().childIndent();
+        beforeValue();
+        writer.write(open);
+        containers.push(new Container(size, indent, object));
+        return this;
+    }
+
+    JsonStreamWriter endObject() throws IOException {
+        return end(true, '}');
+    }
+
+    JsonStreamWriter endArray() throws IOException {
+        return end(false, ']');
+    }
+
+    private JsonStreamWriter end(boolean object, char close) throws IOException {
+        Container container = containers.pop();
+        if(container.object != object || container.written != container.size)
+            throw new IllegalStateException("Expected " + container.size + " elements, wrote " + container.written);
+        if(container.size > 1) {
+            writer.write('\n');
+            indent(container.indent);
+        }
+        writer.write(close);
+        return this;
+    }
+
+    JsonStreamWriter name(String name) throws IOException {
+        Container container = containers.peek();
+        if(container == null || !container.object || afterName)
+            throw new IllegalStateException("Names only go inside objects, before a value");
+        nextElement(container);
+        writeQuoted(name);
+        writer.write(": ");
+        afterName = true;
+        return this;
+    }
+
+    JsonStreamWriter value(long value) throws IOException {
+        beforeValue();
+        writer.write(Long.toString(value));
+        return this;
+    }
+
+    //same text as org.json gives a float, trailing zeros of the fraction are dropped
+    JsonStreamWriter value(float value) throws IOException {
+        if(!Float.isFinite(value))
+            throw new JSONException("JSON does not allow non-finite numbers.");
+        String text = Float.toString(value);
+        if(text.indexOf('.') > 0 && text.indexOf('e') < 0 && text.indexOf('E') < 0) {
+            int end = text.length();
+            while(text.charAt(end - 1) == '0')
+                end--;
+            if(text.charAt(end - 1) == '.')
+                end--;
+            text = text.substring(0, end);
+        }
+        beforeValue();
+        writer.write(text);
+        return this;
+    }
+
+    JsonStreamWriter value(boolean value) throws IOException {
+        beforeValue();
+        writer.write(value ? "true" : "false");
+        return this;
+    }
+
+    JsonStreamWriter value(String value) throws IOException {
+        beforeValue();
+        writeQuoted(value);
+        return this;
+    }
+
+    private void beforeValue() throws IOException {
+        Container container = containers.peek();
+        if(container == null)
+            return;
+        if(container.object) {
+            if(!afterName)
+                throw new IllegalStateException("Object values need a name first");
+            afterName = false;
+        } else {
+            nextElement(container);
+        }
+    }
+
+    private void nextElement(Container container) throws IOException {
+        if(container.written == container.size)
+            throw new IllegalStateException("Container only has room for " + container.size + " elements");
+        if(container.written > 0)
+            writer.write(',');
+        if(container.size > 1) {
+            writer.write('\n');
+            indent(container.childIndent());
+        }
+        container.written++;
+    }
+
+    private void indent(int spaces) throws IOException {
+        while(spaces > SPACES.length()) {
+            writer.write(SPACES);
+            spaces -= SPACES.length();
+        }
+        writer.write(SPACES, 0, spaces);
+    }
+
+    private void writeQuoted(String string) throws IOException {
+        writer.write('"');
+        char previous = 0;
+        for(int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            switch (c) {
+                case '"', '\\' -> {
+                    writer.write('\\');
+                    writer.write(c);
+                }
+                case '/' -> {
+                    if(previous == '<')
+                        writer.write('\\');
+                    writer.write(c);
+                }
+                case '\b' -> writer.write("\\b");
+                case '\t' -> writer.write("\\t");
+                case '\n' -> writer.write("\\n");
+                case '\f' -> writer.write("\\f");
+                case '\r' -> writer.write("\\r");
+                default -> {
+                    if(c < ' ' || (c >= '\u0080' && c < '\u00a0') || (c >= '\u2000' && c < '\u2100'))
+                        writer.write(String.format("\\u%04x", (int) c));
+                    else
+                        writer.write(c);
+                }
+            }
+            previous = c;
+        }
+        writer.write('"');
+    }
+
+    private static class Container {
+        private final int size;
+        private final int indent;
+        private final boolean object;
+        private int written = 0;
+
+        private Container(int size, int indent, boolean object) {
+            this.size = size;
+            this.indent = indent;
+            this.object = object;
+        }
+
+        //a lone element stays on the container's line and keeps its indent
+        private int childIndent() {
+            return size == 1 ? indent : indent + INDENT;
+        }
+    }
+}
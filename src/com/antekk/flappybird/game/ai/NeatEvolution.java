@@ -0,0 +1,196 @@
+package com.antekk.flappybird.game.ai;
+
+import java.util.ArrayList;
+import java.util.random.RandomGenerator;
+
+//speciation and reproduction of NEAT genomes, constants follow the original paper unless noted
+public class NeatEvolution {
+    private static final double EXCESS_COEFFICIENT = 1.0;
+    private static final double DISJOINT_COEFFICIENT = 1.0;
+    private static final double WEIGHT_COEFFICIENT = 0.4;
+    private static final double INITIAL_COMPATIBILITY_THRESHOLD = 3.0;
+    private static final double MIN_COMPATIBILITY_THRESHOLD = 0.3;
+    private static final double COMPATIBILITY_THRESHOLD_STEP = 0.3;
+    //the threshold is steered towards about one species per this many genomes
+    private static final int GENOMES_PER_SPECIES = 10;
+    private static final int STAGNATION_LIMIT = 15;
+    private static final int CHAMPION_MIN_SPECIES_SIZE = 5;
+    private static final double SURVIVAL_THRESHOLD = 0.5;
+    private static final float CROSSOVER_CHANCE = 0.75f;
+    private static final float KEEP_DISABLED_CHANCE = 0.75f;
+    private static final float WEIGHT_MUTATION_CHANCE = 0.8f;
+    private static final float WEIGHT_PERTURB_CHANCE = 0.9f;
+    private static final float WEIGHT_SIGMA = 0.5f;
+    private static final float ADD_NODE_CHANCE = 0.03f;
+    private static final float ADD_CONNECTION_CHANCE = 0.08f;
+
+    private final InnovationTracker tracker = new InnovationTracker(Genome.FIRST_HIDDEN_NODE);
+    private final ArrayList<Species> species = new ArrayList<>();
+    private double compatibilityThreshold = INITIAL_COMPATIBILITY_THRESHOLD;
+    private int nextSpeciesId = 0;
+
+    public Genome createInitialGenome(RandomGenerator random) {
+        return Genome.minimal(tracker, random);
+    }
+
+    public Genome[] reproduce(Genome[] genomes, long[] fitness, int size, RandomGenerator random) {
+        speciate(genomes, size);
+
+        int best = 0;
+        long minFitness = Long.MAX_VALUE;
+        for(int i = 0; i < fitness.length; i++) {
+            if(fitness[i] > fitness[best])
+                best = i;
+            minFitness = Math.min(minFitness, fitness[i]);
+        }
+
+        Species bestSpecies = null;
+        ArrayList<Species> surviving = new ArrayList<>();
+        for(Species s : species) {
+            s.getMembers().sort((a, b) -> fitness[a] != fitness[b] ? Long.compare(fitness[b], fitness[a]) : Integer.compare(a, b));
+            boolean improving = s.updateStagnation(fitness[s.getMembers().get(0)], STAGNATION_LIMIT);
+            boolean holdsBest = s.getMembers().contains(best);
+            if(holdsBest)
+                bestSpecies = s;
+            if(improving || holdsBest)
+                surviving.add(s);
+        }
+        species.retainAll(surviving);
+
+        int[] offspring = allocateOffspring(fitness, minFitness, size, bestSpecies);
+        Genome[] children = new Genome[size];
+        int child = 0;
+        ArrayList<Species> breeding = new ArrayList<>();
+        for(int s = 0; s < species.size(); s++) {
+            Species current = species.get(s);
+            ArrayList<Integer> members = current.getMembers();
+            int quota = offspring[s];
+            if(quota == 0)
+                continue;
+            breeding.add(current);
+
+            //the champion of a big enough species (and always the overall best) survives unchanged
+            if(current == bestSpecies || members.size() >= CHAMPION_MIN_SPECIES_SIZE) {
+                children[child++] = genomes[members.get(0)].copy();
+                quota--;
+            }
+
+            int parents = Math.max(1, (int) Math.ceil(members.size() * SURVIVAL_THRESHOLD));
+            for(int i = 0; i < quota; i++)
+                children[child++] = breed(genomes, fitness, members, parents, random);
+            current.setRepresentative(genomes[members.get(0)].copy());
+        }
+        //species without offspring die out
+        species.retainAll(breeding);
+        return children;
+    }
+
+    private Genome breed(Genome[] genomes, long[] fitness, ArrayList<Integer> members, int parents, RandomGenerator random) {
+        Genome child;
+        if(parents > 1 && random.nextFloat() < CROSSOVER_CHANCE) {
+            int parent1 = members.get(random.nextInt(parents));
+            int parent2 = members.get(random.nextInt(parents));
+            while(parent1 == parent2)
+                parent2 = members.get(random.nextInt(parents));
+            if(fitness[parent2] > fitness[parent1]) {
+                int swap = parent1;
+                parent1 = parent2;
+                parent2 = swap;
+            }
+            child = Genome.crossover(genomes[parent1], genomes[parent2], random, KEEP_DISABLED_CHANCE);
+        } else {
+            child = genomes[members.get(random.nextInt(parents))].copy();
+        }
+
+        if(random.nextFloat() < WEIGHT_MUTATION_CHANCE)
+            child.mutateWeights(random, WEIGHT_PERTURB_CHANCE, WEIGHT_SIGMA);
+        if(random.nextFloat() < ADD_NODE_CHANCE)
+            child.mutateAddNode(tracker, random);
+        if(random.nextFloat() < ADD_CONNECTION_CHANCE)
+            child.mutateAddConnection(tracker, random);
+        return child;
+    }
+
+    private void speciate(Genome[] genomes, int size) {
+        for(Species s : species)
+            s.getMembers().clear();
+
+        for(int i = 0; i < genomes.length; i++) {
+            Species match = null;
+            for(Species s : species) {
+                if(genomes[i].compatibilityDistance(s.getRepresentative(), EXCESS_COEFFICIENT, DISJOINT_COEFFICIENT,
+                        WEIGHT_COEFFICIENT) < compatibilityThreshold) {
+                    match = s;
+                    break;
+                }
+            }
+            if(match == null) {
+                match = new Species(nextSpeciesId++, genomes[i]);
+                species.add(match);
+            }
+            match.getMembers().add(i);
+        }
+        species.removeIf(s -> s.size() == 0);
+
+        int targetSpecies = Math.max(1, size / GENOMES_PER_SPECIES);
+        if(species.size() < targetSpecies)
+            compatibilityThreshold = Math.max(MIN_COMPATIBILITY_THRESHOLD, compatibilityThreshold - COMPATIBILITY_THRESHOLD_STEP);
+        else if(species.size() > targetSpecies)
+            compatibilityThreshold += COMPATIBILITY_THRESHOLD_STEP;
+    }
+
+    //explicit fitness sharing: every species gets offspring in proportion to its mean fitness
+    private int[] allocateOffspring(long[] fitness, long minFitness, int size, Species bestSpecies) {
+        double[] share = new double[species.size()];
+        double total = 0;
+        for(int s = 0; s < species.size(); s++) {
+            double sum = 0;
+            for(int member : species.get(s).getMembers())
+                sum += fitness[member] - minFitness + 1;
+            share[s] = sum / species.get(s).size();
+            total += share[s];
+        }
+
+        int[] offspring = new int[species.size()];
+        double[] remainder = new double[species.size()];
+        int allocated = 0;
+        for(int s = 0; s < species.size(); s++) {
+            double exact = share[s] / total * size;
+            offspring[s] = (int) exact;
+            remainder[s] = exact - offspring[s];
+            allocated += offspring[s];
+        }
+        //largest remainders get the seats left over by rounding down
+        while(allocated < size) {
+            int largest = 0;
+            for(int s = 1; s < species.size(); s++) {
+                if(remainder[s] > remainder[largest])
+                    largest = s;
+            }
+            offspring[largest]++;
+            remainder[largest] = -1;
+            allocated++;
+        }
+
+        //the species holding the best genome always keeps its champion
+        int bestIndex = species.indexOf(bestSpecies);
+        if(bestIndex >= 0 && offspring[bestIndex] == 0) {
+            int largest = 0;
+            for(int s = 1; s < species.size(); s++) {
+                if(offspring[s] > offspring[largest])
+                    largest = s;
+            }
+            offspring[largest]--;
+            offspring[bestIndex]++;
+        }
+        return offspring;
+    }
+
+    public int getSpeciesCount() {
+        return species.size();
+    }
+
+    public double getCompatibilityThreshold() {
+        return compatibilityThreshold;
+    }
+}
@@ -0,0 +1,46 @@
+package com.antekk.flappybird.game.ai;
+
+import com.antekk.flappybird.game.RandomSource;
+
+//a NEAT genome compiled for flying, saving and the pretrained mode take it like any other brain
+public class NeatNetwork extends Brain {
+    private Genome genome;
+    private CompiledNetwork compiled;
+
+    public NeatNetwork(Genome genome) {
+        this.genome = genome;
+        this.compiled = genome.compile();
+        setSeed(RandomSource.getRunSeed());
+    }
+
+    @Override
+    public double predict(int input1, int input2) {
+        return compiled.predict(input1, input2);
+    }
+
+    public Genome getGenome() {
+        return genome;
+    }
+
+    public CompiledNetwork getCompiledNetwork() {
+        return compiled;
+    }
+
+    @Override
+    public int size() {
+        return genome.getNodes().size();
+    }
+
+    @Override
+    public NeatNetwork clone() {
+        NeatNetwork clone = (NeatNetwork) super.clone();
+        clone.genome = genome.copy();
+        clone.compiled = compiled.copy();
+        return clone;
+    }
+
+    @Override
+    public String toString() {
+        return genome.toString();
+    }
+}
@@ -0,0 +1,247 @@
+package com.antekk.flappybird.game.ai;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+//compact little endian file holding any number of networks of one kind. Header:
+//  magic "FBNN", version, kind (0 fixed topology, 1 NEAT), input, hidden and output neurons, parameter count, network count
+//every network then starts with its fitness (long), pipe gap (int), achieved score (long) and seed (long), followed by
+//  fixed topology: the parameter vector as floats, so every record has the same size
+//  NEAT: node and connection counts, nodes as (id, type, bias), connections as (innovation, from, to, weight, enabled)
+//files are memory mapped for reading, floats are copied out of the mapping in bulk
+public class NetworkBinaryFormat {
+    public static final String EXTENSION = ".fbn";
+    private static final int MAGIC = 0x4E4E4246; //"FBNN" read little endian
+    private static final int VERSION = 1;
+    private static final int KIND_FIXED = 0;
+    private static final int KIND_NEAT = 1;
+    private static final int HEADER_BYTES = 8 * Integer.BYTES;
+    private static final int RECORD_HEADER_BYTES = 3 * Long.BYTES + Integer.BYTES;
+    private static final int NODE_BYTES = Integer.BYTES + 1 + Float.BYTES;
+    private static final int CONNECTION_BYTES = 3 * Integer.BYTES + Float.BYTES + 1;
+
+    private NetworkBinaryFormat() {}
+
+    public static boolean isBinaryFile(String path) {
+        return path.toLowerCase().endsWith(EXTENSION);
+    }
+
+    //all networks have to be of the same kind, a file mixing them couldn't describe its topology in the header
+    public static void write(Path path, List<? extends Brain> networks) throws IOException {
+        boolean neat = !networks.isEmpty() && networks.get(0) instanceof NeatNetwork;
+        long size = HEADER_BYTES;
+        for(Brain network : networks) {
+            NetworkJSON.checkSavable(network);
+            if(network instanceof NeatNetwork != neat)
+                throw new IllegalArgumentException("Fixed topology and NEAT networks can't be stored in one file");
+            size += RECORD_HEADER_BYTES;
+            if(neat) {
+                Genome genome = ((NeatNetwork) network).getGenome();
+                size += 2 * Integer.BYTES + (long) genome.getNodes().size() * NODE_BYTES +
+                        (long) genome.getConnections().size() * CONNECTION_BYTES;
+            } else {
+                size += (long) NeuralNetwork.PARAMETER_COUNT * Float.BYTES;
+            }
+        }
+        if(size > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Too many networks for one file");
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(neat ? KIND_NEAT : KIND_FIXED);
+        buffer.putInt(NeuralNetwork.INPUT_NEURONS);
+        buffer.putInt(neat ? 0 : NeuralNetwork.HIDDEN_NEURONS);
+        buffer.putInt(1);
+        buffer.putInt(neat ? 0 : NeuralNetwork.PARAMETER_COUNT);
+        buffer.putInt(networks.size());
+
+        for(Brain network : networks) {
+            buffer.putLong(network.fitnessTotalDistance);
+            buffer.putInt(network.getCurrentPipeGap());
+            buffer.putLong(network.getCurrentScore());
+            buffer.putLong(network.getSeed());
+            if(neat) {
+                writeGenome(buffer, ((NeatNetwork) network).getGenome());
+            } else {
+                buffer.asFloatBuffer().put(((NeuralNetwork) network).getParameters());
+                buffer.position(buffer.position() + NeuralNetwork.PARAMETER_COUNT * Float.BYTES);
+            }
+        }
+
+        buffer.flip();
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while(buffer.hasRemaining())
+                channel.write(buffer);
+        }
+    }
+
+    private static void writeGenome(ByteBuffer buffer, Genome genome) {
+        buffer.putInt(genome.getNodes().size());
+        buffer.putInt(genome.getConnections().size());
+        for(NodeGene node : genome.getNodes()) {
+            buffer.putInt(node.getId());
+            buffer.put((byte) node.getType().ordinal());
+            buffer.putFloat(node.bias);
+        }
+        for(ConnectionGene connection : genome.getConnections()) {
+            buffer.putInt(connection.getInnovation());
+            buffer.putInt(connection.getFrom());
+            buffer.putInt(connection.getTo());
+            buffer.putFloat(connection.weight);
+            buffer.put((byte) (connection.enabled ? 1 : 0));
+        }
+    }
+
+    public static List<Brain> read(Path path) throws IOException {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if(channel.size() < HEADER_BYTES)
+                throw new IOException(path + " is not a network file");
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            ByteBuffer buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+            try {
+                return read(buffer, path);
+            } catch (BufferUnderflowException e) {
+                throw new IOException(path + " is truncated", e);
+            } catch (IllegalArgumentException e) {
+                throw new IOException(path + " is corrupted: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    //metadata of the first network, only the headers in front of its weights are mapped
+    public static NetworkMetadata readMetadata(Path path) throws IOException {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = Math.min(channel.size(), HEADER_BYTES + RECORD_HEADER_BYTES + 2 * Integer.BYTES);
+            if(length < HEADER_BYTES)
+                throw new IOException(path + " is not a network file");
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length).order(ByteOrder.LITTLE_ENDIAN);
+            try {
+                int kind = readHeader(buffer, path);
+                if(buffer.getInt(HEADER_BYTES - Integer.BYTES) < 1)
+                    throw new IOException("No networks in " + path);
+                long fitness = buffer.getLong();
+                int pipeGap = buffer.getInt();
+                long score = buffer.getLong();
+                long seed = buffer.getLong();
+                if(kind == KIND_FIXED)
+                    return NetworkMetadata.fixed(fitness, score, pipeGap, seed);
+                return new NetworkMetadata(fitness, score, pipeGap, seed, true, buffer.getInt(), buffer.getInt());
+            } catch (BufferUnderflowException e) {
+                throw new IOException(path + " is truncated", e);
+            }
+        }
+    }
+
+    //checks the file header and leaves the buffer at the first network, returns the kind of the stored networks
+    private static int readHeader(ByteBuffer buffer, Path path) throws IOException {
+        if(buffer.getInt() != MAGIC)
+            throw new IOException(path + " is not a network file");
+        int version = buffer.getInt();
+        if(version != VERSION)
+            throw new IOException("Unsupported network file version " + version);
+        int kind = buffer.getInt();
+        int inputs = buffer.getInt();
+        int hidden = buffer.getInt();
+        int outputs = buffer.getInt();
+        int parameterCount = buffer.getInt();
+        int count = buffer.getInt();
+        if(kind != KIND_FIXED && kind != KIND_NEAT)
+            throw new IOException("Unknown network kind " + kind + " in " + path);
+        if(inputs != NeuralNetwork.INPUT_NEURONS || outputs != 1 || (kind == KIND_FIXED &&
+                (hidden != NeuralNetwork.HIDDEN_NEURONS || parameterCount != NeuralNetwork.PARAMETER_COUNT)))
+            throw new IOException("Network layout in " + path + " doesn't match this version of the game");
+        if(count < 0)
+            throw new IOException(path + " is corrupted");
+        return kind;
+    }
+
+    private static List<Brain> read(ByteBuffer buffer, Path path) throws IOException {
+        int kind = readHeader(buffer, path);
+        int parameterCount = NeuralNetwork.PARAMETER_COUNT;
+        int count = buffer.getInt(HEADER_BYTES - Integer.BYTES);
+
+        ArrayList<Brain> networks = new ArrayList<>(Math.min(count, buffer.remaining() / RECORD_HEADER_BYTES));
+        for(int i = 0; i < count; i++) {
+            long fitness = buffer.getLong();
+            int pipeGap = buffer.getInt();
+            long score = buffer.getLong();
+            long seed = buffer.getLong();
+
+            Brain network;
+            if(kind == KIND_NEAT) {
+                network = new NeatNetwork(readGenome(buffer));
+            } else {
+                float[] params = new float[parameterCount];
+                buffer.asFloatBuffer().get(params);
+                buffer.position(buffer.position() + parameterCount * Float.BYTES);
+                network = new NeuralNetwork(params);
+            }
+            network.fitnessTotalDistance = fitness;
+            network.setGameParams(score, pipeGap, seed);
+            networks.add(network);
+        }
+        return networks;
+    }
+
+    private static Genome readGenome(ByteBuffer buffer) {
+        int nodeCount = buffer.getInt();
+        int connectionCount = buffer.getInt();
+        if(nodeCount < 0 || connectionCount < 0 ||
+                (long) nodeCount * NODE_BYTES + (long) connectionCount * CONNECTION_BYTES > buffer.remaining())
+            throw new BufferUnderflowException();
+
+        NodeGene.Type[] types = NodeGene.Type.values();
+        ArrayList<NodeGene> nodes = new ArrayList<>(nodeCount);
+        for(int i = 0; i < nodeCount; i++) {
+            int id = buffer.getInt();
+            int type = buffer.get();
+            if(type < 0 || type >= types.length)
+                throw new IllegalArgumentException("unknown node type " + type);
+            nodes.add(new NodeGene(id, types[type], buffer.getFloat()));
+        }
+        ArrayList<ConnectionGene> connections = new ArrayList<>(connectionCount);
+        for(int i = 0; i < connectionCount; i++) {
+            connections.add(new ConnectionGene(buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getFloat(),
+                    buffer.get() != 0));
+        }
+        return Genome.fromGenes(nodes, connections);
+    }
+
+    //converts between json and the binary format, lossless both ways
+    //json files, single networks or populations, are packed into one binary file
+    //a binary file is unpacked into one json file per network
+    public static void convert(List<Path> inputs, Path output) throws IOException {
+        if(isBinaryFile(output.toString())) {
+            ArrayList<Brain> networks = new ArrayList<>();
+            for(Path input : inputs)
+                networks.addAll(NetworkJSON.readPopulation(input));
+            write(output, networks);
+            return;
+        }
+
+        ArrayList<Brain> networks = new ArrayList<>();
+        for(Path input : inputs)
+            networks.addAll(read(input));
+        if(networks.size() == 1) {
+            networks.get(0).writeJSON(output);
+            return;
+        }
+
+        String name = output.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String stem = dot < 0 ? name : name.substring(0, dot);
+        String extension = dot < 0 ? "" : name.substring(dot);
+        for(int i = 0; i < networks.size(); i++)
+            networks.get(i).writeJSON(output.resolveSibling(stem + "-" + i + extension));
+    }
+}
@@ -0,0 +1,427 @@
+package com.antekk.flappybird.game.ai;
+
+import org.json.JSONException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+//streams networks to and from the saved json schema without building a json tree. Members are written in the
+//order org.json's hash map printed them, so files match what the tree based saving wrote byte for byte.
+//A population is a json array of network objects
+public class NetworkJSON {
+    private NetworkJSON() {}
+
+    public static void write(Path path, Brain network) throws IOException {
+        checkSavable(network);
+        try(Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writeNetwork(new JsonStreamWriter(writer), network);
+        }
+    }
+
+    public static void writePopulation(Path path, List<? extends Brain> networks) throws IOException {
+        for(Brain network : networks)
+            checkSavable(network);
+        try(Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            JsonStreamWriter json = new JsonStreamWriter(writer);
+            json.beginArray(networks.size());
+            for(Brain network : networks)
+                writeNetwork(json, network);
+            json.endArray();
+        }
+    }
+
+    public static Brain read(Path path) throws IOException, JSONException {
+        try(Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            JsonStreamReader json = new JsonStreamReader(reader);
+            Brain network = readNetwork(json);
+            json.endDocument();
+            return network;
+        }
+    }
+
+    //takes a single saved network as a population of one
+    public static List<Brain> readPopulation(Path path) throws IOException, JSONException {
+        try(Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            JsonStreamReader json = new JsonStreamReader(reader);
+            ArrayList<Brain> networks = new ArrayList<>();
+            if(json.peekArray()) {
+                json.beginArray();
+                while(json.hasNext())
+                    networks.add(readNetwork(json));
+                json.endArray();
+            } else {
+                networks.add(readNetwork(json));
+            }
+            json.endDocument();
+            return networks;
+        }
+    }
+
+    //only the small fields are read, layers are skipped and genes are counted without being built
+    public static NetworkMetadata readMetadata(Path path) throws IOException, JSONException {
+        try(Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            JsonStreamReader json = new JsonStreamReader(reader);
+            long fitness = 0;
+            GameParams gameParams = null;
+            boolean layers = false, neat = false;
+            int nodes = 0, connections = 0;
+
+            json.beginObject();
+            while(json.hasNext()) {
+                switch (json.nextName()) {
+                    case "fitness" -> fitness = json.nextLong();
+                    case "game_params" -> gameParams = readGameParams(json);
+                    case "layers" -> {
+                        layers = true;
+                        json.skipValue();
+                    }
+                    case "neat" -> {
+                        neat = true;
+                        json.beginObject();
+                        while(json.hasNext()) {
+                            switch (json.nextName()) {
+                                case "nodes" -> nodes = countElements(json);
+                                case "connections" -> connections = countElements(json);
+                                default -> json.skipValue();
+                            }
+                        }
+                        json.endObject();
+                    }
+                    default -> json.skipValue();
+                }
+            }
+            json.endObject();
+
+            if(!layers && !neat)
+                throw json.error("Network has neither \"layers\" nor \"neat\"");
+            if(gameParams == null)
+                throw json.error("Network is missing its game_params");
+            if(!neat)
+                return NetworkMetadata.fixed(fitness, gameParams.achievedScore, gameParams.pipeGap, gameParams.seed);
+            return new NetworkMetadata(fitness, gameParams.achievedScore, gameParams.pipeGap, gameParams.seed, true, nodes, connections);
+        }
+    }
+
+    private static int countElements(JsonStreamReader json) throws IOException {
+        int count = 0;
+        json.beginArray();
+        while(json.hasNext()) {
+            json.skipValue();
+            count++;
+        }
+        json.endArray();
+        return count;
+    }
+
+    //ensembles and recorders only wrap other networks, those are what gets saved
+    static void checkSavable(Brain network) {
+        if(!(network instanceof NeuralNetwork) && !(network instanceof NeatNetwork))
+            throw new IllegalArgumentException(network.getClass().getSimpleName() + " can't be saved, only the networks in it can");
+    }
+
+    private static void writeNetwork(JsonStreamWriter json, Brain network) throws IOException {
+        json.beginObject(4);
+        json.name("fitness").value(network.fitnessTotalDistance);
+        if(network instanceof NeatNetwork neat) {
+            Genome genome = neat.getGenome();
+            json.name("total_size").value(genome.getNodes().size());
+            json.name("neat");
+            writeGenome(json, genome);
+        } else {
+            NeuralNetwork fixed = (NeuralNetwork) network;
+            json.name("layers").beginObject(3);
+            json.name("output");
+            writeLayer(json, fixed, NeuralNetwork.INPUT_NEURONS + NeuralNetwork.HIDDEN_NEURONS, network.size());
+            json.name("input");
+            writeLayer(json, fixed, 0, NeuralNetwork.INPUT_NEURONS);
+            json.name("hidden");
+            writeLayer(json, fixed, NeuralNetwork.INPUT_NEURONS, NeuralNetwork.INPUT_NEURONS + NeuralNetwork.HIDDEN_NEURONS);
+            json.endObject();
+            json.name("total_size").value(network.size());
+        }
+        json.name("game_params").beginObject(3);
+        json.name("achieved_score").value(network.getCurrentScore());
+        json.name("seed").value(network.getSeed());
+        json.name("pipe_gap").value(network.getCurrentPipeGap());
+        json.endObject();
+        json.endObject();
+    }
+
+    private static void writeLayer(JsonStreamWriter json, NeuralNetwork network, int firstNeuron, int endNeuron) throws IOException {
+        float[] params = network.getParameters();
+        json.beginArray(endNeuron - firstNeuron);
+        for(int i = firstNeuron; i < endNeuron; i++) {
+            int bias = NeuralNetwork.biasIndex(i);
+            int weights = NeuralNetwork.weightCount(i);
+            json.beginObject(4);
+            json.name("bias").value(params[bias]);
+            json.name("amount_of_connections").value(weights);
+            json.name("id").value(i);
+            json.name("weights").beginObject(weights);
+            for(int w = 0; w < weights; w++)
+                json.name(String.valueOf(w)).value(params[bias + 1 + w]);
+            json.endObject();
+            json.endObject();
+        }
+        json.endArray();
+    }
+
+    private static void writeGenome(JsonStreamWriter json, Genome genome) throws IOException {
+        json.beginObject(2);
+        json.name("nodes").beginArray(genome.getNodes().size());
+        for(NodeGene node : genome.getNodes()) {
+            json.beginObject(3);
+            json.name("bias").value(node.bias);
+            json.name("id").value(node.getId());
+            json.name("type").value(node.getType().name());
+            json.endObject();
+        }
+        json.endArray();
+        json.name("connections").beginArray(genome.getConnections().size());
+        for(ConnectionGene connection : genome.getConnections()) {
+            json.beginObject(5);
+            json.name("innovation").value(connection.getInnovation());
+            json.name("weight").value(connection.weight);
+            json.name("from").value(connection.getFrom());
+            json.name("to").value(connection.getTo());
+            json.name("enabled").value(connection.enabled);
+            json.endObject();
+        }
+        json.endArray();
+        json.endObject();
+    }
+
+    private static Brain readNetwork(JsonStreamReader json) throws IOException {
+        float[] params = null;
+        Genome genome = null;
+        long fitness = 0;
+        GameParams gameParams = null;
+
+        json.beginObject();
+        while(json.hasNext()) {
+            switch (json.nextName()) {
+                case "fitness" -> fitness = json.nextLong();
+                case "layers" -> params = readLayers(json);
+                case "neat" -> genome = readGenome(json);
+                case "game_params" -> gameParams = readGameParams(json);
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+
+        Brain network;
+        if(genome != null)
+            network = new NeatNetwork(genome);
+        else if(params != null)
+            network = new NeuralNetwork(params);
+        else
+            throw json.error("Network has neither \"layers\" nor \"neat\"");
+        if(gameParams == null)
+            throw json.error("Network is missing its game_params");
+        network.fitnessTotalDistance = fitness;
+        network.setGameParams(gameParams.achievedScore, gameParams.pipeGap, gameParams.seed);
+        return network;
+    }
+
+    private static GameParams readGameParams(JsonStreamReader json) throws IOException {
+        Long achievedScore = null;
+        Integer pipeGap = null;
+        long seed = 0;
+        json.beginObject();
+        while(json.hasNext()) {
+            switch (json.nextName()) {
+                case "achieved_score" -> achievedScore = json.nextLong();
+                case "pipe_gap" -> pipeGap = json.nextInt();
+                case "seed" -> seed = json.nextLong();
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+        if(achievedScore == null || pipeGap == null)
+            throw json.error("game_params need achieved_score and pipe_gap");
+        return new GameParams(achievedScore, pipeGap, seed);
+    }
+
+    private static float[] readLayers(JsonStreamReader json) throws IOException {
+        float[] params = new float[NeuralNetwork.PARAMETER_COUNT];
+        boolean input = false, hidden = false, output = false;
+        json.beginObject();
+        while(json.hasNext()) {
+            switch (json.nextName()) {
+                case "input" -> input = readLayer(json, 0, NeuralNetwork.INPUT_NEURONS, params);
+                case "hidden" -> hidden = readLayer(json, NeuralNetwork.INPUT_NEURONS,
+                        NeuralNetwork.INPUT_NEURONS + NeuralNetwork.HIDDEN_NEURONS, params);
+                case "output" -> output = readLayer(json, NeuralNetwork.INPUT_NEURONS + NeuralNetwork.HIDDEN_NEURONS,
+                        NeuralNetwork.INPUT_NEURONS + NeuralNetwork.HIDDEN_NEURONS + 1, params);
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+        if(!input || !hidden || !output)
+            throw json.error("Network layers need \"input\", \"hidden\" and \"output\"");
+        return params;
+    }
+
+    //neurons are matched by id, the order inside a layer array doesn't matter
+    private static boolean readLayer(JsonStreamReader json, int firstNeuron, int endNeuron, float[] params) throws IOException {
+        ArrayList<LoadedNeuron> neurons = new ArrayList<>();
+        json.beginArray();
+        while(json.hasNext())
+            neurons.add(readNeuron(json));
+        json.endArray();
+
+        if(neurons.size() != endNeuron - firstNeuron)
+            throw json.error("Expected " + (endNeuron - firstNeuron) + " neurons in a layer, got " + neurons.size());
+        neurons.sort(Comparator.comparingInt(LoadedNeuron::id));
+
+        for(int i = firstNeuron; i < endNeuron; i++) {
+            LoadedNeuron neuron = neurons.get(i - firstNeuron);
+            int expectedWeights = NeuralNetwork.weightCount(i);
+            if(neuron.weights.length != expectedWeights)
+                throw json.error("Neuron " + neuron.id + " has " + neuron.weights.length + " connections, expected " + expectedWeights);
+            for(int w = 0; w < expectedWeights; w++) {
+                if(Float.isNaN(neuron.weights[w]))
+                    throw json.error("Neuron " + neuron.id + " is missing weight " + w);
+            }
+
+            int bias = NeuralNetwork.biasIndex(i);
+            params[bias] = neuron.bias;
+            System.arraycopy(neuron.weights, 0, params, bias + 1, expectedWeights);
+        }
+        return true;
+    }
+
+    //weights can come before amount_of_connections, so they are collected by index and checked afterwards
+    private static LoadedNeuron readNeuron(JsonStreamReader json) throws IOException {
+        Integer id = null;
+        Float bias = null;
+        int connections = -1;
+        ArrayList<String> names = new ArrayList<>();
+        ArrayList<Float> values = new ArrayList<>();
+
+        json.beginObject();
+        while(json.hasNext()) {
+            switch (json.nextName()) {
+                case "id" -> id = json.nextInt();
+                case "bias" -> bias = json.nextFloat();
+                case "amount_of_connections" -> connections = json.nextInt();
+                case "weights" -> {
+                    json.beginObject();
+                    while(json.hasNext()) {
+                        names.add(json.nextName());
+                        values.add(json.nextFloat());
+                    }
+                    json.endObject();
+                }
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+        if(id == null || bias == null || connections < 0)
+            throw json.error("Neuron needs an id, a bias and amount_of_connections");
+
+        float[] weights = new float[connections];
+        Arrays.fill(weights, Float.NaN);
+        for(int i = 0; i < names.size(); i++) {
+            try {
+                int index = Integer.parseInt(names.get(i));
+                if(index >= 0 && index < connections)
+                    weights[index] = values.get(i);
+            } catch (NumberFormatException ignored) {}
+        }
+        return new LoadedNeuron(id, bias, weights);
+    }
+
+    private static Genome readGenome(JsonStreamReader json) throws IOException {
+        ArrayList<NodeGene> nodes = null;
+        ArrayList<ConnectionGene> connections = null;
+        json.beginObject();
+        while(json.hasNext()) {
+            switch (json.nextName()) {
+                case "nodes" -> {
+                    nodes = new ArrayList<>();
+                    json.beginArray();
+                    while(json.hasNext())
+                        nodes.add(readNode(json));
+                    json.endArray();
+                }
+                case "connections" -> {
+                    connections = new ArrayList<>();
+                    json.beginArray();
+                    while(json.hasNext())
+                        connections.add(readConnection(json));
+                    json.endArray();
+                }
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+        if(nodes == null || connections == null)
+            throw json.error("NEAT genome needs \"nodes\" and \"connections\"");
+
+        try {
+            return Genome.fromGenes(nodes, connections);
+        } catch (IllegalArgumentException e) {
+            throw json.error(e.getMessage());
+        }
+    }
+
+    private static NodeGene readNode(JsonStreamReader json) throws IOException {
+        Integer id = null;
+        NodeGene.Type type = null;
+        Float bias = null;
+        json.beginObject();
+        while(json.hasNext()) {
+            switch (json.nextName()) {
+                case "id" -> id = json.nextInt();
+                case "type" -> {
+                    String name = json.nextString();
+                    try {
+                        type = NodeGene.Type.valueOf(name);
+                    } catch (IllegalArgumentException e) {
+                        throw json.error("Unknown node type " + name);
+                    }
+                }
+                case "bias" -> bias = json.nextFloat();
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+        if(id == null || type == null || bias == null)
+            throw json.error("Node gene needs an id, a type and a bias");
+        return new NodeGene(id, type, bias);
+    }
+
+    private static ConnectionGene readConnection(JsonStreamReader json) throws IOException {
+        Integer innovation = null, from = null, to = null;
+        Float weight = null;
+        Boolean enabled = null;
+        json.beginObject();
+        while(json.hasNext()) {
+            switch (json.nextName()) {
+                case "innovation" -> innovation = json.nextInt();
+                case "from" -> from = json.nextInt();
+                case "to" -> to = json.nextInt();
+                case "weight" -> weight = json.nextFloat();
+                case "enabled" -> enabled = json.nextBoolean();
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+        if(innovation == null || from == null || to == null || weight == null || enabled == null)
+            throw json.error("Connection gene needs innovation, from, to, weight and enabled");
+        return new ConnectionGene(innovation, from, to, weight, enabled);
+    }
+
+    private record GameParams(long achievedScore, int pipeGap, long seed) {}
+
+    private record LoadedNeuron(int id, float bias, float[] weights) {}
+}
@@ -0,0 +1,194 @@
+package com.antekk.flappybird.game.ai;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+//directory of saved networks with an index of their metadata, so the library can be listed without opening
+//every network. Saving adds one entry to the index, a refresh only scans files that are new or changed since
+//they were indexed, reading nothing but their headers, and drops entries of files that are gone
+public class NetworkLibrary {
+    public static final File DEFAULT_DIRECTORY = new File("flappy_bird_networks");
+    private static final String INDEX_FILE = "index.json";
+    private static final int INDEX_VERSION = 1;
+    private static final DateTimeFormatter FILE_NAME_DATE = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final File directory;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+    private boolean indexRead = false;
+
+    public NetworkLibrary(File directory) {
+        this.directory = directory;
+    }
+
+    public synchronized List<Entry> refresh() throws IOException {
+        if(!directory.isDirectory())
+            return List.of();
+
+        boolean changed = readIndexOnce();
+        File[] files = directory.listFiles();
+        HashSet<String> present = new HashSet<>();
+        for(File file : files == null ? new File[0] : files) {
+            String name = file.getName();
+            if(!file.isFile() || name.equals(INDEX_FILE) || !isNetworkFile(name))
+                continue;
+            present.add(name);
+
+            Entry indexed = entries.get(name);
+            if(indexed != null && indexed.size == file.length() && indexed.modified == file.lastModified())
+                continue;
+            try {
+                NetworkMetadata metadata = readMetadata(file.toPath());
+                long saved = indexed == null ? file.lastModified() : indexed.saved;
+                entries.put(name, new Entry(file.toPath(), metadata, saved, file.length(), file.lastModified()));
+                changed = true;
+            } catch (IOException | JSONException e) {
+                System.err.println("Skipping " + file + " in the network library: " + e.getMessage());
+                changed |= entries.remove(name) != null;
+            }
+        }
+        changed |= entries.keySet().retainAll(present);
+
+        if(changed)
+            writeIndex();
+        return getEntries();
+    }
+
+    public synchronized List<Entry> getEntries() {
+        return new ArrayList<>(entries.values());
+    }
+
+    //saved as json, the index is updated with just this network
+    public synchronized Entry add(Brain network) throws IOException {
+        if(!directory.isDirectory() && !directory.mkdirs())
+            throw new IOException("Cannot create " + directory.getAbsolutePath());
+        readIndexOnce();
+
+        String base = "network-" + LocalDateTime.now().format(FILE_NAME_DATE);
+        File file = new File(directory, base + ".json");
+        for(int i = 2; file.exists(); i++)
+            file = new File(directory, base + "-" + i + ".json");
+
+        network.writeJSON(file.toPath());
+        Entry entry = new Entry(file.toPath(), NetworkMetadata.of(network), System.currentTimeMillis(),
+                file.length(), file.lastModified());
+        entries.put(file.getName(), entry);
+        writeIndex();
+        return entry;
+    }
+
+    public synchronized void remove(Entry entry) throws IOException {
+        Files.deleteIfExists(entry.path);
+        entries.remove(entry.path.getFileName().toString());
+        writeIndex();
+    }
+
+    private static boolean isNetworkFile(String name) {
+        return name.toLowerCase().endsWith(".json") || NetworkBinaryFormat.isBinaryFile(name);
+    }
+
+    private static NetworkMetadata readMetadata(Path path) throws IOException {
+        if(NetworkBinaryFormat.isBinaryFile(path.toString()))
+            return NetworkBinaryFormat.readMetadata(path);
+        return NetworkJSON.readMetadata(path);
+    }
+
+    //true when the index was missing or unreadable and has to be written again
+    private boolean readIndexOnce() {
+        if(indexRead)
+            return false;
+        indexRead = true;
+
+        File index = new File(directory, INDEX_FILE);
+        if(!index.exists())
+            return true;
+
+        try {
+            JSONObject object = new JSONObject(Files.readString(index.toPath()));
+            if(object.optInt("version") != INDEX_VERSION)
+                return true;
+            JSONArray networks = object.getJSONArray("networks");
+            for(int i = 0; i < networks.length(); i++) {
+                JSONObject network = networks.getJSONObject(i);
+                String name = network.getString("file");
+                NetworkMetadata metadata = new NetworkMetadata(
+                        network.getLong("fitness"),
+                        network.getLong("achieved_score"),
+                        network.getInt("pipe_gap"),
+                        network.getLong("seed"),
+                        network.getBoolean("neat"),
+                        network.getInt("nodes"),
+                        network.getInt("connections")
+                );
+                entries.put(name, new Entry(new File(directory, name).toPath(), metadata,
+                        network.getLong("saved"), network.getLong("size"), network.getLong("modified")));
+            }
+            return false;
+        } catch (IOException | JSONException e) {
+            System.err.println("Rebuilding the network library index: " + e.getMessage());
+            entries.clear();
+            return true;
+        }
+    }
+
+    //written next to the index and renamed over it, like the training checkpoint
+    private void writeIndex() throws IOException {
+        JSONArray networks = new JSONArray();
+        for(Entry entry : entries.values()) {
+            JSONObject network = new JSONObject();
+            network.put("file", entry.path.getFileName().toString());
+            network.put("fitness", entry.metadata.fitness());
+            network.put("achieved_score", entry.metadata.achievedScore());
+            network.put("pipe_gap", entry.metadata.pipeGap());
+            network.put("seed", entry.metadata.seed());
+            network.put("neat", entry.metadata.neat());
+            network.put("nodes", entry.metadata.nodes());
+            network.put("connections", entry.metadata.connections());
+            network.put("saved", entry.saved);
+            network.put("size", entry.size);
+            network.put("modified", entry.modified);
+            networks.put(network);
+        }
+        JSONObject object = new JSONObject();
+        object.put("version", INDEX_VERSION);
+        object.put("networks", networks);
+
+        File index = new File(directory, INDEX_FILE);
+        File temporary = new File(directory, INDEX_FILE + ".tmp");
+        try(FileWriter writer = new FileWriter(temporary)) {
+            writer.write(object.toString(4));
+        }
+        try {
+            Files.move(temporary.toPath(), index.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary.toPath(), index.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    //size and modification time tell whether the file changed since it was indexed
+    public record Entry(Path path, NetworkMetadata metadata, long saved, long size, long modified) {
+        public String getName() {
+            String name = path.getFileName().toString();
+            int dot = name.lastIndexOf('.');
+            return dot < 0 ? name : name.substring(0, dot);
+        }
+    }
+}
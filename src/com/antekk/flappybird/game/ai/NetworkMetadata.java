@@ -0,0 +1,26 @@
+package com.antekk.flappybird.game.ai;
+
+//what a saved network says about itself, without its weights
+public record NetworkMetadata(long fitness, long achievedScore, int pipeGap, long seed, boolean neat, int nodes, int connections) {
+
+    static NetworkMetadata of(Brain network) {
+        if(network instanceof NeatNetwork neat) {
+            Genome genome = neat.getGenome();
+            return new NetworkMetadata(network.fitnessTotalDistance, network.getCurrentScore(), network.getCurrentPipeGap(),
+                    network.getSeed(), true, genome.getNodes().size(), genome.getConnections().size());
+        }
+        return fixed(network.fitnessTotalDistance, network.getCurrentScore(), network.getCurrentPipeGap(), network.getSeed());
+    }
+
+    static NetworkMetadata fixed(long fitness, long achievedScore, int pipeGap, long seed) {
+        return new NetworkMetadata(fitness, achievedScore, pipeGap, seed, false,
+                NeuralNetwork.INPUT_NEURONS + NeuralNetwork.HIDDEN_NEURONS + 1,
+                NeuralNetwork.PARAMETER_COUNT - (NeuralNetwork.INPUT_NEURONS + NeuralNetwork.HIDDEN_NEURONS + 1));
+    }
+
+    public String getTopology() {
+        if(neat)
+            return "NEAT, " + nodes + " nodes, " + connections + " connections";
+        return NeuralNetwork.INPUT_NEURONS + "-" + NeuralNetwork.HIDDEN_NEURONS + "-1";
+    }
+}
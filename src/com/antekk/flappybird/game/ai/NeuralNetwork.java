@@ -1,93 +1,84 @@
 package com.antekk.flappybird.game.ai;
 
-import com.antekk.flappybird.game.bird.Bird;
-import com.antekk.flappybird.view.ErrorDialog;
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
+import com.antekk.flappybird.game.RandomSource;
 
-import java.io.FileWriter;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.*;
+import java.util.random.RandomGenerator;
+
+//the fixed topology network, 2-6-1 with every parameter in one flat vector, so it can be batched, quantized,
+//checkpointed and bred with the crossover and mutation operators
+public class NeuralNetwork extends Brain implements Iterable<Neuron> {
+    public static final int INPUT_NEURONS = 2;
+    public static final int HIDDEN_NEURONS = 6;
+    //every neuron is stored as [bias, weights...], layers follow each other in neuron id order
+    private static final int[] WEIGHT_COUNTS = {1, 1, 2, 2, 2, 2, 2, 2, 6};
+    private static final int[] NEURON_OFFSETS = new int[WEIGHT_COUNTS.length];
+    public static final int PARAMETER_COUNT;
+
+    static {
+        int offset = 0;
+        for(int i = 0; i < WEIGHT_COUNTS.length; i++) {
+            NEURON_OFFSETS[i] = offset;
+            offset += 1 + WEIGHT_COUNTS[i];
+        }
+        PARAMETER_COUNT = offset;
+    }
 
-public class NeuralNetwork implements Iterable<Neuron>, Cloneable {
-    private ArrayList<Neuron> inputs = new ArrayList<>();
-    private ArrayList<Neuron> hidden = new ArrayList<>();
-    private Neuron output;
-    private final int totalSize;
-    public long fitnessTotalDistance = 0;
-    private Bird owner;
-    private static final Random random = new Random();
-    private int maxAchievedScore = -1;
-    private int pipesVGapNetworkPlayedOn = -1;
+    private float[] params = new float[PARAMETER_COUNT];
+    private Neuron[] neurons;
+    private final int totalSize = WEIGHT_COUNTS.length;
 
     public NeuralNetwork() {
-        inputs.add(new Neuron(1,0));
-        inputs.add(new Neuron(1,1));
-
-
-        for(int i = 0; i < 6; i++) {
-            hidden.add(new Neuron(2, 2 + i));
-        }
+        this(RandomSource.get());
+    }
 
-        output = new Neuron(6, 8);
+    public NeuralNetwork(RandomGenerator random) {
+        for(int i = 0; i < params.length; i++)
+            params[i] = random.nextFloat(-1, 1);
+        setSeed(RandomSource.getRunSeed());
+    }
 
-        totalSize = inputs.size() + hidden.size() + 1;
+    NeuralNetwork(float[] params) {
+        this.params = params;
     }
 
-    private NeuralNetwork(ArrayList<Neuron> inputs, ArrayList<Neuron> hidden, Neuron output) {
-        this.inputs = inputs;
-        this.hidden = hidden;
-        this.output = output;
-        totalSize = inputs.size() + hidden.size() + 1;
+    public static NeuralNetwork fromParameters(float[] params) {
+        if(params.length != PARAMETER_COUNT)
+            throw new IllegalArgumentException("Expected " + PARAMETER_COUNT + " parameters, got " + params.length);
+        NeuralNetwork network = new NeuralNetwork(params.clone());
+        network.setSeed(RandomSource.getRunSeed());
+        return network;
     }
 
+    @Override
     public double predict(int input1, int input2) {
-        return output.compute(
-                hidden.get(0).compute(
-                        inputs.get(0).compute(input1),
-                        inputs.get(1).compute(input2)
-                ),
-                hidden.get(1).compute(
-                        inputs.get(0).compute(input1),
-                        inputs.get(1).compute(input2)
-                ),
-                hidden.get(2).compute(
-                        inputs.get(0).compute(input1),
-                        inputs.get(1).compute(input2)
-                ),
-                hidden.get(3).compute(
-                        inputs.get(0).compute(input1),
-                        inputs.get(1).compute(input2)
-                ),
-                hidden.get(4).compute(
-                        inputs.get(0).compute(input1),
-                        inputs.get(1).compute(input2)
-                ),
-                hidden.get(5).compute(
-                        inputs.get(0).compute(input1),
-                        inputs.get(1).compute(input2)
-                )
-        );
+        float[] p = params;
+        double a0 = Neuron.reLU(0.0 + (double) input1 * p[1] + p[0]);
+        double a1 = Neuron.reLU(0.0 + (double) input2 * p[3] + p[2]);
+
+        int out = NEURON_OFFSETS[INPUT_NEURONS + HIDDEN_NEURONS];
+        double z = 0;
+        for(int h = 0; h < HIDDEN_NEURONS; h++) {
+            int n = NEURON_OFFSETS[INPUT_NEURONS + h];
+            double hidden = Neuron.reLU(0.0 + a0 * p[n + 1] + a1 * p[n + 2] + p[n]);
+            z += hidden * p[out + 1 + h];
+        }
+        return Neuron.reLU(z + p[out]);
     }
 
-
-
     @Override
     public String toString() {
         StringBuilder s = new StringBuilder();
 
         s.append("Input neurons:").append("\n\t");
-        for(Neuron neuron : inputs)
-            s.append(neuron.toString()).append("\n\t");
+        for(int i = 0; i < INPUT_NEURONS; i++)
+            s.append(getNeuronAt(i).toString()).append("\n\t");
         s.append("\rHidden neurons:").append("\n\t");
-        for(Neuron neuron : hidden)
-            s.append(neuron.toString()).append("\n\t");
+        for(int i = INPUT_NEURONS; i < INPUT_NEURONS + HIDDEN_NEURONS; i++)
+            s.append(getNeuronAt(i).toString()).append("\n\t");
 
         s.append("\rOutput neuron:").append("\n\t");
-        s.append(output.toString());
+        s.append(getNeuronAt(totalSize - 1).toString());
         return s.toString();
     }
 
@@ -115,145 +106,55 @@ public class NeuralNetwork implements Iterable<Neuron>, Cloneable {
         };
     }
 
-    public void performSwapMutation(float swapProbability) {
+    public void performSwapMutation(float swapProbability, RandomGenerator random) {
         for(int i = 0; i < this.size(); i++) {
             if(random.nextFloat() <= swapProbability)
                 continue;
 
-            int randomIndex = (int) (Math.random() * this.size());
-            float biasI = getNeuronAt(i).bias;
-            getNeuronAt(i).bias = getNeuronAt(randomIndex).bias;
-            getNeuronAt(randomIndex).bias = biasI;
+            int randomIndex = random.nextInt(this.size());
+            float biasI = params[biasIndex(i)];
+            params[biasIndex(i)] = params[biasIndex(randomIndex)];
+            params[biasIndex(randomIndex)] = biasI;
         }
     }
 
-    public Neuron getNeuronAt(int index) {
-        Neuron neuron;
-        if (index < inputs.size()) {
-            neuron = inputs.get(index);
-        } else if (index < inputs.size() + hidden.size()) {
-            neuron = hidden.get(index - inputs.size());
-        } else {
-            neuron = output;
-        }
-        return neuron;
+    //takes the biases of every neuron after cutPoint from the other network
+    public void crossoverBiases(NeuralNetwork other, int cutPoint) {
+        for(int i = cutPoint + 1; i < this.size(); i++)
+            params[biasIndex(i)] = other.params[biasIndex(i)];
     }
 
-    public void saveToJSON(String filename) {
-        JSONObject object = new JSONObject();
-        JSONObject layers = new JSONObject();
-
-        layers.put("input", getLayer(inputs));
-        layers.put("hidden", getLayer(hidden));
-        layers.put("output", getLayer(new ArrayList<>(Arrays.asList(output))));
-
-        object.put("layers", layers);
-        object.put("total_size", totalSize);
-        object.put("fitness", fitnessTotalDistance);
-
-        JSONObject gameParams = new JSONObject();
-        gameParams.put("pipe_gap", owner.getPlayer().pipesVerticalGap);
-        gameParams.put("achieved_score", owner.getPlayer().score);
-
-        object.put("game_params", gameParams);
-
-        try(FileWriter writer = new FileWriter(filename)) {
-            writer.write(object.toString(4));
-        } catch (IOException e) {
-            new ErrorDialog("Cannot save the neural network to json", e);
-        }
+    public Neuron getNeuronAt(int index) {
+        index = Math.min(index, totalSize - 1);
+        if(neurons == null)
+            neurons = new Neuron[totalSize];
+        if(neurons[index] == null)
+            neurons[index] = new Neuron(this, index);
+        return neurons[index];
     }
 
-    public static NeuralNetwork getFromJSON(String jsonPath) throws JSONException {
-        StringBuilder builder = new StringBuilder();
-
-        ArrayList<String> lines;
-        try {
-            lines = (ArrayList<String>) Files.readAllLines(Path.of(jsonPath));
-        } catch (IOException e) {
-            new ErrorDialog("Cannot read neural network json file at \"" + jsonPath + "\" - I/O error", e);
-            return null;
-        }
-
-        for(String s : lines) {
-            builder.append(s).append("\n");
-        }
-
-        JSONObject object = new JSONObject(builder.toString());
-        ArrayList<Neuron> loadedInputs = new ArrayList<>();
-        ArrayList<Neuron> loadedHidden = new ArrayList<>();
-        Neuron loadedOutput;
-
-        JSONObject layers = object.getJSONObject("layers");
-        JSONArray inputLayer = layers.getJSONArray("input");
-        JSONArray hiddenLayer = layers.getJSONArray("hidden");
-        JSONArray outputLayer = layers.getJSONArray("output");
-
-
-        for(int i = 0; i < inputLayer.length(); i++) {
-            loadedInputs.add(Neuron.getFromJSON(inputLayer.getJSONObject(i)));
-        }
-
-        for(int i = 0; i < hiddenLayer.length(); i++) {
-            loadedHidden.add(Neuron.getFromJSON(hiddenLayer.getJSONObject(i)));
-        }
-
-        loadedOutput = Neuron.getFromJSON(outputLayer.getJSONObject(0));
-
-        loadedInputs.sort(Comparator.comparingInt(Neuron::getId));
-        loadedHidden.sort(Comparator.comparingInt(Neuron::getId));
+    static int biasIndex(int neuron) {
+        return NEURON_OFFSETS[Math.min(neuron, NEURON_OFFSETS.length - 1)];
+    }
 
-        JSONObject gameParams = object.getJSONObject("game_params");
-        NeuralNetwork network = new NeuralNetwork(loadedInputs, loadedHidden, loadedOutput);
-        network.maxAchievedScore = gameParams.getInt("achieved_score");
-        network.pipesVGapNetworkPlayedOn = gameParams.getInt("pipe_gap");
-        return network;
+    static int weightCount(int neuron) {
+        return WEIGHT_COUNTS[Math.min(neuron, WEIGHT_COUNTS.length - 1)];
     }
 
-    private JSONArray getLayer(ArrayList<Neuron> layer) {
-        JSONArray neuronLayer = new JSONArray();
-        for(Neuron n : layer) {
-            neuronLayer.put(n.getJSONObject());
-        }
-        return neuronLayer;
+    public float[] getParameters() {
+        return params;
     }
 
+    @Override
     public int size() {
         return totalSize;
     }
 
     @Override
     public NeuralNetwork clone() {
-        try {
-            NeuralNetwork clone = (NeuralNetwork) super.clone();
-            clone.inputs = new ArrayList<>();
-            clone.hidden = new ArrayList<>();
-
-            for(Neuron neuron : this.inputs) {
-                clone.inputs.add(neuron.clone());
-            }
-
-            for(Neuron neuron : this.hidden) {
-                clone.hidden.add(neuron.clone());
-            }
-
-            clone.output = this.output.clone();
-
-            return clone;
-        } catch (CloneNotSupportedException e) {
-            throw new AssertionError();
-        }
-    }
-
-    public void setOwner(Bird owner) {
-        this.owner = owner;
-    }
-
-    public int getMaxAchievedScore() {
-        return maxAchievedScore;
-    }
-
-    public int getPipesVGapNetworkPlayedOn() {
-        return pipesVGapNetworkPlayedOn;
+        NeuralNetwork clone = (NeuralNetwork) super.clone();
+        clone.params = params.clone();
+        clone.neurons = null;
+        return clone;
     }
-}
\ No newline at end of file
+}
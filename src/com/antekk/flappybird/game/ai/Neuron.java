@@ -1,100 +1,52 @@
 package com.antekk.flappybird.game.ai;
 
-import org.json.JSONObject;
+import java.util.Arrays;
 
-import java.util.ArrayList;
-import java.util.Random;
+//view over one neuron's slice of the network's parameter vector
+public class Neuron {
+    private final NeuralNetwork network;
+    private final int id;
 
-public class Neuron implements Cloneable{
-    public float bias;
-    private static final Random random = new Random();
-    private int id;
-    private ArrayList<Float> weights = new ArrayList<>();
-
-    Neuron(int amountOfWeights, int id) {
+    Neuron(NeuralNetwork network, int id) {
+        this.network = network;
         this.id = id;
-        bias = random.nextFloat(-1,1);
-        for(int i = 0; i < amountOfWeights; i++) weights.add(random.nextFloat(-1,1));
     }
 
-    private Neuron(int id, float bias, ArrayList<Float> weights) {
-        this.bias = bias;
-        this.id = id;
-        this.weights = weights;
+    static float reLU(double x) {
+        return (float) ((x + Math.abs(x)) / 2);
     }
 
-    protected double compute(double... input) {
-        double z = 0;
-        for(int i = 0; i < input.length; i++) {
-            z += input[i] * weights.get(i);
-        }
-        z += bias;
+    public float getBias() {
+        return network.getParameters()[NeuralNetwork.biasIndex(id)];
+    }
 
-        return reLU(z);
+    public void setBias(float bias) {
+        network.getParameters()[NeuralNetwork.biasIndex(id)] = bias;
     }
 
-    private static float reLU(double x) {
-        return (float) ((x + Math.abs(x)) / 2);
+    public float getWeight(int index) {
+        return network.getParameters()[NeuralNetwork.biasIndex(id) + 1 + index];
+    }
+
+    public void setWeight(int index, float weight) {
+        network.getParameters()[NeuralNetwork.biasIndex(id) + 1 + index] = weight;
+    }
+
+    public int getWeightCount() {
+        return NeuralNetwork.weightCount(id);
     }
 
     @Override
     public String toString() {
+        int offset = NeuralNetwork.biasIndex(id) + 1;
         return "Neuron{" +
-                "bias=" + bias +
+                "bias=" + getBias() +
                 ", id=" + id +
-                ", weights=" + weights +
+                ", weights=" + Arrays.toString(Arrays.copyOfRange(network.getParameters(), offset, offset + getWeightCount())) +
                 '}';
     }
 
     protected int getId() {
         return id;
     }
-
-    public ArrayList<Float> getWeights() {
-        return weights;
-    }
-
-    protected JSONObject getJSONObject() {
-        JSONObject object = new JSONObject();
-        object.put("id", id);
-        object.put("bias", bias);
-
-        JSONObject weightsObject = new JSONObject();
-        for(int i = 0; i < weights.size(); i++) {
-            weightsObject.put(String.valueOf(i), weights.get(i));
-        }
-        object.put("weights", weightsObject);
-        object.put("amount_of_connections", weights.size());
-
-        return object;
-    }
-
-    protected static Neuron getFromJSON(JSONObject object) {
-        int id = object.getInt("id");
-        int amountOfConnections = object.getInt("amount_of_connections");
-        ArrayList<Float> weights = new ArrayList<>();
-        float bias = object.getFloat("bias");
-
-        JSONObject weightsJSON = object.getJSONObject("weights");
-        for(int i = 0; i < amountOfConnections; i++) {
-            String key = String.valueOf(i);
-            weights.add(weightsJSON.getFloat(key));
-        }
-
-        return new Neuron(id, bias, weights);
-    }
-
-    @Override
-    public Neuron clone() {
-        try {
-            Neuron clone = (Neuron) super.clone();
-            clone.weights = new ArrayList<>();
-            clone.weights.addAll(weights);
-            clone.bias = bias;
-
-            return clone;
-        } catch (CloneNotSupportedException e) {
-            throw new AssertionError();
-        }
-    }
-}
\ No newline at end of file
+}
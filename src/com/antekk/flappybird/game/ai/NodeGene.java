@@ -0,0 +1,40 @@
+package com.antekk.flappybird.game.ai;
+
+public class NodeGene {
+    public enum Type {
+        INPUT,
+        HIDDEN,
+        OUTPUT
+    }
+
+    private final int id;
+    private final Type type;
+    public float bias;
+
+    public NodeGene(int id, Type type, float bias) {
+        this.id = id;
+        this.type = type;
+        this.bias = bias;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public NodeGene copy() {
+        return new NodeGene(id, type, bias);
+    }
+
+    @Override
+    public String toString() {
+        return "NodeGene{" +
+                "id=" + id +
+                ", type=" + type +
+                ", bias=" + bias +
+                '}';
+    }
+}
@@ -0,0 +1,6 @@
+package com.antekk.flappybird.game.ai;
+
+//evaluates many networks at once, networks indices[k] on (input1[k], input2[k]) for k < count
+public interface PopulationPredictor {
+    void predict(int[] indices, int count, int[] input1, int[] input2, double[] result);
+}
@@ -0,0 +1,185 @@
+package com.antekk.flappybird.game.ai;
+
+//fixed topology networks packed as int8 or int16 fixed point, PARAMETER_COUNT values per network next to each other.
+//every layer of a network (input, hidden, output neurons) has its own power of two scale, picked so its largest
+//weight or bias just fits, which lets predict run in integer arithmetic with shifts instead of rescaling multiplies.
+//activations between layers are kept in longs with FRACTION_BITS fractional bits, which leaves plenty of headroom
+//for pixel distances. Only the last step turns the output back into a double for the flap threshold
+public class QuantizedPopulation implements PopulationPredictor {
+    public enum Precision {
+        INT8(Byte.MAX_VALUE, Byte.BYTES),
+        INT16(Short.MAX_VALUE, Short.BYTES);
+
+        private final int maxValue;
+        private final int bytes;
+
+        Precision(int maxValue, int bytes) {
+            this.maxValue = maxValue;
+            this.bytes = bytes;
+        }
+    }
+
+    //decision disagreement against float predict, the output error is in the units of the network's output
+    public record Calibration(long decisions, long disagreements, int disagreeingNetworks, double maxOutputError) {
+        public double getDisagreementRate() {
+            return decisions == 0 ? 0 : (double) disagreements / decisions;
+        }
+    }
+
+    private static final int LAYERS = 3;
+    private static final int FRACTION_BITS = 16;
+    //a layer whose weights are all below 2^-40 is as good as zero, larger values would only risk overflowing shifts
+    private static final int MAX_EXPONENT = 40;
+    private static final int MIN_EXPONENT = -16;
+    private static final int HIDDEN_OFFSET = NeuralNetwork.biasIndex(NeuralNetwork.INPUT_NEURONS);
+    private static final int OUTPUT_OFFSET = NeuralNetwork.biasIndex(NeuralNetwork.INPUT_NEURONS + NeuralNetwork.HIDDEN_NEURONS);
+
+    private final int size;
+    private final Precision precision;
+    //only the array of the chosen precision is allocated
+    private final byte[] int8;
+    private final short[] int16;
+    //per network and layer, the stored integers are the parameters times 2^exponent
+    private final byte[] exponents;
+
+    //other topologies are left zeroed like in BatchPredictor, the caller predicts those one by one
+    public QuantizedPopulation(Brain[] networks, Precision precision) {
+        this(networks.length, precision);
+        for(int i = 0; i < size; i++) {
+            if(networks[i] instanceof NeuralNetwork network)
+                set(i, network);
+        }
+    }
+
+    public QuantizedPopulation(int size, Precision precision) {
+        this.size = size;
+        this.precision = precision;
+        long values = (long) size * NeuralNetwork.PARAMETER_COUNT;
+        if(values > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Too many networks for one quantized population");
+        int8 = precision == Precision.INT8 ? new byte[(int) values] : null;
+        int16 = precision == Precision.INT16 ? new short[(int) values] : null;
+        exponents = new byte[size * LAYERS];
+    }
+
+    public void set(int index, NeuralNetwork network) {
+        float[] params = network.getParameters();
+        int base = index * NeuralNetwork.PARAMETER_COUNT;
+        quantizeLayer(index, 0, params, base, 0, HIDDEN_OFFSET);
+        quantizeLayer(index, 1, params, base, HIDDEN_OFFSET, OUTPUT_OFFSET);
+        quantizeLayer(index, 2, params, base, OUTPUT_OFFSET, NeuralNetwork.PARAMETER_COUNT);
+    }
+
+    private void quantizeLayer(int index, int layer, float[] params, int base, int from, int to) {
+        float maxAbs = 0;
+        for(int p = from; p < to; p++)
+            maxAbs = Math.max(maxAbs, Math.abs(params[p]));
+
+        int exponent = maxAbs == 0 ? 0 : Math.getExponent(precision.maxValue / (double) maxAbs);
+        exponent = Math.max(MIN_EXPONENT, Math.min(exponent, MAX_EXPONENT));
+        exponents[index * LAYERS + layer] = (byte) exponent;
+
+        int max = precision.maxValue;
+        for(int p = from; p < to; p++) {
+            long value = Math.round(Math.scalb((double) params[p], exponent));
+            int q = (int) Math.max(-max, Math.min(value, max));
+            if(int8 != null)
+                int8[base + p] = (byte) q;
+            else
+                int16[base + p] = (short) q;
+        }
+    }
+
+    private int q(int i) {
+        return int8 != null ? int8[i] : int16[i];
+    }
+
+    //same layout and activations as NeuralNetwork.predict
+    public double predict(int index, int input1, int input2) {
+        int base = index * NeuralNetwork.PARAMETER_COUNT;
+        int e0 = exponents[index * LAYERS];
+        int e1 = exponents[index * LAYERS + 1];
+        int e2 = exponents[index * LAYERS + 2];
+
+        //input layer: the inputs are whole pixels, so the sums are exact at the layer's own scale
+        long a0 = toFraction(relu((long) input1 * q(base + 1) + q(base)), e0);
+        long a1 = toFraction(relu((long) input2 * q(base + 3) + q(base + 2)), e0);
+
+        int out = base + OUTPUT_OFFSET;
+        long z = 0;
+        for(int h = 0; h < NeuralNetwork.HIDDEN_NEURONS; h++) {
+            int n = base + HIDDEN_OFFSET + h * (NeuralNetwork.INPUT_NEURONS + 1);
+            long hidden = a0 * q(n + 1) + a1 * q(n + 2) + ((long) q(n) << FRACTION_BITS);
+            z += toFraction(relu(hidden), FRACTION_BITS + e1) * q(out + 1 + h);
+        }
+        z = relu(z + ((long) q(out) << FRACTION_BITS));
+        return Math.scalb((double) z, -(FRACTION_BITS + e2));
+    }
+
+    @Override
+    public void predict(int[] indices, int count, int[] input1, int[] input2, double[] result) {
+        for(int k = 0; k < count; k++)
+            result[k] = predict(indices[k], input1[k], input2[k]);
+    }
+
+    private static long relu(long x) {
+        return x > 0 ? x : 0;
+    }
+
+    //from a sum with `exponent` fractional bits to FRACTION_BITS, rounding to nearest
+    private static long toFraction(long value, int exponent) {
+        int shift = exponent - FRACTION_BITS;
+        if(shift <= 0)
+            return value << -shift;
+        return (value + (1L << (shift - 1))) >> shift;
+    }
+
+    //the float network the stored integers stand for
+    public NeuralNetwork dequantize(int index) {
+        float[] params = new float[NeuralNetwork.PARAMETER_COUNT];
+        int base = index * NeuralNetwork.PARAMETER_COUNT;
+        for(int p = 0; p < params.length; p++) {
+            int layer = p < HIDDEN_OFFSET ? 0 : p < OUTPUT_OFFSET ? 1 : 2;
+            params[p] = Math.scalb((float) q(base + p), -exponents[index * LAYERS + layer]);
+        }
+        return NeuralNetwork.fromParameters(params);
+    }
+
+    //replays the recorded states through both the float networks and their quantized copies, networks[i] has to be
+    //the network stored at index i
+    public Calibration calibrate(NeuralNetwork[] networks, int[] input1, int[] input2, int count) {
+        long disagreements = 0;
+        int disagreeingNetworks = 0;
+        double maxError = 0;
+        for(int i = 0; i < networks.length; i++) {
+            long networkDisagreements = 0;
+            for(int k = 0; k < count; k++) {
+                double expected = networks[i].predict(input1[k], input2[k]);
+                double actual = predict(i, input1[k], input2[k]);
+                if((expected > 0.5) != (actual > 0.5))
+                    networkDisagreements++;
+                maxError = Math.max(maxError, Math.abs(expected - actual));
+            }
+            disagreements += networkDisagreements;
+            if(networkDisagreements > 0)
+                disagreeingNetworks++;
+        }
+        return new Calibration((long) networks.length * count, disagreements, disagreeingNetworks, maxError);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Precision getPrecision() {
+        return precision;
+    }
+
+    public static int getBytesPerNetwork(Precision precision) {
+        return NeuralNetwork.PARAMETER_COUNT * precision.bytes + LAYERS;
+    }
+
+    public long getMemoryBytes() {
+        return (long) size * getBytesPerNetwork(precision);
+    }
+}
@@ -0,0 +1,52 @@
+package com.antekk.flappybird.game.ai;
+
+import java.util.ArrayList;
+
+public class Species {
+    private final int id;
+    private Genome representative;
+    private final ArrayList<Integer> members = new ArrayList<>();
+    private long bestFitness = Long.MIN_VALUE;
+    private int generationsWithoutImprovement = 0;
+
+    Species(int id, Genome representative) {
+        this.id = id;
+        this.representative = representative;
+    }
+
+    //returns false once the species went too long without beating its best fitness
+    boolean updateStagnation(long fitness, int stagnationLimit) {
+        if(fitness > bestFitness) {
+            bestFitness = fitness;
+            generationsWithoutImprovement = 0;
+        } else {
+            generationsWithoutImprovement++;
+        }
+        return generationsWithoutImprovement < stagnationLimit;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    Genome getRepresentative() {
+        return representative;
+    }
+
+    void setRepresentative(Genome representative) {
+        this.representative = representative;
+    }
+
+    //indices into the population that is being bred
+    ArrayList<Integer> getMembers() {
+        return members;
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    public long getBestFitness() {
+        return bestFitness;
+    }
+}
@@ -1,20 +1,18 @@
 package com.antekk.flappybird.game.bird;
 
-import com.antekk.flappybird.game.ai.NeuralNetwork;
+import com.antekk.flappybird.game.ai.Brain;
 import com.antekk.flappybird.game.pipes.BottomPipe;
+import com.antekk.flappybird.game.pipes.PipeCourse;
 import com.antekk.flappybird.game.pipes.PipeFormation;
 import com.antekk.flappybird.game.pipes.TopPipe;
 import com.antekk.flappybird.game.player.FlappyBirdPlayer;
-import com.antekk.flappybird.view.GamePanel;
+import com.antekk.flappybird.game.world.Board;
 
 import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
 
-import static com.antekk.flappybird.view.GamePanel.*;
 import static com.antekk.flappybird.view.themes.GameColors.*;
-import static java.lang.Thread.sleep;
 
 public class Bird {
     private int spritePosX;
@@ -25,24 +23,30 @@ public class Bird {
     private int hitboxPosY;
     private int hitboxWidth;
     private int hitboxHeight;
+    private int previousSpritePosX;
+    private int previousSpritePosY;
     public boolean isMovingUp = false;
     public int framesSinceBirdStartedMoving = 0;
     public int rotationAngle = 0;
     public boolean isAlive = true;
-    public NeuralNetwork brain;
+    public Brain brain;
     public long totalTraveledDistance = 0;
     private final FlappyBirdPlayer player = new FlappyBirdPlayer();
+    private final Board board;
 
     private final int MAX_ROTATION_ANGLE = 33;
-    private final int DEFAULT_HITBOX_SIZE = (int) (getBlockSizePx() * 0.75);
-    private final int DEFAULT_SPRITE_SIZE = (int) (1.7 * getBlockSizePx());
+    private final int DEFAULT_HITBOX_SIZE;
+    private final int DEFAULT_SPRITE_SIZE;
 
-    public Bird() {
+    public Bird(Board board) {
+        this.board = board;
+        DEFAULT_HITBOX_SIZE = (int) (board.getBlockSizePx() * 0.75);
+        DEFAULT_SPRITE_SIZE = (int) (1.7 * board.getBlockSizePx());
         resetPosition();
     }
 
-    public Bird(NeuralNetwork network) {
-        resetPosition();
+    public Bird(Board board, Brain network) {
+        this(board);
         network.setOwner(this);
         this.brain = network;
         brain.fitnessTotalDistance = 0;
@@ -74,16 +78,20 @@ public class Bird {
     }
 
     public void resetPosition() {
-        spritePosX = (int) ((GamePanel.getBoardCols() - 1.5) * getBlockSizePx() / 2);
-        spritePosY = (GamePanel.getBoardRows() - 3) * getBlockSizePx() / 2;
-        hitboxPosX = spritePosX + getBlockSizePx() / 2;
-        hitboxPosY = spritePosY + getBlockSizePx() / 2;
+        int blockSizePx = board.getBlockSizePx();
+        spritePosX = (int) ((Board.COLS - 1.5) * blockSizePx / 2);
+        spritePosY = (Board.ROWS - 3) * blockSizePx / 2;
+        hitboxPosX = spritePosX + blockSizePx / 2;
+        hitboxPosY = spritePosY + blockSizePx / 2;
 
         spriteWidth = DEFAULT_SPRITE_SIZE;
         spriteHeight = DEFAULT_SPRITE_SIZE;
         hitboxWidth = DEFAULT_HITBOX_SIZE;
         hitboxHeight = DEFAULT_HITBOX_SIZE;
 
+        previousSpritePosX = spritePosX;
+        previousSpritePosY = spritePosY;
+
         totalTraveledDistance = 0;
         isAlive = true;
         isMovingUp = false;
@@ -96,7 +104,32 @@ public class Bird {
         isMovingUp = true;
     }
 
-    public void draw(Graphics g) {
+    public void savePreviousPosition() {
+        previousSpritePosX = spritePosX;
+        previousSpritePosY = spritePosY;
+    }
+
+    void loadSimulationState(int spriteX, int previousSpriteX, int hitboxY, int previousHitboxY, boolean isMovingUp,
+                             int framesSinceBirdStartedMoving, int rotationAngle, boolean isAlive, long totalTraveledDistance) {
+        int hitboxOffset = board.getBlockSizePx() / 2;
+        spritePosX = spriteX;
+        previousSpritePosX = previousSpriteX;
+        hitboxPosY = hitboxY;
+        spritePosY = hitboxY - hitboxOffset;
+        previousSpritePosY = previousHitboxY - hitboxOffset;
+
+        this.isMovingUp = isMovingUp;
+        this.framesSinceBirdStartedMoving = framesSinceBirdStartedMoving;
+        this.rotationAngle = rotationAngle;
+        this.isAlive = isAlive;
+        this.totalTraveledDistance = totalTraveledDistance;
+    }
+
+    public void draw(Graphics g, float alpha) {
+        //position interpolated between the last two simulation ticks
+        int x = previousSpritePosX + Math.round((spritePosX - previousSpritePosX) * alpha);
+        int y = previousSpritePosY + Math.round((spritePosY - previousSpritePosY) * alpha);
+
         //so that the bird doesnt flip when falling
         if(rotationAngle > MAX_ROTATION_ANGLE) {
             rotationAngle = MAX_ROTATION_ANGLE;
@@ -109,8 +142,8 @@ public class Bird {
             BufferedImage img = rotateImage(birdUpFlap, -20);
             g.drawImage(
                     img,
-                    getSpriteXPos(),
-                    getSpritePosY(),
+                    x,
+                    y,
                     scaledSpriteWidth,
                     scaledSpriteHeight,
                     null
@@ -119,8 +152,8 @@ public class Bird {
             BufferedImage img = rotateImage(birdDownFlap, 3 * rotationAngle - 15);
             g.drawImage(
                     img,
-                    getSpriteXPos(),
-                    getSpritePosY(),
+                    x,
+                    y,
                     getSpriteWidth(),
                     getSpriteHeight(),
                     null
@@ -129,8 +162,8 @@ public class Bird {
         } else {
             g.drawImage(
                     birdMidFlap,
-                    getSpriteXPos(),
-                    getSpritePosY(),
+                    x,
+                    y,
                     getSpriteWidth(),
                     getSpriteHeight(),
                     null
@@ -178,7 +211,7 @@ public class Bird {
         }
 
         //collisions for pipes sides
-        if((getHitboxPosX() + getHitboxWidth() >= topPipe.getX() && getHitboxPosX() <= topPipe.getX() + getBlockSizePx()) &&
+        if((getHitboxPosX() + getHitboxWidth() >= topPipe.getX() && getHitboxPosX() <= topPipe.getX() + board.getBlockSizePx()) &&
                 (getHitboxPosY() <= (topPipe.getY() + topPipe.getHeight()) || getHitboxPosY() >= (bottomPipe.getY()))) {
             return true;
         }
@@ -201,19 +234,13 @@ public class Bird {
                 getHitboxPosY() + getHitboxHeight() <= pipeFormation.getBottomPipe().getY());
     }
 
-    public void performNextMlMove(ArrayList<PipeFormation> pipes) {
+    public void performNextMlMove(PipeCourse pipes) {
         if(brain == null || !isAlive) return;
-        PipeFormation closestPipeFormation = pipes.get(0);
-        int distX;
-        int distY;
+        PipeFormation closestPipeFormation = pipes.getTarget();
+        if(closestPipeFormation == null) return;
 
-        if(hitboxPosX < closestPipeFormation.getX() + closestPipeFormation.getWidth()) {
-            distX = distanceToPipeFormationX(closestPipeFormation);
-            distY = distanceToPipeCenterY(closestPipeFormation);
-        } else {
-            distX = distanceToPipeFormationX(pipes.get(1));
-            distY = distanceToPipeCenterY(pipes.get(1));
-        }
+        int distX = distanceToPipeFormationX(closestPipeFormation);
+        int distY = distanceToPipeCenterY(closestPipeFormation);
 
         double prediction = brain.predict(distX, distY);
         if(prediction > 0.5) {
@@ -222,31 +249,6 @@ public class Bird {
             brain.fitnessTotalDistance = totalTraveledDistance - distX;
     }
 
-    public Thread deathAnimationThread(int timeBetweenFramesMillis, GamePanel currentPanel) {
-        Thread thread = new Thread(() -> {
-            //game over falling animation
-            int gameOverFallingFrames = 25;
-            rotationAngle = 15;
-            isMovingUp = false;
-            while(getSpritePosY() < GROUND) {
-                isMovingUp = false;
-                rotationAngle++;
-                moveUpBy((int) -Math.ceil(((double) getBlockSizePx() / 3 * Math.tan((double) gameOverFallingFrames / 60))));
-                if (gameOverFallingFrames < 90)
-                    gameOverFallingFrames += 1;
-                framesSinceBirdStartedMoving = gameOverFallingFrames;
-                currentPanel.paintImmediately(LEFT, TOP, RIGHT - LEFT + currentPanel.birdsStatDisplayWidth, BOTTOM - TOP);
-                try {
-                    sleep(timeBetweenFramesMillis);
-                } catch (InterruptedException e) {
-                    throw new RuntimeException(e);
-                }
-            }
-        });
-        thread.setDaemon(true);
-        return thread;
-    }
-
     public int getSpriteXPos() {
         return spritePosX;
     }
@@ -286,4 +288,8 @@ public class Bird {
     public FlappyBirdPlayer getPlayer() {
         return player;
     }
+
+    public Board getBoard() {
+        return board;
+    }
 }
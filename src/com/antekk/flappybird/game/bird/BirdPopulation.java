@@ -0,0 +1,310 @@
+package com.antekk.flappybird.game.bird;
+
+import com.antekk.flappybird.game.ai.Brain;
+import com.antekk.flappybird.game.ai.Inference;
+import com.antekk.flappybird.game.ai.NeuralNetwork;
+import com.antekk.flappybird.game.ai.PopulationPredictor;
+import com.antekk.flappybird.game.pipes.PipeCourse;
+import com.antekk.flappybird.game.pipes.PipeFormation;
+import com.antekk.flappybird.game.world.Board;
+import com.antekk.flappybird.game.world.FlapTrajectory;
+import com.antekk.flappybird.game.world.World;
+
+import java.util.ArrayList;
+
+public class BirdPopulation {
+    private final ArrayList<Bird> birds;
+    private final Bird[] views;
+    private final Brain[] brains;
+    private final PopulationPredictor predictor;
+    private final int[] distXInput;
+    private final int[] distYInput;
+    private final double[] predictions;
+    private final boolean hasVariableTopologies;
+    private final int size;
+
+    private final int[] hitboxY;
+    private final int[] previousHitboxY;
+    private final int[] framesSinceFlap;
+    private final int[] rotationAngle;
+    private final long[] distance;
+    private final long[] fitness;
+    private final long[] score;
+    private final long[] deathTick;
+    private final long[] alive;
+    private final long[] movingUp;
+    private final long[] scoreAdded;
+
+    //indices of alive birds, compacted after every tick so that dead birds cost nothing
+    private final int[] aliveIndices;
+    private int aliveCount = 0;
+
+    private final int spriteX;
+    private final int spriteWidth;
+    private final int hitboxX;
+    private final int hitboxWidth;
+    private final int hitboxHeight;
+    private final int hitboxOffset;
+
+    //per-tick bounds of the current and next pipe, the horizontal part of every check is shared by all birds
+    private final int[] pipeTopEdge = new int[2];
+    private final int[] pipeBottomEdge = new int[2];
+    private final boolean[] overlapsBottomPipe = new boolean[2];
+    private final boolean[] overlapsTopPipe = new boolean[2];
+    private final boolean[] overlapsPipeSides = new boolean[2];
+    private final boolean[] isBetweenPipeHorizontally = new boolean[2];
+
+    public BirdPopulation(ArrayList<Bird> birds) {
+        this(birds, Inference.FLOAT);
+    }
+
+    public BirdPopulation(ArrayList<Bird> birds, Inference inference) {
+        this.birds = birds;
+        this.size = birds.size();
+        views = birds.toArray(new Bird[0]);
+        brains = new Brain[size];
+
+        hitboxY = new int[size];
+        previousHitboxY = new int[size];
+        framesSinceFlap = new int[size];
+        rotationAngle = new int[size];
+        distance = new long[size];
+        fitness = new long[size];
+        score = new long[size];
+        deathTick = new long[size];
+        alive = new long[(size + 63) >>> 6];
+        movingUp = new long[(size + 63) >>> 6];
+        scoreAdded = new long[(size + 63) >>> 6];
+        aliveIndices = new int[size];
+        distXInput = new int[size];
+        distYInput = new int[size];
+        predictions = new double[size];
+
+        for(int i = 0; i < size; i++) {
+            Bird bird = views[i];
+            brains[i] = bird.brain;
+            hitboxY[i] = bird.getHitboxPosY();
+            previousHitboxY[i] = bird.getHitboxPosY();
+            framesSinceFlap[i] = bird.framesSinceBirdStartedMoving;
+            rotationAngle[i] = bird.rotationAngle;
+            distance[i] = bird.totalTraveledDistance;
+            fitness[i] = bird.brain == null ? 0 : bird.brain.fitnessTotalDistance;
+            score[i] = bird.getPlayer().score;
+            set(movingUp, i, bird.isMovingUp);
+            set(scoreAdded, i, bird.getPlayer().wasScoreAddedAtPipe);
+            set(alive, i, bird.isAlive);
+            if(bird.isAlive)
+                aliveIndices[aliveCount++] = i;
+        }
+
+        predictor = inference.createPredictor(brains);
+        boolean variable = false;
+        for(Brain brain : brains)
+            variable |= brain != null && !(brain instanceof NeuralNetwork);
+        hasVariableTopologies = variable;
+
+        Bird first = size == 0 ? null : views[0];
+        spriteX = first == null ? 0 : first.getSpriteXPos();
+        spriteWidth = first == null ? 0 : first.getSpriteWidth();
+        hitboxX = first == null ? 0 : first.getHitboxPosX();
+        hitboxWidth = first == null ? 0 : first.getHitboxWidth();
+        hitboxHeight = first == null ? 0 : first.getHitboxHeight();
+        hitboxOffset = first == null ? 0 : first.getBoard().getBlockSizePx() / 2;
+    }
+
+    public void step(World world) {
+        if(aliveCount == 0)
+            return;
+
+        PipeCourse pipes = world.getPipes();
+        Board board = world.getBoard();
+        int xDistance = world.getXDistancePerFrame();
+        FlapTrajectory trajectory = world.getTrajectory();
+        int groundY = board.getGround();
+        int pipeCount = preparePipeBounds(pipes, board);
+
+        //every alive bird shares the same x position, so the target pipe and the x distance are shared too
+        PipeFormation target = pipes.getTarget();
+        int distX = target == null ? 0 : target.getX() - (hitboxX + hitboxWidth / 2);
+        int targetCenterY = target == null ? 0 : target.getCenterY();
+
+        for(int k = 0; k < aliveCount; k++) {
+            int i = aliveIndices[k];
+            int y = hitboxY[i];
+            int frames = framesSinceFlap[i];
+            boolean up = get(movingUp, i);
+            previousHitboxY[i] = y;
+
+            if(frames >= FlapTrajectory.RISE_FRAMES && up) {
+                up = false;
+                frames = 0;
+            }
+
+            if(!up) {
+                rotationAngle[i]++;
+                y -= trajectory.fall(frames);
+                if(frames < FlapTrajectory.RISE_FRAMES)
+                    frames += FlapTrajectory.FALL_FRAME_STEP;
+            }
+
+            if(up) {
+                rotationAngle[i] = 0;
+                y -= trajectory.rise(frames);
+                frames += FlapTrajectory.RISE_FRAME_STEP;
+            }
+
+            distance[i] += xDistance;
+            hitboxY[i] = y;
+            framesSinceFlap[i] = frames;
+            set(movingUp, i, up);
+
+            distXInput[k] = distX;
+            distYInput[k] = (y + hitboxHeight / 2) - targetCenterY;
+        }
+
+        //the whole alive population is evaluated in one pass before any flap is applied
+        if(target != null)
+            predictor.predict(aliveIndices, aliveCount, distXInput, distYInput, predictions);
+        if(target != null && hasVariableTopologies)
+            predictVariableTopologies();
+
+        int kept = 0;
+        for(int k = 0; k < aliveCount; k++) {
+            int i = aliveIndices[k];
+            int y = hitboxY[i];
+
+            if(brains[i] != null && target != null) {
+                if(predictions[k] > 0.5) {
+                    framesSinceFlap[i] = 0;
+                    set(movingUp, i, true);
+                }
+                fitness[i] = distance[i] - distX;
+            }
+
+            if(y - hitboxOffset >= groundY || collidesWithPipes(y, pipeCount)) {
+                set(alive, i, false);
+                deathTick[i] = world.getTicks();
+                syncView(i, world);
+                continue;
+            }
+
+            boolean isBetween = isBetweenPipes(y, pipeCount);
+            if(isBetween && !get(scoreAdded, i))
+                score[i]++;
+            set(scoreAdded, i, isBetween);
+
+            aliveIndices[kept++] = i;
+        }
+        aliveCount = kept;
+    }
+
+    //evolved topologies run their own compiled networks, the batch only covers the fixed layout
+    private void predictVariableTopologies() {
+        for(int k = 0; k < aliveCount; k++) {
+            Brain brain = brains[aliveIndices[k]];
+            if(brain != null && !(brain instanceof NeuralNetwork))
+                predictions[k] = brain.predict(distXInput[k], distYInput[k]);
+        }
+    }
+
+    private int preparePipeBounds(PipeCourse pipes, Board board) {
+        int pipeCount = 0;
+        if(pipes.getCurrent() != null)
+            preparePipeBounds(pipeCount++, pipes.getCurrent(), board);
+        if(pipes.getNext() != null)
+            preparePipeBounds(pipeCount++, pipes.getNext(), board);
+        return pipeCount;
+    }
+
+    private void preparePipeBounds(int p, PipeFormation pipe, Board board) {
+        int topX = pipe.getTopPipe().getX();
+        int bottomX = pipe.getBottomPipe().getX();
+        pipeTopEdge[p] = pipe.getGapTopY();
+        pipeBottomEdge[p] = pipe.getGapBottomY();
+
+        overlapsBottomPipe[p] = hitboxX + hitboxWidth >= bottomX && hitboxX <= bottomX + pipe.getBottomPipe().getWidth();
+        overlapsTopPipe[p] = hitboxX >= topX && hitboxX <= topX + pipe.getTopPipe().getWidth();
+        overlapsPipeSides[p] = hitboxX + hitboxWidth >= topX && hitboxX <= topX + board.getBlockSizePx();
+        isBetweenPipeHorizontally[p] = hitboxX + hitboxWidth >= pipe.getX() && hitboxX <= pipe.getX() + pipe.getWidth();
+    }
+
+    private boolean collidesWithPipes(int y, int pipeCount) {
+        for(int p = 0; p < pipeCount; p++) {
+            if(overlapsBottomPipe[p] && y + hitboxHeight >= pipeBottomEdge[p])
+                return true;
+            if(overlapsTopPipe[p] && y <= pipeTopEdge[p])
+                return true;
+            if(overlapsPipeSides[p] && (y <= pipeTopEdge[p] || y >= pipeBottomEdge[p]))
+                return true;
+        }
+        return false;
+    }
+
+    private boolean isBetweenPipes(int y, int pipeCount) {
+        for(int p = 0; p < pipeCount; p++) {
+            if(isBetweenPipeHorizontally[p] && y >= pipeTopEdge[p] && y + hitboxHeight <= pipeBottomEdge[p])
+                return true;
+        }
+        return false;
+    }
+
+    public void syncViews(World world) {
+        for(int i = 0; i < size; i++)
+            syncView(i, world);
+    }
+
+    private void syncView(int i, World world) {
+        Bird bird = views[i];
+        boolean isAlive = get(alive, i);
+        int x = spriteX;
+        int previousX = spriteX;
+
+        //dead birds drift to the left with the pipes until they leave the board, same as the Bird based path
+        if(!isAlive) {
+            int xDistance = world.getXDistancePerFrame();
+            long maxDriftTicks = xDistance == 0 ? 0 : (spriteX - (world.getBoard().getLeft() - spriteWidth)) / xDistance + 1;
+            long driftTicks = Math.min(Math.max(world.getTicks() - deathTick[i] - 1, 0), maxDriftTicks);
+            x = (int) (spriteX - driftTicks * xDistance);
+            previousX = driftTicks == 0 ? x : x + xDistance;
+        }
+
+        bird.loadSimulationState(x, previousX, hitboxY[i], isAlive ? previousHitboxY[i] : hitboxY[i], get(movingUp, i),
+                framesSinceFlap[i], rotationAngle[i], isAlive, distance[i]);
+        bird.getPlayer().score = score[i];
+        bird.getPlayer().wasScoreAddedAtPipe = get(scoreAdded, i);
+        if(brains[i] != null)
+            brains[i].fitnessTotalDistance = fitness[i];
+    }
+
+    public Bird getBird(int index, World world) {
+        syncView(index, world);
+        return views[index];
+    }
+
+    public ArrayList<Bird> getBirds() {
+        return birds;
+    }
+
+    public boolean isAlive(int index) {
+        return get(alive, index);
+    }
+
+    public int getAliveCount() {
+        return aliveCount;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static boolean get(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static void set(long[] bits, int index, boolean value) {
+        if(value)
+            bits[index >>> 6] |= 1L << index;
+        else
+            bits[index >>> 6] &= ~(1L << index);
+    }
+}
@@ -3,6 +3,7 @@ package com.antekk.flappybird.game.bird.gamemodes;
 import com.antekk.flappybird.game.bird.Bird;
 import com.antekk.flappybird.game.pipes.PipeFormation;
 import com.antekk.flappybird.game.player.FlappyBirdPlayer;
+import com.antekk.flappybird.game.world.Board;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -14,7 +15,7 @@ public interface GameMode {
     boolean isBetweenPipes(PipeFormation pipeFormation);
     boolean areAllBirdsDead();
     Iterator<Bird> iterator();
-    void init();
+    void init(Board board);
     boolean usesMachineLearning();
     int size();
     Bird getBirdAt(int index);
@@ -29,7 +30,10 @@ public interface GameMode {
         return switch (s) {
             case "Player mode" -> new PlayerMode();
             case "Training mode" -> new MlTrainingMode();
+            case "Island training mode" -> new MlIslandTrainingMode();
+            case "NEAT training mode" -> new MlNeatTrainingMode();
             case "Pretrained mode" -> new MlPretrainedMode();
+            case "Ensemble mode" -> new MlEnsembleMode();
             default -> throw new IllegalStateException("Unexpected value: " + s);
         };
     }
@@ -38,10 +42,18 @@ public interface GameMode {
         return new ArrayList<>(Arrays.asList(
                 new PlayerMode(),
                 new MlTrainingMode(),
-                new MlPretrainedMode()
+                new MlIslandTrainingMode(),
+                new MlNeatTrainingMode(),
+                new MlPretrainedMode(),
+                new MlEnsembleMode()
         ));
     }
 
+    //hooks for modes that do work outside the game loop
+    default void start() {}
+    default void stop() {}
+    default void setPaused(boolean paused) {}
+
     default boolean isPlayerMode() {
         return this instanceof PlayerMode;
     }
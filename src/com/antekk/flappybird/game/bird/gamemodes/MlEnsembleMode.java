@@ -0,0 +1,35 @@
+package com.antekk.flappybird.game.bird.gamemodes;
+
+import com.antekk.flappybird.game.ai.Brain;
+import com.antekk.flappybird.game.ai.EnsembleNetwork;
+import com.antekk.flappybird.game.world.Board;
+
+import java.util.List;
+
+//pretrained mode with several networks voting on every flap
+public class MlEnsembleMode extends MlPretrainedMode {
+    private EnsembleNetwork ensemble;
+
+    @Override
+    public void init(Board board) {
+        if(ensemble != null)
+            ensemble.resetStats();
+        super.init(board);
+    }
+
+    public void setMembers(List<Brain> members, EnsembleNetwork.Vote vote) {
+        if(members.isEmpty())
+            return;
+        ensemble = new EnsembleNetwork(members, vote);
+        setBirdsNeuralNetwork(ensemble);
+    }
+
+    public EnsembleNetwork getEnsemble() {
+        return ensemble;
+    }
+
+    @Override
+    public String toString() {
+        return "Ensemble mode";
+    }
+}
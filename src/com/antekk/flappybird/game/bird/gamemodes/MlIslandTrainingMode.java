@@ -0,0 +1,95 @@
+package com.antekk.flappybird.game.bird.gamemodes;
+
+import com.antekk.flappybird.game.ConfigJSON;
+import com.antekk.flappybird.game.ai.Brain;
+import com.antekk.flappybird.game.bird.Bird;
+import com.antekk.flappybird.game.pipes.PipeFormation;
+import com.antekk.flappybird.game.training.Island;
+import com.antekk.flappybird.game.training.IslandSettings;
+import com.antekk.flappybird.game.training.TrainingSettings;
+import com.antekk.flappybird.game.world.Board;
+
+import java.util.ArrayList;
+
+//islands evolve headless on their own threads, the board only replays the current champion of every island
+public class MlIslandTrainingMode extends MlTrainingMode {
+    private final IslandSettings fixedIslandSettings;
+    private Island[] islands = new Island[0];
+
+    public MlIslandTrainingMode() {
+        this(null, null);
+    }
+
+    public MlIslandTrainingMode(TrainingSettings settings, IslandSettings islandSettings) {
+        super(settings);
+        this.fixedIslandSettings = islandSettings;
+    }
+
+    @Override
+    public void init(Board board) {
+        stop();
+        super.init(board);
+
+        IslandSettings islandSettings = fixedIslandSettings != null ? fixedIslandSettings : ConfigJSON.getIslandSettings();
+        islands = new Island[islandSettings.getIslandCount()];
+        for(int i = 0; i < islands.length; i++) {
+            islands[i] = new Island(i, getSettings(), islandSettings.getMigrationInterval(), islandSettings.getMigrantCount(),
+                    ConfigJSON.getGenerationLimits(), ConfigJSON.getInference());
+            islands[i].init(board);
+        }
+        //ring topology, every island only ever sends migrants to the next one
+        for(int i = 0; i < islands.length; i++)
+            islands[i].setNeighbour(islands[(i + 1) % islands.length]);
+    }
+
+    @Override
+    public void start() {
+        for(Island island : islands)
+            island.start(PipeFormation.futureGap);
+    }
+
+    @Override
+    public void stop() {
+        for(Island island : islands)
+            island.stop();
+    }
+
+    @Override
+    public void setPaused(boolean paused) {
+        for(Island island : islands)
+            island.setPaused(paused);
+    }
+
+    //until the first island finishes a generation the board keeps breeding its own population
+    @Override
+    public void newPopulation() {
+        ArrayList<Bird> champions = new ArrayList<>();
+        for(Island island : islands) {
+            Brain champion = island.getChampion();
+            if(champion != null)
+                champions.add(new Bird(getBoard(), champion.clone()));
+        }
+
+        if(champions.isEmpty())
+            super.newPopulation();
+        else
+            replacePopulation(champions);
+    }
+
+    @Override
+    public int getGenerationNumber() {
+        long generation = 0;
+        for(Island island : islands)
+            generation = Math.max(generation, island.getGenerations());
+        return (int) generation + 1;
+    }
+
+    public Island[] getIslands() {
+        return islands;
+    }
+
+    @Override
+    public String toString() {
+        return "Island training mode";
+    }
+}
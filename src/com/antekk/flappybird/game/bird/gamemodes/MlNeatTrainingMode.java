@@ -0,0 +1,65 @@
+package com.antekk.flappybird.game.bird.gamemodes;
+
+import com.antekk.flappybird.game.RandomSource;
+import com.antekk.flappybird.game.ai.Brain;
+import com.antekk.flappybird.game.ai.Genome;
+import com.antekk.flappybird.game.ai.NeatEvolution;
+import com.antekk.flappybird.game.ai.NeatNetwork;
+import com.antekk.flappybird.game.bird.Bird;
+import com.antekk.flappybird.game.training.TrainingSettings;
+import com.antekk.flappybird.game.world.Board;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+//evolves the topology too, every bird starts as inputs wired straight to the output
+public class MlNeatTrainingMode extends MlTrainingMode {
+    private NeatEvolution evolution = new NeatEvolution();
+
+    public MlNeatTrainingMode() {
+        super();
+    }
+
+    public MlNeatTrainingMode(TrainingSettings settings) {
+        super(settings);
+    }
+
+    @Override
+    public void init(Board board) {
+        evolution = new NeatEvolution();
+        super.init(board);
+    }
+
+    @Override
+    protected Brain createInitialNetwork(SplittableRandom random) {
+        return new NeatNetwork(evolution.createInitialGenome(random));
+    }
+
+    //elite count and parent selection don't apply here, NEAT keeps species champions and breeds inside species
+    @Override
+    public void newPopulation() {
+        ArrayList<Bird> birds = getBirds();
+        Genome[] genomes = new Genome[birds.size()];
+        long[] fitness = new long[birds.size()];
+        for(int i = 0; i < genomes.length; i++) {
+            genomes[i] = ((NeatNetwork) birds.get(i).brain).getGenome();
+            fitness[i] = birds.get(i).getFitness();
+        }
+
+        Genome[] children = evolution.reproduce(genomes, fitness, getSettings().getPopulationSize(),
+                RandomSource.stream(RandomSource.BREEDING_STREAM, getGenerationNumber()));
+        ArrayList<Bird> newPopulation = new ArrayList<>(children.length);
+        for(Genome child : children)
+            newPopulation.add(new Bird(getBoard(), new NeatNetwork(child)));
+        replacePopulation(newPopulation);
+    }
+
+    public int getSpeciesCount() {
+        return evolution.getSpeciesCount();
+    }
+
+    @Override
+    public String toString() {
+        return "NEAT training mode";
+    }
+}
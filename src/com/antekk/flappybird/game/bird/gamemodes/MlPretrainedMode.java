@@ -1,9 +1,11 @@
 package com.antekk.flappybird.game.bird.gamemodes;
 
+import com.antekk.flappybird.game.ai.Brain;
 import com.antekk.flappybird.game.ai.NeuralNetwork;
 import com.antekk.flappybird.game.bird.Bird;
 import com.antekk.flappybird.game.pipes.PipeFormation;
 import com.antekk.flappybird.game.player.FlappyBirdPlayer;
+import com.antekk.flappybird.game.world.Board;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -12,7 +14,8 @@ import java.util.Iterator;
 public class MlPretrainedMode implements GameMode {
     private Bird pretrainedBird;
     private ArrayList<FlappyBirdPlayer> players = new ArrayList<>();
-    private NeuralNetwork birdsNeuralNetwork = new NeuralNetwork();
+    private Brain birdsNeuralNetwork = new NeuralNetwork();
+    private Board board;
 
     @Override
     public void resetPosition() {
@@ -56,12 +59,13 @@ public class MlPretrainedMode implements GameMode {
     }
 
     @Override
-    public void init() {
+    public void init(Board board) {
+        this.board = board;
         if(birdsNeuralNetwork == null) {
-            pretrainedBird = new Bird(new NeuralNetwork());
+            pretrainedBird = new Bird(board, new NeuralNetwork());
             return;
         }
-        pretrainedBird = new Bird(birdsNeuralNetwork);
+        pretrainedBird = new Bird(board, birdsNeuralNetwork);
     }
 
     @Override
@@ -106,8 +110,9 @@ public class MlPretrainedMode implements GameMode {
         return "Pretrained mode";
     }
 
-    public void setBirdsNeuralNetwork(NeuralNetwork birdsNeuralNetwork) {
+    public void setBirdsNeuralNetwork(Brain birdsNeuralNetwork) {
         this.birdsNeuralNetwork = birdsNeuralNetwork;
-        init();
+        if(board != null)
+            init(board);
     }
 }
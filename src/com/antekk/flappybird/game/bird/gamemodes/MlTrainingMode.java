@@ -1,19 +1,52 @@
 package com.antekk.flappybird.game.bird.gamemodes;
 
+import com.antekk.flappybird.game.ConfigJSON;
+import com.antekk.flappybird.game.RandomSource;
+import com.antekk.flappybird.game.ai.Brain;
 import com.antekk.flappybird.game.ai.NeuralNetwork;
-import com.antekk.flappybird.game.ai.Neuron;
 import com.antekk.flappybird.game.bird.Bird;
 import com.antekk.flappybird.game.pipes.PipeFormation;
 import com.antekk.flappybird.game.player.FlappyBirdPlayer;
-
+import com.antekk.flappybird.game.training.CrossoverOperator;
+import com.antekk.flappybird.game.training.EliteSelection;
+import com.antekk.flappybird.game.training.MutationOperator;
+import com.antekk.flappybird.game.training.ParentSelector;
+import com.antekk.flappybird.game.training.TrainingCheckpoint;
+import com.antekk.flappybird.game.training.TrainingSettings;
+import com.antekk.flappybird.game.world.Board;
+
+import java.io.*;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
 
 public class MlTrainingMode implements GameMode {
     private int generationNumber = 1;
-    protected int populationSize = 0;
+    private final TrainingSettings fixedSettings;
+    private final int island;
+    private TrainingSettings settings = TrainingSettings.getDefault();
+    private CrossoverOperator crossover = settings.createCrossover();
+    private MutationOperator mutation = settings.createMutation();
     private ArrayList<FlappyBirdPlayer> players = new ArrayList<>();
     private ArrayList<Bird> mlBirdsArray = new ArrayList<>();
+    private Board board;
+
+    public MlTrainingMode() {
+        this(null);
+    }
+
+    //settings given here win over the config file, for runs without the ui
+    public MlTrainingMode(TrainingSettings settings) {
+        this(settings, -1);
+    }
+
+    //islands breed from their own random streams, otherwise every island would evolve the same way
+    public MlTrainingMode(TrainingSettings settings, int island) {
+        this.fixedSettings = settings;
+        this.island = island;
+    }
 
     @Override
     public void resetPosition() {
@@ -48,13 +81,22 @@ public class MlTrainingMode implements GameMode {
     }
 
     @Override
-    public void init() {
-        this.populationSize = 10;
+    public void init(Board board) {
+        this.board = board;
+        this.settings = fixedSettings != null ? fixedSettings : ConfigJSON.getTrainingSettings();
+        crossover = settings.createCrossover();
+        mutation = settings.createMutation();
+        generationNumber = 1;
         mlBirdsArray = new ArrayList<>();
-        for(int i = 0; i < populationSize; i++) mlBirdsArray.add(new Bird(new NeuralNetwork()));
+        SplittableRandom random = stream(RandomSource.INITIAL_POPULATION_STREAM);
+        for(int i = 0; i < settings.getPopulationSize(); i++) mlBirdsArray.add(new Bird(board, createInitialNetwork(random)));
         initPlayers();
     }
 
+    protected Brain createInitialNetwork(SplittableRandom random) {
+        return new NeuralNetwork(random);
+    }
+
     @Override
     public boolean usesMachineLearning() {
         return true;
@@ -107,93 +149,123 @@ public class MlTrainingMode implements GameMode {
         for(Bird bird : mlBirdsArray) players.add(bird.getPlayer());
     }
 
-    private int birdsFitnessSortComparator(Bird b1, Bird b2) {
-        if(b1.getFitness() > b2.getFitness())
-            return -1;
-        else if(b1.getFitness() == b2.getFitness())
-            return 0;
-        else
-            return 1;
-    }
-
     public void newPopulation() {
-        ArrayList<Bird> newPopulation = new ArrayList<>();
-        mlBirdsArray.sort(this::birdsFitnessSortComparator);
-
-        ArrayList<Bird> top4 = get4FirstBirds();
-        for(Bird bird : top4) {
-            newPopulation.add(new Bird(bird.brain.clone()));
+        int size = settings.getPopulationSize();
+        ArrayList<Bird> parents = mlBirdsArray;
+        long[] fitness = new long[parents.size()];
+        long bestFitness = Long.MIN_VALUE;
+        for(int i = 0; i < fitness.length; i++) {
+            fitness[i] = parents.get(i).getFitness();
+            bestFitness = Math.max(bestFitness, fitness[i]);
         }
+        mutation.endGeneration(bestFitness);
+
+        int[] elites = EliteSelection.select(fitness, settings.getEliteCount());
+        ParentSelector selector = ParentSelector.of(settings.getSelection(), fitness);
+        Bird[] newPopulation = new Bird[size];
+
+        for(int i = 0; i < elites.length; i++)
+            newPopulation[i] = new Bird(board, parents.get(elites[i]).brain.clone());
+
+        //one fresh network per generation keeps some diversity in the gene pool
+        newPopulation[elites.length] = new Bird(board, new NeuralNetwork(
+                stream(RandomSource.BREEDING_STREAM, generationNumber, elites.length)));
+
+        //every child draws from its own stream, so the result doesn't depend on how the range is split between threads
+        int generation = generationNumber;
+        IntStream children = IntStream.range(elites.length + 1, size);
+        if(size >= TrainingSettings.PARALLEL_BREEDING_THRESHOLD)
+            children = children.parallel();
+        children.forEach(i -> {
+            SplittableRandom random = stream(RandomSource.BREEDING_STREAM, generation, i);
+            int parent1 = selector.select(random);
+            int parent2 = selector.select(random);
+            while(parent1 == parent2)
+                parent2 = selector.select(random);
+
+            NeuralNetwork child = crossover.cross(fixedNetwork(parents.get(parent1)), fixedNetwork(parents.get(parent2)), random);
+            mutation.mutate(child, random);
+            newPopulation[i] = new Bird(board, child);
+        });
+
+        replacePopulation(new ArrayList<>(Arrays.asList(newPopulation)));
+    }
 
-        newPopulation.add(new Bird(new NeuralNetwork()));
-
-        newPopulation.add(new Bird(top4.get((int) (Math.random() * 4)).brain.clone()));
+    protected void replacePopulation(ArrayList<Bird> birds) {
+        mlBirdsArray = birds;
+        initPlayers();
 
-        newPopulation.add(createOffSpring(top4.get(0), top4.get(1)));
+        generationNumber++;
+    }
 
-        for (int i = 0; i < 3; i++) {
-            int rand1 = (int)(Math.random() * 4);
-            int rand2 = (int)(Math.random() * 4);
+    public void replaceBirdAt(int index, Brain brain) {
+        Bird bird = new Bird(board, brain);
+        mlBirdsArray.set(index, bird);
+        players.set(index, bird.getPlayer());
+    }
 
-            while(rand1 == rand2)
-                rand2 = (int)(Math.random() * 4);
+    //only the plain fixed-topology population can be checkpointed
+    public boolean supportsCheckpoints() {
+        return getClass() == MlTrainingMode.class;
+    }
 
-            Bird parent1 = top4.get(rand1);
-            Bird parent2 = top4.get(rand2);
-            newPopulation.add(createOffSpring(parent1, parent2));
+    public TrainingCheckpoint createCheckpoint(long coursesPlayed) {
+        long[] fitness = new long[mlBirdsArray.size()];
+        float[][] parameters = new float[mlBirdsArray.size()][];
+        for(int i = 0; i < fitness.length; i++) {
+            fitness[i] = mlBirdsArray.get(i).getFitness();
+            parameters[i] = fixedNetwork(mlBirdsArray.get(i)).getParameters().clone();
         }
 
-        for(int i = 5; i < newPopulation.size(); i++) {
-            NeuralNetwork network = newPopulation.get(i).brain;
-            network.performSwapMutation(0.6f);
+        ByteArrayOutputStream mutationState = new ByteArrayOutputStream();
+        try {
+            mutation.writeState(new DataOutputStream(mutationState));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+        return new TrainingCheckpoint(RandomSource.getRunSeed(), generationNumber, coursesPlayed, settings,
+                mutationState.toByteArray(), fitness, parameters);
+    }
 
-        mlBirdsArray.clear();
-        mlBirdsArray = newPopulation;
-
-        for(Bird bird : mlBirdsArray)
-            bird.resetPosition();
-
+    //puts back the evaluated generation of a checkpoint, breeding it continues the run where it stopped
+    public void restoreCheckpoint(TrainingCheckpoint checkpoint) throws IOException {
+        mutation.readState(new DataInputStream(new ByteArrayInputStream(checkpoint.getMutationState())));
+        ArrayList<Bird> birds = new ArrayList<>();
+        for(int i = 0; i < checkpoint.getParameters().length; i++) {
+            Bird bird = new Bird(board, NeuralNetwork.fromParameters(checkpoint.getParameters()[i]));
+            bird.brain.fitnessTotalDistance = checkpoint.getFitness()[i];
+            birds.add(bird);
+        }
+        mlBirdsArray = birds;
         initPlayers();
-
-        generationNumber++;
+        generationNumber = checkpoint.getGeneration();
     }
 
-    private Bird createOffSpring(Bird p1, Bird p2) {
-        if(p1.brain.size() != p2.brain.size())
-            throw new IllegalArgumentException("parent1 and parent2 neural network sizes are not equal");
-
-        NeuralNetwork parent1 = p1.brain.clone();
-        NeuralNetwork parent2 = p2.brain.clone();
-
+    //this mode only breeds and checkpoints fixed topology networks, NEAT training breeds its own and isn't checkpointed
+    private static NeuralNetwork fixedNetwork(Bird bird) {
+        return (NeuralNetwork) bird.brain;
+    }
 
-        int size = parent1.size();
-        int cutPoint = (int) (Math.random() * (size - 1));
-        for(int i = 0; i < size; i++) {
-            if(i <= cutPoint)
-                continue;
-            Neuron parent1Neuron = parent1.getNeuronAt(i);
-            Neuron parent2Neuron = parent2.getNeuronAt(i);
+    private SplittableRandom stream(long... keys) {
+        if(island < 0)
+            return RandomSource.stream(keys);
 
-            float bias1 = parent1Neuron.bias;
-            parent1Neuron.bias = parent2Neuron.bias;
-            parent2Neuron.bias = bias1;
-        }
+        long[] islandKeys = new long[keys.length + 2];
+        islandKeys[0] = RandomSource.ISLAND_STREAM;
+        islandKeys[1] = island;
+        System.arraycopy(keys, 0, islandKeys, 2, keys.length);
+        return RandomSource.stream(islandKeys);
+    }
 
-        return (int) (Math.random() * 2) == 1 ? new Bird(parent1) : new Bird(parent2);
+    public int getGenerationNumber() {
+        return generationNumber;
     }
 
-    private ArrayList<Bird> get4FirstBirds() {
-        ArrayList<Bird> arr = new ArrayList<>();
-        for(int i = 0; i < 4; i++) {
-            Bird top4Bird = mlBirdsArray.get(i);
-            top4Bird.resetPosition();
-            arr.add(top4Bird);
-        }
-        return arr;
+    public TrainingSettings getSettings() {
+        return settings;
     }
 
-    public int getGenerationNumber() {
-        return generationNumber;
+    protected Board getBoard() {
+        return board;
     }
 }
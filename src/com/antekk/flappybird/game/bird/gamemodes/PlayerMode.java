@@ -3,6 +3,7 @@ package com.antekk.flappybird.game.bird.gamemodes;
 import com.antekk.flappybird.game.bird.Bird;
 import com.antekk.flappybird.game.pipes.PipeFormation;
 import com.antekk.flappybird.game.player.FlappyBirdPlayer;
+import com.antekk.flappybird.game.world.Board;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -54,8 +55,8 @@ public class PlayerMode implements GameMode {
     }
 
     @Override
-    public void init() {
-        playerControlledBird = new Bird();
+    public void init(Board board) {
+        playerControlledBird = new Bird(board);
     }
 
     @Override
@@ -43,6 +43,10 @@ public class GameKeybinds extends MouseAdapter {
         new GameKeybind("PAUSE_GAME_PRESSED", KeyEvent.VK_ESCAPE,
             () -> gameLoop.pauseAndUnpauseGame()
         ).bindKeyPressed();
+
+        new GameKeybind("TOGGLE_TURBO", KeyEvent.VK_T,
+            () -> gameLoop.toggleTurbo()
+        ).bindKeyPressed();
     }
 
     @Override
@@ -1,76 +1,146 @@
 package com.antekk.flappybird.game.loop;
 
 import com.antekk.flappybird.game.ConfigJSON;
-import com.antekk.flappybird.game.ai.NeuralNetwork;
+import com.antekk.flappybird.game.ai.Brain;
+import com.antekk.flappybird.game.ai.Inference;
 import com.antekk.flappybird.game.bird.Bird;
+import com.antekk.flappybird.game.bird.BirdPopulation;
 import com.antekk.flappybird.game.bird.gamemodes.GameMode;
 import com.antekk.flappybird.game.bird.gamemodes.MlTrainingMode;
+import com.antekk.flappybird.game.pipes.PipeCourse;
 import com.antekk.flappybird.game.pipes.PipeFormation;
 import com.antekk.flappybird.game.player.FlappyBirdPlayer;
+import com.antekk.flappybird.game.training.CachingEvaluator;
+import com.antekk.flappybird.game.training.CheckpointWriter;
+import com.antekk.flappybird.game.training.CourseSchedule;
+import com.antekk.flappybird.game.training.EvaluationSettings;
+import com.antekk.flappybird.game.training.FitnessCache;
+import com.antekk.flappybird.game.training.GenerationLimits;
+import com.antekk.flappybird.game.training.GenerationMonitor;
+import com.antekk.flappybird.game.training.MultiCourseEvaluator;
+import com.antekk.flappybird.game.training.ParallelEvaluator;
+import com.antekk.flappybird.game.training.PopulationEvaluator;
+import com.antekk.flappybird.game.training.RemoteEvaluator;
+import com.antekk.flappybird.game.training.TrainingCheckpoint;
+import com.antekk.flappybird.game.world.Board;
+import com.antekk.flappybird.game.world.World;
 import com.antekk.flappybird.view.ErrorDialog;
 import com.antekk.flappybird.view.GamePanel;
 
 import javax.swing.*;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.concurrent.locks.LockSupport;
 
-import static com.antekk.flappybird.view.GamePanel.getBlockSizePx;
 import static com.antekk.flappybird.view.GamePanel.*;
 
 public class GameLoop extends Thread {
     private final GamePanel parentPanel;
+    private final World world;
     private GameState gameState;
-    private final ArrayList<PipeFormation> pipes = new ArrayList<>();
-    private int framesSincePipeSpawned = 0;
     private int framesSinceIdleSpriteChanged = 0;
     private GameMode gameMode;
 
     private final int FPS = 60;
     private final int timeBetweenFramesMillis = 1000 / FPS;
-    private final int X_DISTANCE_PER_FRAME = (int) (0.067 * getBlockSizePx());
-    private final int MAX_FRAMES_SINCE_PIPE_SPAWN = 90;
-    private final float MOVEMENT_SINE_MULTIPLIER = (float) getBlockSizePx() / 6;
+    private static final long TICK_NANOS = 1_000_000_000L / World.TICKS_PER_SECOND;
+    private static final long MIN_FRAME_NANOS = 1_000_000_000L / 240;
+    private static final int MAX_TICKS_PER_FRAME = 5;
+    //share of a frame turbo mode may spend simulating, the rest is left for painting and input
+    private static final long TURBO_TICK_BUDGET_NANOS = TICK_NANOS * 3 / 4;
+    private static final long TURBO_HIDDEN_REPAINT_NANOS = 500_000_000L;
+
+    private volatile float renderAlpha = 1f;
+    private long totalTicks = 0;
+    private long lateTicks = 0;
+    private long droppedTicks = 0;
+    private long overrunFrames = 0;
+    private boolean discardTickBacklog = false;
+    private volatile long ticksPerSecond = 0;
+    private long ticksPerSecondWindowStart = System.nanoTime();
+    private long ticksPerSecondWindowTicks = 0;
+
+    private volatile boolean turbo = false;
+    private int turboRenderInterval = 1;
+    private volatile int turboTicksPerFrame = 1;
+    private long lastTurboRepaint = 0;
+
+    private boolean parallelEvaluation = false;
+    private final FitnessCache fitnessCache = new FitnessCache();
+    private PopulationEvaluator parallelEvaluator = createParallelEvaluator(EvaluationSettings.getDefault(), GenerationLimits.getDefault());
+    private GenerationLimits generationLimits = GenerationLimits.getDefault();
+    private GenerationMonitor generationMonitor = new GenerationMonitor(generationLimits);
+    private Inference inference = Inference.FLOAT;
+    //how the last generation ended if it didn't end with every bird dead, null otherwise
+    private GenerationLimits.Reason lastGenerationLimit = null;
+    private long cappedGenerations = 0;
+    private RemoteEvaluator remoteEvaluator = null;
+    private final CourseSchedule courses = new CourseSchedule();
+    private int checkpointInterval = 0;
+    private final CheckpointWriter checkpointWriter = new CheckpointWriter(TrainingCheckpoint.DEFAULT_FILE);
 
     private void gameLoop() throws InterruptedException {
-        pipes.add(new PipeFormation());
-        while (gameState != GameState.LOST) {
-            Thread.sleep(timeBetweenFramesMillis); //this sucks, but uses less cpu than time ms tracking
-
-            groundX -= X_DISTANCE_PER_FRAME;
+        resetWorld();
+        long previousTime = System.nanoTime();
+        long accumulator = 0;
 
-            if(gameState == GameState.ENDED) {
-                return;
-            }
+        while (gameState != GameState.LOST) {
+            long frameStart = System.nanoTime();
+            updateTicksPerSecond(frameStart);
 
-            if(gameState == GameState.PAUSED) {
+            if(isTurboActive()) {
+                turboFrame(frameStart);
+                if(gameState == GameState.ENDED) {
+                    return;
+                }
+                //leave turbo without a burst of catch-up ticks
+                accumulator = 0;
+                previousTime = System.nanoTime();
                 continue;
             }
 
-            if (gameState == GameState.STARTING) {
-                gameStartingLogic();
-                continue;
-            }
+            accumulator += frameStart - previousTime;
+            previousTime = frameStart;
+
+            int ticksThisFrame = 0;
+            while (accumulator >= TICK_NANOS && gameState != GameState.LOST) {
+                if(ticksThisFrame == MAX_TICKS_PER_FRAME) {
+                    //the box can't keep up - drop the backlog instead of spiralling further behind
+                    droppedTicks += accumulator / TICK_NANOS;
+                    overrunFrames++;
+                    accumulator %= TICK_NANOS;
+                    break;
+                }
 
-            if(gameState == GameState.NEXT_GENERATION) {
-                ((MlTrainingMode) gameMode).newPopulation();
-                pipes.clear();
-                framesSincePipeSpawned = 0;
-                pipes.add(new PipeFormation());
-                gameState = GameState.RUNNING;
-                continue;
+                tick();
+                if(gameState == GameState.ENDED) {
+                    return;
+                }
+                accumulator -= TICK_NANOS;
+                ticksThisFrame++;
+                totalTicks++;
+
+                if(discardTickBacklog) {
+                    //a headless generation blocked this thread, that's not the box falling behind
+                    discardTickBacklog = false;
+                    accumulator = 0;
+                    previousTime = System.nanoTime();
+                }
             }
+            if(ticksThisFrame > 1)
+                lateTicks += ticksThisFrame - 1;
 
-            pipeLogic();
-
-            for(Bird bird : gameMode.getBirds()) {
-                birdLogic(bird);
-                birdDeathLogic(bird);
+            renderAlpha = (float) accumulator / TICK_NANOS;
+            if(gameState == GameState.RUNNING || gameState == GameState.LOST) {
+                world.syncBirdViews();
+                parentPanel.paintImmediately(LEFT, TOP, RIGHT - LEFT + parentPanel.birdsStatDisplayWidth, BOTTOM - TOP);
             }
 
-            scoreLogic();
-
-            gameState = updateGameState();
-            parentPanel.paintImmediately(LEFT, TOP, RIGHT - LEFT + parentPanel.birdsStatDisplayWidth, BOTTOM - TOP);
+            long untilNextFrame = Math.min(MIN_FRAME_NANOS, TICK_NANOS - accumulator) - (System.nanoTime() - frameStart);
+            if(untilNextFrame > 0)
+                LockSupport.parkNanos(untilNextFrame);
+            if(Thread.interrupted())
+                throw new InterruptedException();
         }
 
         if(!ConfigJSON.showNewBestDialog())
@@ -87,89 +157,207 @@ public class GameLoop extends Thread {
             FlappyBirdPlayer.getStatsFile().addPlayer(getBestPlayer());
     }
 
-    private void birdDeathLogic(Bird bird) {
-        //bird collided with the ground
-        if (bird.getSpritePosY() >= GROUND) {
-            bird.isAlive = false;
-        }
+    private boolean isTurboActive() {
+        return turbo && gameMode.isTrainingMode() &&
+                (gameState == GameState.RUNNING || gameState == GameState.NEXT_GENERATION);
+    }
 
-        //collision with pipes
-        //can compare with only [0] and [1] here, prob should look into it later
-        for (PipeFormation pipeFormation : pipes) {
-            if (bird.collidesWithPipeFormation(pipeFormation)) {
-                bird.isAlive = false;
+    //runs as many ticks as fit in the frame budget, then paints only the latest state
+    private void turboFrame(long frameStart) throws InterruptedException {
+        long deadline = frameStart + TURBO_TICK_BUDGET_NANOS;
+        int ticksThisFrame = 0;
+        while(ticksThisFrame < turboTicksPerFrame && isTurboActive()) {
+            tick();
+            if(gameState == GameState.ENDED) {
+                return;
             }
+            ticksThisFrame++;
+            totalTicks++;
+
+            //hard stop so a slow stretch (e.g. a parallel generation) can't freeze the ui
+            if(System.nanoTime() > deadline)
+                break;
+        }
+        discardTickBacklog = false;
+
+        long elapsed = System.nanoTime() - frameStart;
+        if(elapsed > TURBO_TICK_BUDGET_NANOS)
+            turboTicksPerFrame = Math.max(1, turboTicksPerFrame * 3 / 4);
+        else if(ticksThisFrame == turboTicksPerFrame && elapsed < TURBO_TICK_BUDGET_NANOS * 3 / 4)
+            turboTicksPerFrame += Math.max(1, turboTicksPerFrame / 8);
+
+        renderAlpha = 1f;
+        long now = System.nanoTime();
+        boolean hiddenGeneration = turboRenderInterval > 1 && getGenerationNumber() % turboRenderInterval != 0;
+        if(!hiddenGeneration || now - lastTurboRepaint >= TURBO_HIDDEN_REPAINT_NANOS) {
+            lastTurboRepaint = now;
+            world.syncBirdViews();
+            parentPanel.paintImmediately(LEFT, TOP, RIGHT - LEFT + parentPanel.birdsStatDisplayWidth, BOTTOM - TOP);
         }
-        if(bird.isAlive || bird.getSpritePosY() >= GROUND || bird.getSpritePosY() < TOP) return;
 
-        if(gameMode.isTrainingMode()) return;
+        long untilNextFrame = TICK_NANOS - (System.nanoTime() - frameStart);
+        if(untilNextFrame > 0)
+            LockSupport.parkNanos(untilNextFrame);
+        if(Thread.interrupted())
+            throw new InterruptedException();
+    }
 
-        bird.deathAnimationThread(timeBetweenFramesMillis, parentPanel).start();
+    private void updateTicksPerSecond(long now) {
+        long window = now - ticksPerSecondWindowStart;
+        if(window < 1_000_000_000L)
+            return;
+        ticksPerSecond = (totalTicks - ticksPerSecondWindowTicks) * 1_000_000_000L / window;
+        ticksPerSecondWindowStart = now;
+        ticksPerSecondWindowTicks = totalTicks;
     }
 
-    private void scoreLogic() {
-        for(Bird bird : gameMode.getBirds()) {
-            for (PipeFormation pipeFormation : pipes) {
-                FlappyBirdPlayer player = bird.getPlayer();
-                if (bird.isAlive && !player.wasScoreAddedAtPipe && bird.isBetweenPipes(pipeFormation)) {
-                    player.addScore();
-                    player.wasScoreAddedAtPipe = true;
-                }
-            }
-        }
+    private void tick() {
+        groundX -= world.getXDistancePerFrame();
+        if(groundX <= LEFT - 9 * world.getBoard().getBlockSizePx())
+            groundX += 9 * world.getBoard().getBlockSizePx();
 
-        for (Bird bird : gameMode.getBirds()) {
-            boolean isBetweenAll = false;
-            for (PipeFormation pipeFormation : pipes) {
-                if (bird.isBetweenPipes(pipeFormation))
-                    isBetweenAll = true;
-            }
-            bird.getPlayer().wasScoreAddedAtPipe = isBetweenAll;
+        if(gameState == GameState.ENDED || gameState == GameState.PAUSED) {
+            return;
         }
-    }
 
-    private void pipeLogic() {
-        if(framesSincePipeSpawned >= MAX_FRAMES_SINCE_PIPE_SPAWN) {
-            pipes.add(new PipeFormation());
-            framesSincePipeSpawned = 0;
+        if (gameState == GameState.STARTING) {
+            gameStartingLogic();
+            return;
         }
 
-        for(Iterator<PipeFormation> it = pipes.iterator(); it.hasNext();) {
-            PipeFormation pipe = it.next();
-            pipe.moveX(-X_DISTANCE_PER_FRAME);
-            if(pipe.getX() + getBlockSizePx() < LEFT) {
-                it.remove();
-            }
+        if(gameState == GameState.NEXT_GENERATION) {
+            MlTrainingMode trainingMode = (MlTrainingMode) gameMode;
+            saveCheckpointIfDue(trainingMode);
+            trainingMode.newPopulation();
+            resetWorld(courses.next());
+            gameState = GameState.RUNNING;
+            return;
         }
-        framesSincePipeSpawned++;
-    }
 
-    private void birdLogic(Bird bird) {
-        if(!bird.isAlive && bird.getSpriteXPos() >= LEFT - bird.getSpriteWidth()) {
-            bird.moveHorizontallyBy(X_DISTANCE_PER_FRAME);
+        if(parallelEvaluation) {
+            evaluateGenerationInParallel();
             return;
         }
 
-        if (bird.framesSinceBirdStartedMoving >= 90 && bird.isMovingUp) {
-            bird.isMovingUp = false;
-            bird.framesSinceBirdStartedMoving = 0;
-        }
+        world.step();
 
-        if (!bird.isMovingUp) {
-            bird.rotationAngle++;
-            bird.moveUpBy((int) -Math.ceil((MOVEMENT_SINE_MULTIPLIER * Math.sin((double) bird.framesSinceBirdStartedMoving / FPS))));
-            if (bird.framesSinceBirdStartedMoving < 90)
-                bird.framesSinceBirdStartedMoving += 9;
-        }
+        gameState = updateGameState();
+    }
 
-        if (bird.isMovingUp) {
-            bird.rotationAngle = 0;
-            bird.moveUpBy((int) Math.floor(MOVEMENT_SINE_MULTIPLIER * Math.cos((double) bird.framesSinceBirdStartedMoving / FPS)));
-            bird.framesSinceBirdStartedMoving += 6;
+    private void evaluateGenerationInParallel() {
+        parallelEvaluator.evaluate(gameMode.getBirds(), world.getPipeGap(), courses.next());
+        boolean anySurvivor = false;
+        for(Bird bird : gameMode.getBirds())
+            anySurvivor |= bird.isAlive;
+        recordGenerationEnd(anySurvivor ? generationLimits.getTickCapReason(world.getXDistancePerFrame()) : null);
+        discardTickBacklog = true;
+        if(gameState != GameState.ENDED)
+            gameState = GameState.NEXT_GENERATION;
+    }
+
+    //every course of a multi course evaluation goes through the cache on its own
+    private PopulationEvaluator createParallelEvaluator(EvaluationSettings settings, GenerationLimits limits) {
+        PopulationEvaluator evaluator = remoteEvaluator != null ? remoteEvaluator : new ParallelEvaluator(limits, inference);
+        return new MultiCourseEvaluator(new CachingEvaluator(evaluator, fitnessCache, limits, inference), settings);
+    }
+
+    private void startRemoteWorkers(int workers) {
+        stopRemoteWorkers();
+        try {
+            remoteEvaluator = new RemoteEvaluator(world.getBoard(), generationLimits, inference,
+                    new ParallelEvaluator(generationLimits, inference));
+            remoteEvaluator.startLocalWorkers(workers);
+        } catch (IOException e) {
+            stopRemoteWorkers();
+            new ErrorDialog("Cannot start training worker processes, evaluating in this one instead", e);
         }
+    }
+
+    private void stopRemoteWorkers() {
+        if(remoteEvaluator != null)
+            remoteEvaluator.shutdown();
+        remoteEvaluator = null;
+    }
+
+    //survivors of a capped generation were all stopped at the same tick, so they share one comparable fitness
+    private void recordGenerationEnd(GenerationLimits.Reason limit) {
+        lastGenerationLimit = limit;
+        if(limit != null)
+            cappedGenerations++;
+    }
+
+    //the snapshot is taken here on the game thread, only the file write happens in the background
+    private void saveCheckpointIfDue(MlTrainingMode trainingMode) {
+        if(checkpointInterval <= 0 || !trainingMode.supportsCheckpoints() ||
+                trainingMode.getGenerationNumber() % checkpointInterval != 0)
+            return;
+        checkpointWriter.submit(trainingMode.createCheckpoint(courses.getCoursesPlayed()));
+    }
+
+    public void resumeTraining(TrainingCheckpoint checkpoint) throws IOException {
+        ConfigJSON.applyRunSeed(checkpoint.getRunSeed());
+        MlTrainingMode trainingMode = new MlTrainingMode(checkpoint.getSettings());
+        trainingMode.init(world.getBoard());
+        trainingMode.restoreCheckpoint(checkpoint);
+        trainingMode.newPopulation();
+
+        if(gameMode != null)
+            gameMode.stop();
+        gameMode = trainingMode;
+        courses.restart(checkpoint.getCoursesPlayed());
+        //only a preview, starting the game resets the world again and plays this course
+        resetWorld();
+        parentPanel.changeNewGameButtonMode(gameMode);
+    }
+
+    //shows the upcoming course without using it up
+    private void resetWorld() {
+        resetWorld(courses.peek());
+    }
+
+    private void resetWorld(long courseSeed) {
+        //training populations are stepped through the primitive array store, the rest as plain Bird objects
+        if(gameMode.isTrainingMode())
+            world.reset(new BirdPopulation(gameMode.getBirds(), inference), courseSeed);
+        else
+            world.reset(gameMode.getBirds(), courseSeed);
+        generationMonitor.reset(world);
+    }
+
+    private void birdDied(Bird bird) {
+        Board board = world.getBoard();
+        if(bird.getSpritePosY() >= board.getGround() || bird.getSpritePosY() < board.getTop()) return;
+
+        if(gameMode.isTrainingMode()) return;
 
-        bird.totalTraveledDistance += X_DISTANCE_PER_FRAME;
-        bird.performNextMlMove(pipes);
+        deathAnimationThread(bird).start();
+    }
+
+    private Thread deathAnimationThread(Bird bird) {
+        Board board = world.getBoard();
+        Thread thread = new Thread(() -> {
+            //game over falling animation
+            int gameOverFallingFrames = 25;
+            bird.rotationAngle = 15;
+            bird.isMovingUp = false;
+            while(bird.getSpritePosY() < board.getGround()) {
+                bird.savePreviousPosition();
+                bird.isMovingUp = false;
+                bird.rotationAngle++;
+                bird.moveUpBy((int) -Math.ceil(((double) board.getBlockSizePx() / 3 * Math.tan((double) gameOverFallingFrames / 60))));
+                if (gameOverFallingFrames < 90)
+                    gameOverFallingFrames += 1;
+                bird.framesSinceBirdStartedMoving = gameOverFallingFrames;
+                parentPanel.paintImmediately(LEFT, TOP, RIGHT - LEFT + parentPanel.birdsStatDisplayWidth, BOTTOM - TOP);
+                try {
+                    sleep(timeBetweenFramesMillis);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+        thread.setDaemon(true);
+        return thread;
     }
 
     private void gameStartingLogic() {
@@ -195,10 +383,19 @@ public class GameLoop extends Thread {
             return GameState.PAUSED;
         }
 
-        if(!gameMode.areAllBirdsDead())
-            return GameState.RUNNING;
+        if(!world.areAllBirdsDead()) {
+            GenerationLimits.Reason limit = gameMode.isTrainingMode() ? generationMonitor.check(world) : null;
+            if(limit == null)
+                return GameState.RUNNING;
+
+            //survivors only write their fitness back when they are drawn, turbo may have skipped that
+            world.syncBirdViews();
+            recordGenerationEnd(limit);
+            return GameState.NEXT_GENERATION;
+        }
 
         if(gameMode.isTrainingMode()) {
+            recordGenerationEnd(null);
             return GameState.NEXT_GENERATION;
         } else  {
             return GameState.LOST;
@@ -211,13 +408,17 @@ public class GameLoop extends Thread {
 
         if(gameState == GameState.PAUSED) {
             gameState = GameState.RUNNING;
+            generationMonitor.resume();
         } else {
             gameState = GameState.PAUSED;
         }
+        gameMode.setPaused(gameState == GameState.PAUSED);
     }
 
     public GameLoop(GamePanel panel) {
         this.parentPanel = panel;
+        this.world = new World(panel.getBoard(), PipeFormation.futureGap);
+        world.setBirdDeathListener(this::birdDied);
         setGameMode(ConfigJSON.getGameMode());
     }
 
@@ -239,11 +440,69 @@ public class GameLoop extends Thread {
         parentPanel.setSaveNetworkButtonEnabled(gameMode.isTrainingMode());
         for(FlappyBirdPlayer p : getPlayers())
             p.pipesVerticalGap = PipeFormation.futureGap;
-        PipeFormation.updatePipeGap();
+        world.setPipeGap(PipeFormation.futureGap);
+        generationLimits = ConfigJSON.getGenerationLimits();
+        generationMonitor = new GenerationMonitor(generationLimits);
+        inference = ConfigJSON.getInference();
+        lastGenerationLimit = null;
+        cappedGenerations = 0;
+        EvaluationSettings evaluationSettings = ConfigJSON.getEvaluationSettings();
+        courses.setFixedCourses(gameMode.isTrainingMode() && evaluationSettings.hasFixedCourses());
+        resetWorld(courses.next());
+        //several courses can't be shown on one board, multi course evaluation is always headless
+        int remoteWorkers = ConfigJSON.getRemoteWorkers();
+        parallelEvaluation = gameMode.isTrainingMode() &&
+                (ConfigJSON.useParallelEvaluation() || evaluationSettings.isMultiCourse() || remoteWorkers > 0);
+        if(parallelEvaluation && remoteWorkers > 0)
+            startRemoteWorkers(remoteWorkers);
+        else
+            stopRemoteWorkers();
+        parallelEvaluator = createParallelEvaluator(evaluationSettings, generationLimits);
+        turbo = ConfigJSON.useTurboTraining();
+        turboRenderInterval = ConfigJSON.getTurboRenderInterval();
+        checkpointInterval = ConfigJSON.getCheckpointInterval();
+        gameMode.start();
+    }
+
+    public void toggleTurbo() {
+        turbo = !turbo;
+    }
+
+    public boolean isTurbo() {
+        return turbo && gameMode.isTrainingMode();
+    }
+
+    public int getTurboTicksPerFrame() {
+        return turboTicksPerFrame;
+    }
+
+    //null while generations are played on the board, the cache only sits in front of the headless evaluator
+    public FitnessCache getFitnessCache() {
+        return parallelEvaluation ? fitnessCache : null;
+    }
+
+    public GenerationLimits.Reason getLastGenerationLimit() {
+        return lastGenerationLimit;
+    }
+
+    public long getCappedGenerations() {
+        return cappedGenerations;
+    }
+
+    //null unless generations are evaluated by worker processes
+    public RemoteEvaluator getRemoteEvaluator() {
+        return remoteEvaluator;
+    }
+
+    public long getTicksPerSecond() {
+        return ticksPerSecond;
     }
 
     public void endGame() {
         gameState = GameState.ENDED;
+        gameMode.stop();
+        checkpointWriter.shutdown();
+        stopRemoteWorkers();
     }
 
     public int getGenerationNumber() {
@@ -252,8 +511,12 @@ public class GameLoop extends Thread {
     }
 
     public void setGameMode(GameMode gameMode) {
+        if(this.gameMode != null)
+            this.gameMode.stop();
         this.gameMode = gameMode;
-        gameMode.init();
+        gameMode.init(world.getBoard());
+        courses.restart(0);
+        resetWorld();
         parentPanel.changeNewGameButtonMode(gameMode);
     }
 
@@ -261,8 +524,36 @@ public class GameLoop extends Thread {
         return gameState;
     }
 
-    public ArrayList<PipeFormation> getPipes() {
-        return pipes;
+    public PipeCourse getPipes() {
+        return world.getPipes();
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
+    public float getRenderAlpha() {
+        return renderAlpha;
+    }
+
+    public int getInterpolatedGroundX() {
+        return groundX + Math.round((1 - renderAlpha) * world.getXDistancePerFrame());
+    }
+
+    public long getTotalTicks() {
+        return totalTicks;
+    }
+
+    public long getLateTicks() {
+        return lateTicks;
+    }
+
+    public long getDroppedTicks() {
+        return droppedTicks;
+    }
+
+    public long getOverrunFrames() {
+        return overrunFrames;
     }
 
     public FlappyBirdPlayer getBestPlayer() {
@@ -289,7 +580,7 @@ public class GameLoop extends Thread {
         return gameMode.getBirds().get(index);
     }
 
-    public NeuralNetwork getSmartestBrain() {
+    public Brain getSmartestBrain() {
         Bird smartest = getBirdAt(0);
         for(Bird bird : gameMode.getBirds()) {
             if(bird.getFitness() > smartest.getFitness())
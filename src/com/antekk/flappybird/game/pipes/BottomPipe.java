@@ -1,18 +1,23 @@
 package com.antekk.flappybird.game.pipes;
 
-import com.antekk.flappybird.view.GamePanel;
+import com.antekk.flappybird.game.world.Board;
 import com.antekk.flappybird.view.themes.GameColors;
 
 import java.awt.*;
 
 public class BottomPipe extends Pipe {
 
-    protected BottomPipe(int heightInPx) {
-        super(GamePanel.TOP + GamePanel.GROUND - heightInPx, heightInPx);
+    protected BottomPipe(Board board, int heightInPx) {
+        super(board, board.getTop() + board.getGround() - heightInPx, heightInPx);
+    }
+
+    protected void respawn(Board board, int heightInPx) {
+        respawn(board, board.getTop() + board.getGround() - heightInPx, heightInPx);
     }
 
     @Override
-    public void draw(Graphics g) {
+    public void draw(Graphics g, float alpha) {
+        int x = getInterpolatedX(alpha);
         int i;
         for(i = (int) (0.46 * width); i <= height; i++) {
             g.drawImage(GameColors.pipe, x, i + y, width, 1, null);
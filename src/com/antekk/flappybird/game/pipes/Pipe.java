@@ -1,25 +1,29 @@
 package com.antekk.flappybird.game.pipes;
 
-import com.antekk.flappybird.view.GamePanel;
-import com.antekk.flappybird.view.themes.GameColors;
+import com.antekk.flappybird.game.world.Board;
 
 import java.awt.*;
 
-import static com.antekk.flappybird.view.GamePanel.getBlockSizePx;
-
 public abstract class Pipe {
     protected int x;
-    protected final int y;
-    protected final int width = getBlockSizePx();
-    protected final int height;
-
-    protected Pipe(int y, int heightInPx) {
-        this.x = GamePanel.RIGHT + 2 * getBlockSizePx();
+    protected int previousX;
+    protected int y;
+    protected final int width;
+    protected int height;
+
+    protected Pipe(Board board, int y, int heightInPx) {
+        this.x = board.getRight() + 2 * board.getBlockSizePx();
+        this.previousX = x;
         this.y = y;
+        this.width = board.getBlockSizePx();
         this.height = heightInPx;
     }
 
-    public abstract void draw(Graphics g);
+    public abstract void draw(Graphics g, float alpha);
+
+    protected int getInterpolatedX(float alpha) {
+        return previousX + Math.round((x - previousX) * alpha);
+    }
 
     public int getX() {
         return x;
@@ -37,7 +41,16 @@ public abstract class Pipe {
         return width;
     }
 
+    //pooled pipes are moved back to the spawn point instead of being allocated again
+    protected void respawn(Board board, int y, int heightInPx) {
+        this.x = board.getRight() + 2 * board.getBlockSizePx();
+        this.previousX = x;
+        this.y = y;
+        this.height = heightInPx;
+    }
+
     protected void moveX(int dx) {
+        previousX = x;
         x += dx;
     }
 }
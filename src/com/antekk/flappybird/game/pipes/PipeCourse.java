@@ -0,0 +1,95 @@
+package com.antekk.flappybird.game.pipes;
+
+import com.antekk.flappybird.game.world.Board;
+
+import java.awt.*;
+import java.util.random.RandomGenerator;
+
+public class PipeCourse {
+    private final Board board;
+    private final PipeFormation[] slots;
+    private int head = 0;
+    private int count = 0;
+
+    //offset from head of the first pipe the birds haven't fully passed yet
+    private int current = 0;
+    private int cursorX = Integer.MIN_VALUE;
+
+    public PipeCourse(Board board, int xDistancePerTick, int ticksBetweenPipes) {
+        this.board = board;
+
+        //a pipe lives from spawning behind the right edge until it's fully behind the left one
+        int lifetimeTicks = (board.getRight() + 3 * board.getBlockSizePx() - board.getLeft()) / Math.max(xDistancePerTick, 1) + 1;
+        slots = new PipeFormation[lifetimeTicks / ticksBetweenPipes + 2];
+    }
+
+    public void clear() {
+        head = 0;
+        count = 0;
+        current = 0;
+    }
+
+    public void spawn(int gap, RandomGenerator random) {
+        //shouldn't happen with the computed capacity, but never grow during a tick
+        if(count == slots.length)
+            removeOldest();
+
+        int index = (head + count) % slots.length;
+        if(slots[index] == null)
+            slots[index] = new PipeFormation(board, gap, random);
+        else
+            slots[index].respawn(gap, random);
+        count++;
+    }
+
+    public void moveX(int dx) {
+        for(int i = 0; i < count; i++)
+            get(i).moveX(dx);
+
+        while(count > 0 && get(0).getX() + board.getBlockSizePx() < board.getLeft())
+            removeOldest();
+    }
+
+    private void removeOldest() {
+        head = (head + 1) % slots.length;
+        count--;
+        if(current > 0)
+            current--;
+    }
+
+    //all birds share one x position, so a single cursor covers the whole population
+    public void updateCursor(int hitboxX) {
+        cursorX = hitboxX;
+        while(current < count && hitboxX > get(current).getX() + get(current).getWidth())
+            current++;
+    }
+
+    public PipeFormation getCurrent() {
+        return current < count ? get(current) : null;
+    }
+
+    public PipeFormation getNext() {
+        return current + 1 < count ? get(current + 1) : null;
+    }
+
+    //pipe the ml input is measured to, the current one stops counting once the bird reaches its right edge
+    public PipeFormation getTarget() {
+        PipeFormation pipe = getCurrent();
+        if(pipe != null && cursorX >= pipe.getX() + pipe.getWidth())
+            return getNext();
+        return pipe;
+    }
+
+    public void draw(Graphics g, float alpha) {
+        for(int i = 0; i < count; i++)
+            get(i).draw(g, alpha);
+    }
+
+    public PipeFormation get(int index) {
+        return slots[(head + index) % slots.length];
+    }
+
+    public int size() {
+        return count;
+    }
+}
@@ -1,32 +1,45 @@
 package com.antekk.flappybird.game.pipes;
 
-import com.antekk.flappybird.view.GamePanel;
+import com.antekk.flappybird.game.world.Board;
 
 import java.awt.*;
-
-import static com.antekk.flappybird.view.GamePanel.getBlockSizePx;
+import java.util.random.RandomGenerator;
 
 public class PipeFormation {
-    private TopPipe topPipe;
-    private BottomPipe bottomPipe;
-    private static int gap = 3 * getBlockSizePx();
+    private final Board board;
+    private final TopPipe topPipe;
+    private final BottomPipe bottomPipe;
+    private int gap;
+    //the free interval between the pipes, cached so collision checks don't walk both pipes every tick
+    private int gapTopY;
+    private int gapBottomY;
     public static int futureGap = 0;
 
 
-    public PipeFormation() {
-        int minPipeHeight = getBlockSizePx();
-        int dy = GamePanel.GROUND - GamePanel.TOP;
+    public PipeFormation(Board board, int gap, RandomGenerator random) {
+        this.board = board;
+        topPipe = new TopPipe(board, 0);
+        bottomPipe = new BottomPipe(board, 0);
+        respawn(gap, random);
+    }
+
+    public void respawn(int gap, RandomGenerator random) {
+        this.gap = gap;
+        int minPipeHeight = board.getBlockSizePx();
+        int dy = board.getGround() - board.getTop();
 
-        int top = (int) (Math.random() * (dy - 2 * minPipeHeight - gap)) + minPipeHeight;
+        int top = (int) (random.nextDouble() * (dy - 2 * minPipeHeight - gap)) + minPipeHeight;
         int bottom = dy - top - gap;
 
-        topPipe = new TopPipe(top);
-        bottomPipe = new BottomPipe(bottom);
+        topPipe.respawn(board, top);
+        bottomPipe.respawn(board, bottom);
+        gapTopY = topPipe.getY() + topPipe.getHeight();
+        gapBottomY = bottomPipe.getY();
     }
 
-    public void draw(Graphics g) {
-        topPipe.draw(g);
-        bottomPipe.draw(g);
+    public void draw(Graphics g, float alpha) {
+        topPipe.draw(g, alpha);
+        bottomPipe.draw(g, alpha);
     }
 
     public int getX() {
@@ -38,7 +51,19 @@ public class PipeFormation {
     }
 
     public int getCenterY() {
-        return (int) (bottomPipe.y - (gap * 0.5));
+        return (int) (gapBottomY - (gap * 0.5));
+    }
+
+    public int getGap() {
+        return gap;
+    }
+
+    public int getGapTopY() {
+        return gapTopY;
+    }
+
+    public int getGapBottomY() {
+        return gapBottomY;
     }
 
     public TopPipe getTopPipe() {
@@ -54,8 +79,4 @@ public class PipeFormation {
         bottomPipe.moveX(dx);
     }
 
-    public static void updatePipeGap() {
-        gap = futureGap;
-    }
-
 }
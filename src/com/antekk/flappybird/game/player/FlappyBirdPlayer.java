@@ -1,9 +1,9 @@
 package com.antekk.flappybird.game.player;
 
-import com.antekk.flappybird.game.ConfigJSON;
+import com.antekk.flappybird.game.pipes.PipeFormation;
 
 public class FlappyBirdPlayer {
-    private static final PlayersStatsJSON playerStats = new PlayersStatsJSON();
+    private static PlayersStatsJSON playerStats;
     public long score;
     public int pipesVerticalGap;
     public String name;
@@ -15,7 +15,7 @@ public class FlappyBirdPlayer {
 
     public FlappyBirdPlayer() {
         this.score = 0;
-        this.pipesVerticalGap = ConfigJSON.getPipesVGap();
+        this.pipesVerticalGap = PipeFormation.futureGap;
         this.name = null;
     }
 
@@ -25,7 +25,10 @@ public class FlappyBirdPlayer {
         this.name = name;
     }
 
-    public static PlayersStatsJSON getStatsFile() {
+    public static synchronized PlayersStatsJSON getStatsFile() {
+        //created lazily so that headless simulations never touch the stats file
+        if(playerStats == null)
+            playerStats = new PlayersStatsJSON();
         return playerStats;
     }
 }
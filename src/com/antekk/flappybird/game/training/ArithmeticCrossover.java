@@ -0,0 +1,19 @@
+package com.antekk.flappybird.game.training;
+
+import com.antekk.flappybird.game.ai.NeuralNetwork;
+
+import java.util.random.RandomGenerator;
+
+//the child lies on the line between both parents' parameter vectors
+public class ArithmeticCrossover implements CrossoverOperator {
+    @Override
+    public NeuralNetwork cross(NeuralNetwork parent1, NeuralNetwork parent2, RandomGenerator random) {
+        float alpha = random.nextFloat();
+        NeuralNetwork child = parent1.clone();
+        float[] params = child.getParameters();
+        float[] other = parent2.getParameters();
+        for(int i = 0; i < params.length; i++)
+            params[i] = alpha * params[i] + (1 - alpha) * other[i];
+        return child;
+    }
+}
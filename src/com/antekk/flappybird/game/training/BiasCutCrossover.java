@@ -0,0 +1,27 @@
+package com.antekk.flappybird.game.training;
+
+import com.antekk.flappybird.game.ai.NeuralNetwork;
+
+import java.util.random.RandomGenerator;
+
+//the original operator, weights are inherited from one parent and only the biases past a cut point are recombined
+public class BiasCutCrossover implements CrossoverOperator {
+    @Override
+    public NeuralNetwork cross(NeuralNetwork parent1, NeuralNetwork parent2, RandomGenerator random) {
+        if(parent1.size() != parent2.size())
+            throw new IllegalArgumentException("parent1 and parent2 neural network sizes are not equal");
+
+        int cutPoint = random.nextInt(parent1.size() - 1);
+
+        //only the child that is kept gets copied, it takes the other parent's biases after the cut point
+        NeuralNetwork child;
+        if(random.nextBoolean()) {
+            child = parent1.clone();
+            child.crossoverBiases(parent2, cutPoint);
+        } else {
+            child = parent2.clone();
+            child.crossoverBiases(parent1, cutPoint);
+        }
+        return child;
+    }
+}
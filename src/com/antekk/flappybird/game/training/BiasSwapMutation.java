@@ -0,0 +1,15 @@
+package com.antekk.flappybird.game.training;
+
+import com.antekk.flappybird.game.ai.NeuralNetwork;
+
+import java.util.random.RandomGenerator;
+
+public class BiasSwapMutation implements MutationOperator {
+    //chance that a neuron keeps its bias
+    private static final float KEEP_PROBABILITY = 0.6f;
+
+    @Override
+    public void mutate(NeuralNetwork network, RandomGenerator random) {
+        network.performSwapMutation(KEEP_PROBABILITY, random);
+    }
+}
@@ -0,0 +1,67 @@
+package com.antekk.flappybird.game.training;
+
+import com.antekk.flappybird.game.ai.Inference;
+import com.antekk.flappybird.game.ai.NeuralNetwork;
+import com.antekk.flappybird.game.bird.Bird;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+//skips episodes whose result is already known: networks seen on the same course before, and exact duplicates
+//inside one population, which are played once and share the result. Networks only meet a course again when
+//the evaluation courses are fixed, otherwise the duplicates are all the cache can skip
+public class CachingEvaluator implements PopulationEvaluator {
+    private final PopulationEvaluator evaluator;
+    private final FitnessCache cache;
+    //what the wrapped evaluator plays with, results from other settings are never handed out
+    private final GenerationLimits limits;
+    private final Inference inference;
+
+    public CachingEvaluator(PopulationEvaluator evaluator, FitnessCache cache, GenerationLimits limits, Inference inference) {
+        this.evaluator = evaluator;
+        this.cache = cache;
+        this.limits = limits;
+        this.inference = inference;
+    }
+
+    @Override
+    public void evaluate(ArrayList<Bird> population, int pipeGap, long courseSeed) {
+        ArrayList<Bird> toPlay = new ArrayList<>();
+        HashMap<FitnessCache.Key, Bird> played = new HashMap<>();
+        ArrayList<Bird> duplicates = new ArrayList<>();
+        ArrayList<FitnessCache.Key> duplicateKeys = new ArrayList<>();
+
+        for(Bird bird : population) {
+            //evolved topologies don't live in the parameter vector, they are always played
+            if(!(bird.brain instanceof NeuralNetwork network)) {
+                toPlay.add(bird);
+                continue;
+            }
+
+            FitnessCache.Key key = new FitnessCache.Key(network.getParameters(), courseSeed, pipeGap, limits, inference);
+            FitnessCache.Result result = cache.get(key);
+            if(result != null) {
+                result.applyTo(bird);
+            } else if(played.containsKey(key)) {
+                cache.recordDuplicate();
+                duplicates.add(bird);
+                duplicateKeys.add(key);
+            } else {
+                played.put(key, bird);
+                toPlay.add(bird);
+            }
+        }
+
+        if(!toPlay.isEmpty())
+            evaluator.evaluate(toPlay, pipeGap, courseSeed);
+
+        for(var entry : played.entrySet())
+            cache.put(entry.getKey(), FitnessCache.Result.of(entry.getValue()));
+        for(int i = 0; i < duplicates.size(); i++)
+            FitnessCache.Result.of(played.get(duplicateKeys.get(i))).applyTo(duplicates.get(i));
+    }
+
+    public FitnessCache getCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,44 @@
+package com.antekk.flappybird.game.training;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+//writes checkpoints on a background thread, the game loop only hands over an in-memory snapshot
+public class CheckpointWriter {
+    private final File file;
+    private final AtomicReference<TrainingCheckpoint> pending = new AtomicReference<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Checkpoint writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CheckpointWriter(File file) {
+        this.file = file;
+    }
+
+    //if the disk can't keep up only the newest snapshot is written, older ones are skipped
+    public void submit(TrainingCheckpoint checkpoint) {
+        if(pending.getAndSet(checkpoint) == null)
+            executor.execute(this::writePending);
+    }
+
+    private void writePending() {
+        TrainingCheckpoint checkpoint = pending.getAndSet(null);
+        if(checkpoint == null)
+            return;
+        try {
+            checkpoint.writeTo(file);
+        } catch (IOException e) {
+            System.err.println("Cannot write training checkpoint: " + e.getMessage());
+        }
+    }
+
+    //a write that is already queued still finishes
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,42 @@
+package com.antekk.flappybird.game.training;
+
+import com.antekk.flappybird.game.RandomSource;
+
+//which course the game plays next. Showing the upcoming course on an idle board doesn't use it up, only starting
+//a generation or evaluating one headless does, so a run resumed from a checkpoint's course count goes on with
+//exactly the courses the uninterrupted run would have played
+public class CourseSchedule {
+    private long coursesPlayed = 0;
+    //fixed evaluation courses replay the first course of the run every time, the count still goes on so
+    //checkpoints stay the same either way
+    private boolean fixedCourses = false;
+
+    public long peek() {
+        return seed(coursesPlayed);
+    }
+
+    public long next() {
+        return seed(coursesPlayed++);
+    }
+
+    private long seed(long course) {
+        return courseSeed(fixedCourses ? 0 : course);
+    }
+
+    //every course gets its own stream, so a run seed replays the same sequence of courses
+    public static long courseSeed(long course) {
+        return RandomSource.stream(RandomSource.COURSE_STREAM, course).nextLong();
+    }
+
+    public void restart(long coursesPlayed) {
+        this.coursesPlayed = coursesPlayed;
+    }
+
+    public long getCoursesPlayed() {
+        return coursesPlayed;
+    }
+
+    public void setFixedCourses(boolean fixedCourses) {
+        this.fixedCourses = fixedCourses;
+    }
+}
@@ -0,0 +1,18 @@
+package com.antekk.flappybird.game.training;
+
+import com.antekk.flappybird.game.ai.NeuralNetwork;
+
+import java.util.random.RandomGenerator;
+
+public interface CrossoverOperator {
+    //returns a new network, the parents are left untouched
+    NeuralNetwork cross(NeuralNetwork parent1, NeuralNetwork parent2, RandomGenerator random);
+
+    static CrossoverOperator of(TrainingSettings.Crossover crossover) {
+        return switch (crossover) {
+            case BIAS_CUT -> new BiasCutCrossover();
+            case UNIFORM -> new UniformCrossover();
+            case ARITHMETIC -> new ArithmeticCrossover();
+        };
+    }
+}
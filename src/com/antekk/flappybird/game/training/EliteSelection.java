@@ -0,0 +1,74 @@
+package com.antekk.flappybird.game.training;
+
+public final class EliteSelection {
+    private EliteSelection() {}
+
+    //indices of the count fittest birds, best first; quickselect keeps this O(n) instead of sorting everyone
+    public static int[] select(long[] fitness, int count) {
+        int n = fitness.length;
+        count = Math.min(count, n);
+        int[] indices = new int[n];
+        for(int i = 0; i < n; i++)
+            indices[i] = i;
+
+        int left = 0;
+        int right = n - 1;
+        while(left < right) {
+            int pivot = partition(fitness, indices, left, right);
+            if(pivot == count - 1 || pivot == count)
+                break;
+            if(pivot < count)
+                left = pivot + 1;
+            else
+                right = pivot - 1;
+        }
+
+        int[] elites = new int[count];
+        System.arraycopy(indices, 0, elites, 0, count);
+        insertionSort(fitness, elites);
+        return elites;
+    }
+
+    private static boolean isBetter(long[] fitness, int a, int b) {
+        return fitness[a] > fitness[b] || (fitness[a] == fitness[b] && a < b);
+    }
+
+    private static int partition(long[] fitness, int[] indices, int left, int right) {
+        int middle = (left + right) >>> 1;
+        //median of three, so already ordered populations don't degrade to quadratic time
+        if(isBetter(fitness, indices[middle], indices[left]))
+            swap(indices, middle, left);
+        if(isBetter(fitness, indices[right], indices[left]))
+            swap(indices, right, left);
+        if(isBetter(fitness, indices[right], indices[middle]))
+            swap(indices, right, middle);
+        swap(indices, middle, right);
+
+        int pivot = indices[right];
+        int store = left;
+        for(int i = left; i < right; i++) {
+            if(isBetter(fitness, indices[i], pivot))
+                swap(indices, i, store++);
+        }
+        swap(indices, store, right);
+        return store;
+    }
+
+    private static void insertionSort(long[] fitness, int[] elites) {
+        for(int i = 1; i < elites.length; i++) {
+            int current = elites[i];
+            int j = i - 1;
+            while(j >= 0 && isBetter(fitness, current, elites[j])) {
+                elites[j + 1] = elites[j];
+                j--;
+            }
+            elites[j + 1] = current;
+        }
+    }
+
+    private static void swap(int[] array, int i, int j) {
+        int tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+    }
+}
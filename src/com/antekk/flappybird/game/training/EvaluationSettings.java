@@ -0,0 +1,72 @@
+package com.antekk.flappybird.game.training;
+
+import java.util.Objects;
+
+public final class EvaluationSettings {
+    public enum Aggregation {
+        MEAN,
+        MIN,
+        PERCENTILE
+    }
+
+    public static final int DEFAULT_COURSES = 1;
+    public static final int DEFAULT_PERCENTILE = 25;
+
+    private final int courses;
+    private final Aggregation aggregation;
+    private final int percentile;
+    //every generation is evaluated on the same courses, so elites and unchanged offspring replay known episodes
+    //and their results come from the fitness cache
+    private final boolean fixedCourses;
+
+    public EvaluationSettings(int courses, Aggregation aggregation, int percentile, boolean fixedCourses) {
+        this.courses = Math.max(courses, 1);
+        this.aggregation = aggregation;
+        this.percentile = Math.max(0, Math.min(percentile, 100));
+        this.fixedCourses = fixedCourses;
+    }
+
+    public static EvaluationSettings getDefault() {
+        return new EvaluationSettings(DEFAULT_COURSES, Aggregation.MEAN, DEFAULT_PERCENTILE, false);
+    }
+
+    //one course is the plain single episode evaluation, nothing to aggregate
+    public boolean isMultiCourse() {
+        return courses > 1;
+    }
+
+    public int getCourses() {
+        return courses;
+    }
+
+    public Aggregation getAggregation() {
+        return aggregation;
+    }
+
+    public int getPercentile() {
+        return percentile;
+    }
+
+    public boolean hasFixedCourses() {
+        return fixedCourses;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(!(o instanceof EvaluationSettings other))
+            return false;
+        return courses == other.courses && aggregation == other.aggregation && percentile == other.percentile &&
+                fixedCourses == other.fixedCourses;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(courses, aggregation, percentile, fixedCourses);
+    }
+
+    @Override
+    public String toString() {
+        return courses + (fixedCourses ? " fixed courses, " : " courses, ") +
+                (aggregation == Aggregation.PERCENTILE ? percentile + "th percentile" : aggregation.name().toLowerCase());
+    }
+}
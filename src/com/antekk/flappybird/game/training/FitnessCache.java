@@ -0,0 +1,113 @@
+package com.antekk.flappybird.game.training;
+
+import com.antekk.flappybird.game.ai.Inference;
+import com.antekk.flappybird.game.bird.Bird;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//results of already played episodes, a network's episode only depends on its parameters, the course and the way
+//it was evaluated: the caps a generation ends at and the arithmetic its network ran in
+public class FitnessCache {
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    //birds still alive when the evaluator's tick cap ran out stay alive
+    public record Result(long fitness, long score, boolean alive) {
+        public static Result of(Bird bird) {
+            return new Result(bird.getFitness(), bird.getPlayer().score, bird.isAlive);
+        }
+
+        //leaves the bird as if it had played the episode, with its fitness and score
+        public void applyTo(Bird bird) {
+            bird.resetPosition();
+            bird.isAlive = alive;
+            bird.brain.fitnessTotalDistance = fitness;
+            bird.getPlayer().score = score;
+        }
+    }
+
+    public static final class Key {
+        private final float[] parameters;
+        private final long courseSeed;
+        private final int pipeGap;
+        private final GenerationLimits limits;
+        private final Inference inference;
+        private final int hash;
+
+        public Key(float[] parameters, long courseSeed, int pipeGap, GenerationLimits limits, Inference inference) {
+            this.parameters = parameters.clone();
+            this.courseSeed = courseSeed;
+            this.pipeGap = pipeGap;
+            this.limits = limits;
+            this.inference = inference;
+            this.hash = 31 * (31 * (31 * (31 * Arrays.hashCode(parameters) + Long.hashCode(courseSeed)) + pipeGap) +
+                    limits.hashCode()) + inference.ordinal();
+        }
+
+        //the full vector is compared, a hash collision can't hand out someone else's fitness
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && hash == other.hash && courseSeed == other.courseSeed &&
+                    pipeGap == other.pipeGap && inference == other.inference && limits.equals(other.limits) &&
+                    Arrays.equals(parameters, other.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private final LinkedHashMap<Key, Result> results;
+    private long lookups = 0;
+    private long hits = 0;
+
+    public FitnessCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public FitnessCache(int capacity) {
+        //access order turns the map into an LRU, the least recently used entry goes first
+        results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Result> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public synchronized Result get(Key key) {
+        lookups++;
+        Result result = results.get(key);
+        if(result != null)
+            hits++;
+        return result;
+    }
+
+    public synchronized void put(Key key, Result result) {
+        results.put(key, result);
+    }
+
+    //a copy of a network already being played in the same population gets its result without an episode too,
+    //its lookup missed but it counts as a hit
+    public synchronized void recordDuplicate() {
+        hits++;
+    }
+
+    public synchronized long getLookups() {
+        return lookups;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized double getHitRate() {
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    public synchronized int size() {
+        return results.size();
+    }
+}
@@ -0,0 +1,73 @@
+package com.antekk.flappybird.game.training;
+
+import com.antekk.flappybird.game.ai.NeuralNetwork;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.random.RandomGenerator;
+
+//adds normal noise to each parameter with the given per-gene rate,
+//sigma follows the 1/5 success rule: it grows while the best fitness keeps improving and shrinks once it stalls
+public class GaussianMutation implements MutationOperator {
+    private static final int ADAPTATION_WINDOW = 10;
+    private static final float SIGMA_GROWTH = 1.22f;
+    private static final float MIN_SIGMA = 0.001f;
+    private static final float MAX_SIGMA = 2f;
+
+    private final float rate;
+    private volatile float sigma;
+    private long bestFitness = Long.MIN_VALUE;
+    private int generations = 0;
+    private int improvements = 0;
+
+    public GaussianMutation(float rate, float sigma) {
+        this.rate = rate;
+        this.sigma = Math.min(Math.max(sigma, MIN_SIGMA), MAX_SIGMA);
+    }
+
+    @Override
+    public void mutate(NeuralNetwork network, RandomGenerator random) {
+        float sigma = this.sigma;
+        float[] params = network.getParameters();
+        for(int i = 0; i < params.length; i++) {
+            if(random.nextFloat() < rate)
+                params[i] += (float) (random.nextGaussian() * sigma);
+        }
+    }
+
+    @Override
+    public void endGeneration(long bestFitness) {
+        if(bestFitness > this.bestFitness) {
+            this.bestFitness = bestFitness;
+            improvements++;
+        }
+        if(++generations < ADAPTATION_WINDOW)
+            return;
+
+        float adapted = improvements * 5 > generations ? sigma * SIGMA_GROWTH : sigma / SIGMA_GROWTH;
+        sigma = Math.min(Math.max(adapted, MIN_SIGMA), MAX_SIGMA);
+        generations = 0;
+        improvements = 0;
+    }
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeFloat(sigma);
+        out.writeLong(bestFitness);
+        out.writeInt(generations);
+        out.writeInt(improvements);
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        sigma = in.readFloat();
+        bestFitness = in.readLong();
+        generations = in.readInt();
+        improvements = in.readInt();
+    }
+
+    public float getSigma() {
+        return sigma;
+    }
+}
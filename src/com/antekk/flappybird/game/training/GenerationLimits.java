@@ -0,0 +1,79 @@
+package com.antekk.flappybird.game.training;
+
+import java.util.Objects;
+
+//ways for a generation to end while birds are still alive, 0 turns a limit off
+public final class GenerationLimits {
+    public enum Reason {
+        TICK_CAP,
+        DISTANCE_CAP,
+        STAGNATION,
+        TIME_BUDGET
+    }
+
+    public static final long DEFAULT_MAX_TICKS = ParallelEvaluator.DEFAULT_MAX_TICKS_PER_EPISODE;
+
+    private final long maxTicks;
+    private final long maxDistance;
+    private final long stagnationTicks;
+    private final long timeBudgetMillis;
+
+    public GenerationLimits(long maxTicks, long maxDistance, long stagnationTicks, long timeBudgetMillis) {
+        this.maxTicks = Math.max(maxTicks, 0);
+        this.maxDistance = Math.max(maxDistance, 0);
+        this.stagnationTicks = Math.max(stagnationTicks, 0);
+        this.timeBudgetMillis = Math.max(timeBudgetMillis, 0);
+    }
+
+    public static GenerationLimits getDefault() {
+        return new GenerationLimits(DEFAULT_MAX_TICKS, 0, 0, 0);
+    }
+
+    public static GenerationLimits ofTicks(long maxTicks) {
+        return new GenerationLimits(maxTicks, 0, 0, 0);
+    }
+
+    //every bird moves the same distance per tick, so the distance cap is a tick cap too
+    public long getTickCap(int xDistancePerTick) {
+        long cap = maxTicks > 0 ? maxTicks : Long.MAX_VALUE;
+        if(maxDistance > 0 && xDistancePerTick > 0)
+            cap = Math.min(cap, (maxDistance + xDistancePerTick - 1) / xDistancePerTick);
+        return cap;
+    }
+
+    //the tick cap reason for survivors of an evaluation that only knows about the tick cap
+    public Reason getTickCapReason(int xDistancePerTick) {
+        if(maxDistance > 0 && xDistancePerTick > 0 && (maxTicks == 0 || getTickCap(xDistancePerTick) < maxTicks))
+            return Reason.DISTANCE_CAP;
+        return Reason.TICK_CAP;
+    }
+
+    public long getMaxTicks() {
+        return maxTicks;
+    }
+
+    public long getMaxDistance() {
+        return maxDistance;
+    }
+
+    public long getStagnationTicks() {
+        return stagnationTicks;
+    }
+
+    public long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(!(o instanceof GenerationLimits other))
+            return false;
+        return maxTicks == other.maxTicks && maxDistance == other.maxDistance &&
+                stagnationTicks == other.stagnationTicks && timeBudgetMillis == other.timeBudgetMillis;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxTicks, maxDistance, stagnationTicks, timeBudgetMillis);
+    }
+}
@@ -0,0 +1,56 @@
+package com.antekk.flappybird.game.training;
+
+import com.antekk.flappybird.game.world.World;
+
+//watches one generation played in lockstep. All alive birds share their x position and with it their fitness,
+//so once nobody dies the ranking can't change anymore - that's what the stagnation cutoff waits for
+public class GenerationMonitor {
+    private final GenerationLimits limits;
+    private long tickCap;
+    private int aliveCount;
+    private long lastDeathTick;
+    private long elapsedNanos;
+    private long lastCheckNanos;
+
+    public GenerationMonitor(GenerationLimits limits) {
+        this.limits = limits;
+    }
+
+    public void reset(World world) {
+        tickCap = limits.getTickCap(world.getXDistancePerFrame());
+        aliveCount = world.getAliveCount();
+        lastDeathTick = world.getTicks();
+        elapsedNanos = 0;
+        lastCheckNanos = System.nanoTime();
+    }
+
+    //time spent paused doesn't count towards the budget
+    public void resume() {
+        lastCheckNanos = System.nanoTime();
+    }
+
+    //null while the generation may go on
+    public GenerationLimits.Reason check(World world) {
+        long now = System.nanoTime();
+        elapsedNanos += now - lastCheckNanos;
+        lastCheckNanos = now;
+
+        int alive = world.getAliveCount();
+        if(alive != aliveCount) {
+            aliveCount = alive;
+            lastDeathTick = world.getTicks();
+        }
+
+        if(world.getTicks() >= tickCap)
+            return limits.getTickCapReason(world.getXDistancePerFrame());
+        if(limits.getStagnationTicks() > 0 && world.getTicks() - lastDeathTick >= limits.getStagnationTicks())
+            return GenerationLimits.Reason.STAGNATION;
+        if(limits.getTimeBudgetMillis() > 0 && elapsedNanos >= limits.getTimeBudgetMillis() * 1_000_000L)
+            return GenerationLimits.Reason.TIME_BUDGET;
+        return null;
+    }
+
+    public GenerationLimits getLimits() {
+        return limits;
+    }
+}
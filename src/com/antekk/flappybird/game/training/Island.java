@@ -0,0 +1,156 @@
+package com.antekk.flappybird.game.training;
+
+import com.antekk.flappybird.game.RandomSource;
+import com.antekk.flappybird.game.ai.Inference;
+import com.antekk.flappybird.game.ai.Brain;
+import com.antekk.flappybird.game.bird.Bird;
+import com.antekk.flappybird.game.bird.gamemodes.MlTrainingMode;
+import com.antekk.flappybird.game.world.Board;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+//one sub-population evolving on its own thread, it only talks to other islands through migrant queues
+public class Island implements Runnable {
+    private final int index;
+    private final MlTrainingMode population;
+    private final PopulationEvaluator evaluator;
+    private final ConcurrentLinkedQueue<Brain> immigrants = new ConcurrentLinkedQueue<>();
+    private Island neighbour;
+    private final int migrationInterval;
+    private final int migrantCount;
+    private final int offspringSlots;
+    private int pipeGap;
+
+    private volatile boolean running = false;
+    private volatile boolean paused = false;
+    private volatile Brain champion;
+    private volatile long bestFitness = 0;
+    private volatile long generations = 0;
+    private volatile long migrantsReceived = 0;
+    private volatile long migrantsSent = 0;
+    private Thread thread;
+
+    public Island(int index, TrainingSettings settings, int migrationInterval, int migrantCount, GenerationLimits limits,
+                  Inference inference) {
+        this.index = index;
+        this.evaluator = new LockstepEvaluator(limits, inference);
+        this.population = new MlTrainingMode(settings, index);
+        this.migrationInterval = Math.max(1, migrationInterval);
+        this.offspringSlots = settings.getPopulationSize() - settings.getEliteCount() - 1;
+        this.migrantCount = Math.min(Math.max(0, migrantCount), offspringSlots);
+    }
+
+    public void init(Board board) {
+        population.init(board);
+    }
+
+    public void setNeighbour(Island neighbour) {
+        this.neighbour = neighbour;
+    }
+
+    public synchronized void start(int pipeGap) {
+        if(thread != null)
+            return;
+        this.pipeGap = pipeGap;
+        running = true;
+        thread = new Thread(this, "Island " + index);
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    public synchronized void stop() {
+        running = false;
+        if(thread != null)
+            thread.interrupt();
+    }
+
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    @Override
+    public void run() {
+        try {
+            while(running) {
+                while(paused && running)
+                    Thread.sleep(50);
+                if(!running)
+                    return;
+
+                ArrayList<Bird> birds = population.getBirds();
+                long courseSeed = RandomSource.stream(RandomSource.COURSE_STREAM, RandomSource.ISLAND_STREAM, index, generations).nextLong();
+                evaluator.evaluate(birds, pipeGap, courseSeed);
+                recordChampion(birds);
+                generations++;
+
+                if(neighbour != null && generations % migrationInterval == 0)
+                    emigrate(birds);
+
+                population.newPopulation();
+                acceptImmigrants();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void recordChampion(ArrayList<Bird> birds) {
+        Bird best = birds.get(0);
+        for(Bird bird : birds) {
+            if(bird.getFitness() > best.getFitness())
+                best = bird;
+        }
+        bestFitness = best.getFitness();
+        champion = best.brain.clone();
+    }
+
+    private void emigrate(ArrayList<Bird> birds) {
+        long[] fitness = new long[birds.size()];
+        for(int i = 0; i < fitness.length; i++)
+            fitness[i] = birds.get(i).getFitness();
+
+        for(int elite : EliteSelection.select(fitness, migrantCount))
+            neighbour.immigrants.offer(birds.get(elite).brain.clone());
+        migrantsSent += migrantCount;
+    }
+
+    //migrants take the offspring slots at the end of the freshly bred population, elites stay untouched,
+    //whatever doesn't fit is dropped since a slow island would only fall further behind on stale migrants
+    private void acceptImmigrants() {
+        int slot = population.size() - 1;
+        int accepted = 0;
+        for(Brain migrant = immigrants.poll(); migrant != null; migrant = immigrants.poll()) {
+            if(accepted == offspringSlots)
+                continue;
+            population.replaceBirdAt(slot--, migrant);
+            accepted++;
+        }
+        migrantsReceived += accepted;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Brain getChampion() {
+        return champion;
+    }
+
+    public long getBestFitness() {
+        return bestFitness;
+    }
+
+    public long getGenerations() {
+        return generations;
+    }
+
+    public long getMigrantsReceived() {
+        return migrantsReceived;
+    }
+
+    public long getMigrantsSent() {
+        return migrantsSent;
+    }
+}
@@ -0,0 +1,52 @@
+package com.antekk.flappybird.game.training;
+
+import java.util.Objects;
+
+public final class IslandSettings {
+    public static final int DEFAULT_MIGRATION_INTERVAL = 5;
+    public static final int DEFAULT_MIGRANT_COUNT = 2;
+
+    private final int islandCount;
+    private final int migrationInterval;
+    private final int migrantCount;
+
+    public IslandSettings(int islandCount, int migrationInterval, int migrantCount) {
+        this.islandCount = Math.max(islandCount, 1);
+        this.migrationInterval = Math.max(migrationInterval, 1);
+        this.migrantCount = Math.max(migrantCount, 0);
+    }
+
+    //one island per two cores leaves room for the ui and the game loop
+    public static int getDefaultIslandCount() {
+        return Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+    }
+
+    public static IslandSettings getDefault() {
+        return new IslandSettings(getDefaultIslandCount(), DEFAULT_MIGRATION_INTERVAL, DEFAULT_MIGRANT_COUNT);
+    }
+
+    public int getIslandCount() {
+        return islandCount;
+    }
+
+    public int getMigrationInterval() {
+        return migrationInterval;
+    }
+
+    public int getMigrantCount() {
+        return migrantCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(!(o instanceof IslandSettings other))
+            return false;
+        return islandCount == other.islandCount && migrationInterval == other.migrationInterval &&
+                migrantCount == other.migrantCount;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(islandCount, migrationInterval, migrantCount);
+    }
+}
@@ -0,0 +1,48 @@
+package com.antekk.flappybird.game.training;
+
+import com.antekk.flappybird.game.ai.Inference;
+import com.antekk.flappybird.game.bird.Bird;
+import com.antekk.flappybird.game.bird.BirdPopulation;
+import com.antekk.flappybird.game.world.World;
+
+import java.util.ArrayList;
+
+public class LockstepEvaluator implements PopulationEvaluator {
+    private final GenerationLimits limits;
+    private final Inference inference;
+
+    public LockstepEvaluator() {
+        this(GenerationLimits.getDefault());
+    }
+
+    public LockstepEvaluator(long maxTicks) {
+        this(GenerationLimits.ofTicks(maxTicks));
+    }
+
+    public LockstepEvaluator(GenerationLimits limits) {
+        this(limits, Inference.FLOAT);
+    }
+
+    public LockstepEvaluator(GenerationLimits limits, Inference inference) {
+        this.limits = limits;
+        this.inference = inference;
+    }
+
+    @Override
+    public void evaluate(ArrayList<Bird> population, int pipeGap, long courseSeed) {
+        if(population.isEmpty())
+            return;
+
+        for(Bird bird : population)
+            bird.resetPosition();
+
+        World world = new World(population.get(0).getBoard(), pipeGap);
+        world.reset(new BirdPopulation(population, inference), courseSeed);
+        GenerationMonitor monitor = new GenerationMonitor(limits);
+        monitor.reset(world);
+        while(!world.areAllBirdsDead() && monitor.check(world) == null) {
+            world.step();
+        }
+        world.syncBirdViews();
+    }
+}
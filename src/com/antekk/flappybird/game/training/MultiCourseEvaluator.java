@@ -0,0 +1,129 @@
+package com.antekk.flappybird.game.training;
+
+import com.antekk.flappybird.game.bird.Bird;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+//plays every bird on several courses and keeps an aggregate of the results, so a single lucky pipe sequence
+//can't carry a weak network. Courses are played concurrently, each one by its own copy of the population
+public class MultiCourseEvaluator implements PopulationEvaluator {
+    private final PopulationEvaluator evaluator;
+    private final EvaluationSettings settings;
+    private final ForkJoinPool pool;
+
+    public MultiCourseEvaluator(PopulationEvaluator evaluator, EvaluationSettings settings) {
+        this(evaluator, settings, ForkJoinPool.commonPool());
+    }
+
+    public MultiCourseEvaluator(PopulationEvaluator evaluator, EvaluationSettings settings, ForkJoinPool pool) {
+        this.evaluator = evaluator;
+        this.settings = settings;
+        this.pool = pool;
+    }
+
+    @Override
+    public void evaluate(ArrayList<Bird> population, int pipeGap, long courseSeed) {
+        int courses = settings.getCourses();
+        if(courses == 1 || population.isEmpty()) {
+            evaluator.evaluate(population, pipeGap, courseSeed);
+            return;
+        }
+
+        long[] seeds = courseSeeds(courseSeed, courses);
+        //the population itself plays the first course, so its birds end up in a state one of the courses produced
+        ArrayList<ArrayList<Bird>> replicas = new ArrayList<>(courses);
+        replicas.add(population);
+        for(int c = 1; c < courses; c++)
+            replicas.add(copyOf(population));
+
+        ArrayList<RecursiveAction> tasks = new ArrayList<>(courses);
+        for(int c = 0; c < courses; c++) {
+            ArrayList<Bird> replica = replicas.get(c);
+            long seed = seeds[c];
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    evaluator.evaluate(replica, pipeGap, seed);
+                }
+            });
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                ForkJoinTask.invokeAll(tasks);
+            }
+        });
+
+        long[] fitness = new long[courses];
+        long[] score = new long[courses];
+        for(int i = 0; i < population.size(); i++) {
+            Bird bird = population.get(i);
+            if(bird.brain == null)
+                continue;
+            for(int c = 0; c < courses; c++) {
+                Bird played = replicas.get(c).get(i);
+                fitness[c] = played.getFitness();
+                score[c] = played.getPlayer().score;
+            }
+            bird.brain.fitnessTotalDistance = aggregate(fitness);
+            bird.getPlayer().score = aggregate(score);
+        }
+    }
+
+    //the first course is the one the single course evaluation would play, the rest are derived from it
+    public static long[] courseSeeds(long courseSeed, int courses) {
+        long[] seeds = new long[courses];
+        SplittableRandom random = new SplittableRandom(courseSeed);
+        seeds[0] = courseSeed;
+        for(int c = 1; c < courses; c++)
+            seeds[c] = random.nextLong();
+        return seeds;
+    }
+
+    //networks are cloned, fitness lives in the network and every course needs its own
+    private static ArrayList<Bird> copyOf(ArrayList<Bird> population) {
+        ArrayList<Bird> copy = new ArrayList<>(population.size());
+        for(Bird bird : population)
+            copy.add(bird.brain == null ? new Bird(bird.getBoard()) : new Bird(bird.getBoard(), bird.brain.clone()));
+        return copy;
+    }
+
+    private long aggregate(long[] values) {
+        return switch (settings.getAggregation()) {
+            case MEAN -> mean(values);
+            case MIN -> min(values);
+            case PERCENTILE -> percentile(values, settings.getPercentile());
+        };
+    }
+
+    private static long mean(long[] values) {
+        long sum = 0;
+        for(long value : values)
+            sum += value;
+        return sum / values.length;
+    }
+
+    private static long min(long[] values) {
+        long min = values[0];
+        for(long value : values)
+            min = Math.min(min, value);
+        return min;
+    }
+
+    //nearest rank, the 0th percentile is the minimum
+    private static long percentile(long[] values, int percentile) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank - 1, 0)];
+    }
+
+    public EvaluationSettings getSettings() {
+        return settings;
+    }
+}
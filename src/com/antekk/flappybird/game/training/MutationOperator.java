@@ -0,0 +1,27 @@
+package com.antekk.flappybird.game.training;
+
+import com.antekk.flappybird.game.ai.NeuralNetwork;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.random.RandomGenerator;
+
+public interface MutationOperator {
+    //called concurrently while a generation is bred, so it must not change the operator's state
+    void mutate(NeuralNetwork network, RandomGenerator random);
+
+    //called once per generation before breeding, adaptive operators tune themselves here
+    default void endGeneration(long bestFitness) {}
+
+    //adaptive state that has to survive a checkpoint
+    default void writeState(DataOutput out) throws IOException {}
+    default void readState(DataInput in) throws IOException {}
+
+    static MutationOperator of(TrainingSettings settings) {
+        return switch (settings.getMutation()) {
+            case BIAS_SWAP -> new BiasSwapMutation();
+            case GAUSSIAN -> new GaussianMutation(settings.getMutationRate(), settings.getMutationSigma());
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package com.antekk.flappybird.game.training;
+
+import com.antekk.flappybird.game.RandomSource;
+import com.antekk.flappybird.game.bird.Bird;
+import com.antekk.flappybird.game.bird.gamemodes.MlTrainingMode;
+import com.antekk.flappybird.game.world.Board;
+import com.antekk.flappybird.game.world.World;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+//headless comparison of the genetic operators: how many generations each combination needs to reach a score
+//usage: OperatorBenchmark [target score] [max generations] [runs] [population size]
+public class OperatorBenchmark {
+    private static final int BLOCK_SIZE = 50;
+
+    public static void main(String[] args) {
+        int targetScore = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int maxGenerations = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        int populationSize = args.length > 3 ? Integer.parseInt(args[3]) : 50;
+
+        Board board = Board.headless(BLOCK_SIZE);
+        //a bird that reaches the target needs ~2 seconds per pipe, anything longer than that is wasted time
+        PopulationEvaluator evaluator = new LockstepEvaluator((targetScore + 2) * 2L * World.TICKS_PER_SECOND);
+
+        System.out.println("Generations to score " + targetScore + " (" + runs + " runs, max " + maxGenerations + " generations)");
+        for(TrainingSettings.Crossover crossover : TrainingSettings.Crossover.values()) {
+            for(TrainingSettings.Mutation mutation : TrainingSettings.Mutation.values()) {
+                TrainingSettings settings = new TrainingSettings(populationSize, TrainingSettings.DEFAULT_ELITE_COUNT,
+                        TrainingSettings.Selection.TOURNAMENT, crossover, mutation,
+                        TrainingSettings.DEFAULT_MUTATION_RATE, TrainingSettings.DEFAULT_MUTATION_SIGMA);
+
+                int[] generations = new int[runs];
+                int solved = 0;
+                for(int run = 0; run < runs; run++) {
+                    generations[run] = generationsToScore(settings, board, evaluator, run + 1, targetScore, maxGenerations);
+                    if(generations[run] <= maxGenerations)
+                        solved++;
+                }
+                Arrays.sort(generations);
+                System.out.printf("%-16s %-10s solved %d/%d, median %s, mean %.1f%n", crossover, mutation, solved, runs,
+                        format(generations[runs / 2], maxGenerations), Arrays.stream(generations).average().orElse(0));
+            }
+        }
+    }
+
+    //returns maxGenerations + 1 when the score was never reached
+    private static int generationsToScore(TrainingSettings settings, Board board, PopulationEvaluator evaluator,
+                                          long seed, int targetScore, int maxGenerations) {
+        RandomSource.setRunSeed(seed);
+        MlTrainingMode mode = new MlTrainingMode(settings);
+        mode.init(board);
+        int pipeGap = 3 * board.getBlockSizePx();
+
+        for(int generation = 1; generation <= maxGenerations; generation++) {
+            ArrayList<Bird> birds = mode.getBirds();
+            evaluator.evaluate(birds, pipeGap, RandomSource.stream(RandomSource.COURSE_STREAM, generation).nextLong());
+            for(Bird bird : birds) {
+                if(bird.getPlayer().score >= targetScore)
+                    return generation;
+            }
+            mode.newPopulation();
+        }
+        return maxGenerations + 1;
+    }
+
+    private static String format(int generations, int maxGenerations) {
+        return generations > maxGenerations ? "-" : String.valueOf(generations);
+    }
+}
@@ -0,0 +1,108 @@
+package com.antekk.flappybird.game.training;
+
+import com.antekk.flappybird.game.ai.Inference;
+import com.antekk.flappybird.game.bird.Bird;
+import com.antekk.flappybird.game.world.World;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+//episodes run independently, so only the tick and distance caps apply here. Stagnation and the time budget
+//need the whole population to advance together, they are honoured on the board and by LockstepEvaluator.
+//Quantized inference only pays off over many networks, so then every task plays a batch of birds in lockstep
+//instead of a single one
+public class ParallelEvaluator implements PopulationEvaluator {
+    public static final long DEFAULT_MAX_TICKS_PER_EPISODE = 10L * 60 * World.TICKS_PER_SECOND;
+    private static final int QUANTIZED_BATCH_SIZE = 256;
+
+    private final ForkJoinPool pool;
+    private final GenerationLimits limits;
+    private final Inference inference;
+    private final LockstepEvaluator batchEvaluator;
+
+    public ParallelEvaluator() {
+        this(ForkJoinPool.commonPool(), GenerationLimits.getDefault());
+    }
+
+    public ParallelEvaluator(GenerationLimits limits) {
+        this(ForkJoinPool.commonPool(), limits);
+    }
+
+    public ParallelEvaluator(ForkJoinPool pool, long maxTicksPerEpisode) {
+        this(pool, GenerationLimits.ofTicks(maxTicksPerEpisode));
+    }
+
+    public ParallelEvaluator(GenerationLimits limits, Inference inference) {
+        this(ForkJoinPool.commonPool(), limits, inference);
+    }
+
+    public ParallelEvaluator(ForkJoinPool pool, GenerationLimits limits) {
+        this(pool, limits, Inference.FLOAT);
+    }
+
+    public ParallelEvaluator(ForkJoinPool pool, GenerationLimits limits, Inference inference) {
+        this.pool = pool;
+        this.limits = limits;
+        this.inference = inference;
+        //episodes stay independent, only the caps apply to a batch just like to a single episode
+        batchEvaluator = new LockstepEvaluator(new GenerationLimits(limits.getMaxTicks(), limits.getMaxDistance(), 0, 0),
+                inference);
+    }
+
+    @Override
+    public void evaluate(ArrayList<Bird> population, int pipeGap, long courseSeed) {
+        if(population.isEmpty())
+            return;
+        pool.invoke(new EpisodeTask(population, 0, population.size(), pipeGap, courseSeed));
+    }
+
+    public static void playEpisode(Bird bird, int pipeGap, long courseSeed, GenerationLimits limits) {
+        ArrayList<Bird> birds = new ArrayList<>(1);
+        birds.add(bird);
+        bird.resetPosition();
+
+        World world = new World(bird.getBoard(), pipeGap);
+        world.reset(birds, courseSeed);
+        long maxTicks = limits.getTickCap(world.getXDistancePerFrame());
+        while(bird.isAlive && world.getTicks() < maxTicks) {
+            world.step();
+        }
+    }
+
+    //fork/join tasks are never serialized, ForkJoinTask only implements Serializable for exception reporting
+    @SuppressWarnings("serial")
+    private class EpisodeTask extends RecursiveAction {
+        private final ArrayList<Bird> population;
+        private final int from;
+        private final int to;
+        private final int pipeGap;
+        private final long courseSeed;
+
+        private EpisodeTask(ArrayList<Bird> population, int from, int to, int pipeGap, long courseSeed) {
+            this.population = population;
+            this.from = from;
+            this.to = to;
+            this.pipeGap = pipeGap;
+            this.courseSeed = courseSeed;
+        }
+
+        @Override
+        protected void compute() {
+            if(to - from == 1 && inference == Inference.FLOAT) {
+                playEpisode(population.get(from), pipeGap, courseSeed, limits);
+                return;
+            }
+            if(to - from <= QUANTIZED_BATCH_SIZE && inference != Inference.FLOAT) {
+                batchEvaluator.evaluate(new ArrayList<>(population.subList(from, to)), pipeGap, courseSeed);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                    new EpisodeTask(population, from, middle, pipeGap, courseSeed),
+                    new EpisodeTask(population, middle, to, pipeGap, courseSeed)
+            );
+        }
+    }
+}
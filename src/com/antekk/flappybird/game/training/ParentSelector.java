@@ -0,0 +1,14 @@
+package com.antekk.flappybird.game.training;
+
+import java.util.random.RandomGenerator;
+
+public interface ParentSelector {
+    int select(RandomGenerator random);
+
+    static ParentSelector of(TrainingSettings.Selection selection, long[] fitness) {
+        return switch (selection) {
+            case TOURNAMENT -> new TournamentSelector(fitness, TrainingSettings.TOURNAMENT_SIZE);
+            case RANK -> new RankSelector(fitness);
+        };
+    }
+}
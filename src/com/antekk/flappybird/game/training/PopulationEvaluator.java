@@ -0,0 +1,9 @@
+package com.antekk.flappybird.game.training;
+
+import com.antekk.flappybird.game.bird.Bird;
+
+import java.util.ArrayList;
+
+public interface PopulationEvaluator {
+    void evaluate(ArrayList<Bird> population, int pipeGap, long courseSeed);
+}
@@ -0,0 +1,24 @@
+package com.antekk.flappybird.game.training;
+
+import java.util.random.RandomGenerator;
+
+//linear ranking, the best bird is picked n times as often as the worst one
+public class RankSelector implements ParentSelector {
+    private final long[] fitness;
+
+    public RankSelector(long[] fitness) {
+        this.fitness = fitness;
+    }
+
+    @Override
+    public int select(RandomGenerator random) {
+        //the better of two uniform draws has rank r (0 - best) with probability (2(n - r) - 1) / n^2, which is
+        //exactly the linear ranking density, so no sort is needed. Ties go to the lower index, as a stable ranking would
+        int n = fitness.length;
+        int a = random.nextInt(n);
+        int b = random.nextInt(n);
+        if(fitness[b] > fitness[a] || (fitness[b] == fitness[a] && b < a))
+            return b;
+        return a;
+    }
+}
@@ -0,0 +1,269 @@
+package com.antekk.flappybird.game.training;
+
+import com.antekk.flappybird.game.ai.Inference;
+import com.antekk.flappybird.game.ai.NeuralNetwork;
+import com.antekk.flappybird.game.bird.Bird;
+import com.antekk.flappybird.game.world.Board;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//coordinator side of multi-process training: the population stays here, worker processes on localhost only
+//get parameter vectors and course seeds in batches and send fitness back. A batch held by a worker that goes
+//away is put back at the front of the queue for the next one
+public class RemoteEvaluator implements PopulationEvaluator {
+    public static final int BATCH_SIZE = 16;
+    //batches a worker gets ahead of its answers, so it never waits on the round trip
+    private static final int BATCHES_IN_FLIGHT = 3;
+    //a worker that doesn't answer within this is treated as lost
+    private static final int WORKER_TIMEOUT_MILLIS = 60_000;
+    //without any worker for this long, generations are finished in this process instead of waiting forever
+    private static final long NO_WORKERS_TIMEOUT_NANOS = 5_000_000_000L;
+
+    private final Board board;
+    private final GenerationLimits limits;
+    private final Inference inference;
+    private final PopulationEvaluator localEvaluator;
+    private final ServerSocket server;
+    private final LinkedBlockingDeque<Batch> queue = new LinkedBlockingDeque<>();
+    private final CopyOnWriteArrayList<Socket> workers = new CopyOnWriteArrayList<>();
+    private final CopyOnWriteArrayList<Process> processes = new CopyOnWriteArrayList<>();
+    private final AtomicInteger nextBatchId = new AtomicInteger();
+    private final AtomicInteger connectedWorkers = new AtomicInteger();
+    private final AtomicInteger lostWorkers = new AtomicInteger();
+    private final AtomicInteger requeuedBatches = new AtomicInteger();
+    private volatile boolean running = true;
+    //since when no worker has been connected, starts counting before the first one shows up
+    private volatile long workerlessSince = System.nanoTime();
+
+    //the local evaluator plays what can't be sent: evolved topologies and batches nobody is left to take
+    public RemoteEvaluator(Board board, GenerationLimits limits, Inference inference, PopulationEvaluator localEvaluator) throws IOException {
+        this.board = board;
+        this.limits = limits;
+        this.inference = inference;
+        this.localEvaluator = localEvaluator;
+        this.server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+
+        Thread acceptor = new Thread(this::acceptWorkers, "Training coordinator");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    //workers are plain JVMs on the same classpath, they exit on their own once the coordinator's socket closes
+    public void startLocalWorkers(int count) throws IOException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        for(int i = 0; i < count; i++) {
+            processes.add(new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    RemoteWorker.class.getName(), server.getInetAddress().getHostAddress(), String.valueOf(getPort()))
+                    .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start());
+        }
+    }
+
+    @Override
+    public void evaluate(ArrayList<Bird> population, int pipeGap, long courseSeed) {
+        ArrayList<Bird> local = new ArrayList<>();
+        ArrayList<Bird> remote = new ArrayList<>();
+        for(Bird bird : population) {
+            if(bird.brain instanceof NeuralNetwork)
+                remote.add(bird);
+            else
+                local.add(bird);
+        }
+
+        int batchCount = (remote.size() + BATCH_SIZE - 1) / BATCH_SIZE;
+        CountDownLatch done = new CountDownLatch(batchCount);
+        ArrayList<Batch> batches = new ArrayList<>(batchCount);
+        for(int from = 0; from < remote.size(); from += BATCH_SIZE) {
+            Batch batch = new Batch(nextBatchId.getAndIncrement(), pipeGap, courseSeed,
+                    new ArrayList<>(remote.subList(from, Math.min(from + BATCH_SIZE, remote.size()))), done);
+            batches.add(batch);
+            queue.add(batch);
+        }
+
+        if(!local.isEmpty())
+            localEvaluator.evaluate(local, pipeGap, courseSeed);
+        awaitBatches(batches, done);
+    }
+
+    private void awaitBatches(ArrayList<Batch> batches, CountDownLatch done) {
+        try {
+            while(!done.await(100, TimeUnit.MILLISECONDS)) {
+                if(running && (connectedWorkers.get() > 0 || System.nanoTime() - workerlessSince < NO_WORKERS_TIMEOUT_NANOS))
+                    continue;
+
+                //only batches still waiting in the queue are taken back, one held by a worker is requeued if it dies
+                for(Batch batch : batches) {
+                    if(queue.remove(batch))
+                        batch.playLocally();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void acceptWorkers() {
+        while(running) {
+            try {
+                Socket socket = server.accept();
+                Thread thread = new Thread(() -> serve(socket), "Training worker connection");
+                thread.setDaemon(true);
+                thread.start();
+            } catch (IOException e) {
+                if(running)
+                    System.err.println("Training coordinator stopped accepting workers: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        ArrayDeque<Batch> inFlight = new ArrayDeque<>();
+        boolean connected = false;
+        workers.add(socket);
+        try(socket) {
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(WORKER_TIMEOUT_MILLIS);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+            RemoteProtocol.readHello(in);
+            RemoteProtocol.writeHello(out);
+            out.writeInt(board.getBlockSizePx());
+            out.writeInt(board.getTop());
+            out.writeInt(NeuralNetwork.PARAMETER_COUNT);
+            out.writeLong(limits.getMaxTicks());
+            out.writeLong(limits.getMaxDistance());
+            out.writeByte(inference.ordinal());
+            out.flush();
+            connected = true;
+            connectedWorkers.incrementAndGet();
+
+            while(running) {
+                if(inFlight.isEmpty()) {
+                    Batch first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if(first == null)
+                        continue;
+                    send(out, first, inFlight);
+                }
+                while(inFlight.size() < BATCHES_IN_FLIGHT) {
+                    Batch next = queue.poll();
+                    if(next == null)
+                        break;
+                    send(out, next, inFlight);
+                }
+                out.flush();
+
+                Batch answered = inFlight.peek();
+                answered.complete(RemoteProtocol.readResults(in, answered.id, answered.birds.size()));
+                inFlight.poll();
+            }
+        } catch (IOException e) {
+            if(running && !(e instanceof SocketException && socket.isClosed()))
+                System.err.println("Lost a training worker: " + e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            workers.remove(socket);
+            if(connected && connectedWorkers.decrementAndGet() == 0)
+                workerlessSince = System.nanoTime();
+            if(!inFlight.isEmpty() && running) {
+                lostWorkers.incrementAndGet();
+                requeuedBatches.addAndGet(inFlight.size());
+            }
+            //back to the front in their original order, they are the oldest work
+            for(Iterator<Batch> it = inFlight.descendingIterator(); it.hasNext(); )
+                queue.addFirst(it.next());
+        }
+    }
+
+    private static void send(DataOutputStream out, Batch batch, ArrayDeque<Batch> inFlight) throws IOException {
+        inFlight.add(batch);
+        RemoteProtocol.writeBatch(out, batch.id, batch.pipeGap, batch.courseSeed, batch.parameters);
+    }
+
+    //stops the workers too, any generation still waiting finishes locally
+    public void shutdown() {
+        running = false;
+        try {
+            server.close();
+        } catch (IOException e) {
+            System.err.println("Cannot close the training coordinator socket: " + e.getMessage());
+        }
+        for(Socket socket : workers) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {}
+        }
+        for(Process process : processes)
+            process.destroy();
+    }
+
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    public int getConnectedWorkers() {
+        return connectedWorkers.get();
+    }
+
+    public int getLostWorkers() {
+        return lostWorkers.get();
+    }
+
+    public int getRequeuedBatches() {
+        return requeuedBatches.get();
+    }
+
+    private class Batch {
+        private final int id;
+        private final int pipeGap;
+        private final long courseSeed;
+        private final ArrayList<Bird> birds;
+        private final float[][] parameters;
+        private final CountDownLatch done;
+        //a batch is only ever answered once, but a late answer after a local replay must not count twice
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private Batch(int id, int pipeGap, long courseSeed, ArrayList<Bird> birds, CountDownLatch done) {
+            this.id = id;
+            this.pipeGap = pipeGap;
+            this.courseSeed = courseSeed;
+            this.birds = birds;
+            this.done = done;
+            parameters = new float[birds.size()][];
+            for(int i = 0; i < parameters.length; i++)
+                parameters[i] = ((NeuralNetwork) birds.get(i).brain).getParameters().clone();
+        }
+
+        private void complete(FitnessCache.Result[] results) {
+            if(!completed.compareAndSet(false, true))
+                return;
+            for(int i = 0; i < results.length; i++)
+                results[i].applyTo(birds.get(i));
+            done.countDown();
+        }
+
+        private void playLocally() {
+            localEvaluator.evaluate(birds, pipeGap, courseSeed);
+            FitnessCache.Result[] results = new FitnessCache.Result[birds.size()];
+            for(int i = 0; i < results.length; i++)
+                results[i] = FitnessCache.Result.of(birds.get(i));
+            complete(results);
+        }
+    }
+}
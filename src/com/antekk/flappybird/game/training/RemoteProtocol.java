@@ -0,0 +1,78 @@
+package com.antekk.flappybird.game.training;
+
+import com.antekk.flappybird.game.ai.NeuralNetwork;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+//framing shared by the coordinator and its workers. A worker opens with the magic and version, the coordinator
+//answers with everything needed to rebuild the board, then only batches and their results go over the wire
+final class RemoteProtocol {
+    static final int MAGIC = 0x46425257; //"FBRW"
+    static final int VERSION = 2;
+    static final byte BATCH = 1;
+    static final byte RESULTS = 2;
+
+    private RemoteProtocol() {}
+
+    static void writeHello(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+    }
+
+    static void readHello(DataInputStream in) throws IOException {
+        if(in.readInt() != MAGIC)
+            throw new IOException("Peer doesn't speak the training worker protocol");
+        int version = in.readInt();
+        if(version != VERSION)
+            throw new IOException("Unsupported training worker protocol version " + version);
+    }
+
+    static void writeBatch(DataOutputStream out, int batchId, int pipeGap, long courseSeed, float[][] parameters) throws IOException {
+        out.writeByte(BATCH);
+        out.writeInt(batchId);
+        out.writeInt(pipeGap);
+        out.writeLong(courseSeed);
+        out.writeInt(parameters.length);
+        for(float[] network : parameters) {
+            for(float parameter : network)
+                out.writeFloat(parameter);
+        }
+    }
+
+    static void writeResults(DataOutputStream out, int batchId, FitnessCache.Result[] results) throws IOException {
+        out.writeByte(RESULTS);
+        out.writeInt(batchId);
+        out.writeInt(results.length);
+        for(FitnessCache.Result result : results) {
+            out.writeLong(result.fitness());
+            out.writeLong(result.score());
+            out.writeBoolean(result.alive());
+        }
+    }
+
+    static FitnessCache.Result[] readResults(DataInputStream in, int expectedBatchId, int expectedCount) throws IOException {
+        if(in.readByte() != RESULTS)
+            throw new IOException("Expected results from the worker");
+        int batchId = in.readInt();
+        int count = in.readInt();
+        //workers answer strictly in order, anything else means the stream is out of sync
+        if(batchId != expectedBatchId || count != expectedCount)
+            throw new IOException("Worker answered batch " + batchId + " instead of " + expectedBatchId);
+
+        FitnessCache.Result[] results = new FitnessCache.Result[count];
+        for(int i = 0; i < count; i++)
+            results[i] = new FitnessCache.Result(in.readLong(), in.readLong(), in.readBoolean());
+        return results;
+    }
+
+    static float[][] readParameters(DataInputStream in, int count) throws IOException {
+        float[][] parameters = new float[count][NeuralNetwork.PARAMETER_COUNT];
+        for(float[] network : parameters) {
+            for(int p = 0; p < network.length; p++)
+                network[p] = in.readFloat();
+        }
+        return parameters;
+    }
+}
@@ -0,0 +1,65 @@
+package com.antekk.flappybird.game.training;
+
+import com.antekk.flappybird.game.ai.Inference;
+import com.antekk.flappybird.game.ai.NeuralNetwork;
+import com.antekk.flappybird.game.bird.Bird;
+import com.antekk.flappybird.game.world.Board;
+
+import java.io.*;
+import java.net.Socket;
+import java.util.ArrayList;
+
+//evaluation worker process, started by RemoteEvaluator. Args: coordinator host, coordinator port
+public class RemoteWorker {
+    public static void main(String[] args) throws IOException {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = Integer.parseInt(args[1]);
+
+        try(Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            RemoteProtocol.writeHello(out);
+            out.flush();
+
+            RemoteProtocol.readHello(in);
+            Board board = new Board(in.readInt(), in.readInt());
+            if(in.readInt() != NeuralNetwork.PARAMETER_COUNT)
+                throw new IOException("Coordinator network layout doesn't match this version of the game");
+            //only the caps, the rest of the limits depends on which birds happen to share a batch
+            GenerationLimits limits = new GenerationLimits(in.readLong(), in.readLong(), 0, 0);
+            int inference = in.readByte();
+            if(inference < 0 || inference >= Inference.values().length)
+                throw new IOException("Unknown inference " + inference + " from the coordinator");
+            PopulationEvaluator evaluator = new LockstepEvaluator(limits, Inference.values()[inference]);
+
+            while(true) {
+                int type;
+                try {
+                    type = in.readByte();
+                } catch (EOFException e) {
+                    //the coordinator closed the connection, that's the normal way to stop
+                    return;
+                }
+                if(type != RemoteProtocol.BATCH)
+                    throw new IOException("Unknown message " + type + " from the coordinator");
+
+                int batchId = in.readInt();
+                int pipeGap = in.readInt();
+                long courseSeed = in.readLong();
+                float[][] parameters = RemoteProtocol.readParameters(in, in.readInt());
+
+                ArrayList<Bird> birds = new ArrayList<>(parameters.length);
+                for(float[] network : parameters)
+                    birds.add(new Bird(board, NeuralNetwork.fromParameters(network)));
+                evaluator.evaluate(birds, pipeGap, courseSeed);
+
+                FitnessCache.Result[] results = new FitnessCache.Result[birds.size()];
+                for(int i = 0; i < results.length; i++)
+                    results[i] = FitnessCache.Result.of(birds.get(i));
+                RemoteProtocol.writeResults(out, batchId, results);
+                out.flush();
+            }
+        }
+    }
+}
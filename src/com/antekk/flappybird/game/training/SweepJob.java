@@ -0,0 +1,77 @@
+package com.antekk.flappybird.game.training;
+
+import com.antekk.flappybird.game.RandomSource;
+import com.antekk.flappybird.game.ai.Inference;
+import com.antekk.flappybird.game.bird.Bird;
+import com.antekk.flappybird.game.bird.gamemodes.MlTrainingMode;
+import com.antekk.flappybird.game.world.Board;
+import com.antekk.flappybird.game.world.World;
+
+import java.util.ArrayList;
+
+//one headless training run of a sweep. Jobs share the run seed, a replicate index picks their random streams,
+//so two configurations with the same replicate see the same courses and differ only by their settings
+public class SweepJob {
+    public record Result(int generationsToTarget, long bestScore, int generations, double seconds) {
+        public boolean reachedTarget() {
+            return generationsToTarget > 0;
+        }
+    }
+
+    private final TrainingSettings settings;
+    private final int blockSize;
+    private final int pipeGap;
+    private final int replicate;
+    private final Inference inference;
+
+    public SweepJob(TrainingSettings settings, int blockSize, int pipeGap, int replicate, Inference inference) {
+        this.settings = settings;
+        this.blockSize = blockSize;
+        this.pipeGap = pipeGap;
+        this.replicate = replicate;
+        this.inference = inference;
+    }
+
+    public Result run(int targetScore, int maxGenerations) {
+        long start = System.nanoTime();
+        Board board = Board.headless(blockSize);
+        //a bird that reaches the target needs ~2 seconds per pipe, anything longer than that is wasted time
+        PopulationEvaluator evaluator = new LockstepEvaluator(
+                GenerationLimits.ofTicks((targetScore + 2) * 2L * World.TICKS_PER_SECOND), inference);
+        MlTrainingMode mode = new MlTrainingMode(settings, replicate);
+        mode.init(board);
+
+        long bestScore = 0;
+        int generation = 1;
+        for(; generation <= maxGenerations; generation++) {
+            ArrayList<Bird> birds = mode.getBirds();
+            evaluator.evaluate(birds, pipeGap, RandomSource.stream(RandomSource.COURSE_STREAM, replicate, generation).nextLong());
+            for(Bird bird : birds)
+                bestScore = Math.max(bestScore, bird.getPlayer().score);
+            if(bestScore >= targetScore)
+                return new Result(generation, bestScore, generation, (System.nanoTime() - start) / 1e9);
+            mode.newPopulation();
+        }
+        return new Result(0, bestScore, maxGenerations, (System.nanoTime() - start) / 1e9);
+    }
+
+    public TrainingSettings getSettings() {
+        return settings;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public int getPipeGap() {
+        return pipeGap;
+    }
+
+    public int getReplicate() {
+        return replicate;
+    }
+
+    public Inference getInference() {
+        return inference;
+    }
+}
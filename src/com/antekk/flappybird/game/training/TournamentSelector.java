@@ -0,0 +1,24 @@
+package com.antekk.flappybird.game.training;
+
+import java.util.random.RandomGenerator;
+
+public class TournamentSelector implements ParentSelector {
+    private final long[] fitness;
+    private final int tournamentSize;
+
+    public TournamentSelector(long[] fitness, int tournamentSize) {
+        this.fitness = fitness;
+        this.tournamentSize = tournamentSize;
+    }
+
+    @Override
+    public int select(RandomGenerator random) {
+        int best = random.nextInt(fitness.length);
+        for(int i = 1; i < tournamentSize; i++) {
+            int contender = random.nextInt(fitness.length);
+            if(fitness[contender] > fitness[best])
+                best = contender;
+        }
+        return best;
+    }
+}
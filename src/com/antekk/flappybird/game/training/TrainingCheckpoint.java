@@ -0,0 +1,163 @@
+package com.antekk.flappybird.game.training;
+
+import com.antekk.flappybird.game.ai.NeuralNetwork;
+
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+//snapshot of an evaluated generation, taken right before it is bred. Random streams are keyed by the run seed,
+//the generation and the course counter, so those three numbers are the whole random state
+public class TrainingCheckpoint {
+    public static final File DEFAULT_FILE = new File("flappy_bird_checkpoint.bin");
+    private static final int MAGIC = 0x46424350; //"FBCP"
+    private static final int VERSION = 1;
+
+    private final long runSeed;
+    private final int generation;
+    private final long coursesPlayed;
+    private final TrainingSettings settings;
+    private final byte[] mutationState;
+    private final long[] fitness;
+    private final float[][] parameters;
+
+    public TrainingCheckpoint(long runSeed, int generation, long coursesPlayed, TrainingSettings settings,
+                              byte[] mutationState, long[] fitness, float[][] parameters) {
+        this.runSeed = runSeed;
+        this.generation = generation;
+        this.coursesPlayed = coursesPlayed;
+        this.settings = settings;
+        this.mutationState = mutationState;
+        this.fitness = fitness;
+        this.parameters = parameters;
+    }
+
+    //written next to the target and renamed over it, a crash mid-write leaves the previous checkpoint intact
+    public void writeTo(File file) throws IOException {
+        File temporary = new File(file.getPath() + ".tmp");
+        CRC32 crc = new CRC32();
+        try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(new FileOutputStream(temporary), crc)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(runSeed);
+            out.writeInt(generation);
+            out.writeLong(coursesPlayed);
+
+            out.writeInt(settings.getPopulationSize());
+            out.writeInt(settings.getEliteCount());
+            out.writeUTF(settings.getSelection().name());
+            out.writeUTF(settings.getCrossover().name());
+            out.writeUTF(settings.getMutation().name());
+            out.writeFloat(settings.getMutationRate());
+            out.writeFloat(settings.getMutationSigma());
+            out.writeInt(mutationState.length);
+            out.write(mutationState);
+
+            out.writeInt(parameters.length);
+            out.writeInt(NeuralNetwork.PARAMETER_COUNT);
+            for(int i = 0; i < parameters.length; i++) {
+                out.writeLong(fitness[i]);
+                for(float parameter : parameters[i])
+                    out.writeFloat(parameter);
+            }
+            out.flush();
+            //the checksum covers everything above, it is read back the same way
+            out.writeLong(crc.getValue());
+        }
+
+        try {
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public static TrainingCheckpoint readFrom(File file) throws IOException {
+        CRC32 crc = new CRC32();
+        try(CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(new FileInputStream(file)), crc);
+            DataInputStream in = new DataInputStream(checked)) {
+            if(in.readInt() != MAGIC)
+                throw new IOException(file + " is not a training checkpoint");
+            int version = in.readInt();
+            if(version != VERSION)
+                throw new IOException("Unsupported checkpoint version " + version);
+
+            long runSeed = in.readLong();
+            int generation = in.readInt();
+            long coursesPlayed = in.readLong();
+
+            TrainingSettings settings;
+            try {
+                settings = new TrainingSettings(in.readInt(), in.readInt(),
+                        TrainingSettings.Selection.valueOf(in.readUTF()),
+                        TrainingSettings.Crossover.valueOf(in.readUTF()),
+                        TrainingSettings.Mutation.valueOf(in.readUTF()),
+                        in.readFloat(), in.readFloat());
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Unknown training settings in checkpoint", e);
+            }
+            int mutationStateLength = in.readInt();
+            checkLength(mutationStateLength, in, file);
+            byte[] mutationState = new byte[mutationStateLength];
+            in.readFully(mutationState);
+
+            int birds = in.readInt();
+            int parameterCount = in.readInt();
+            if(parameterCount != NeuralNetwork.PARAMETER_COUNT)
+                throw new IOException("Checkpoint network layout doesn't match this version of the game");
+            //every bird is its fitness and parameters, the checksum follows them
+            checkLength(birds < 0 ? -1 : birds * (Long.BYTES + (long) parameterCount * Float.BYTES) + Long.BYTES, in, file);
+            long[] fitness = new long[birds];
+            float[][] parameters = new float[birds][parameterCount];
+            for(int i = 0; i < birds; i++) {
+                fitness[i] = in.readLong();
+                for(int p = 0; p < parameterCount; p++)
+                    parameters[i][p] = in.readFloat();
+            }
+
+            long expected = crc.getValue();
+            if(in.readLong() != expected)
+                throw new IOException("Checkpoint " + file + " is corrupted");
+            return new TrainingCheckpoint(runSeed, generation, coursesPlayed, settings, mutationState, fitness, parameters);
+        }
+    }
+
+    //lengths are read before the checksum can vouch for them, a damaged one must not decide how much is allocated.
+    //Nothing is buffered above the file stream, so what it has available is the rest of the file
+    private static void checkLength(long bytes, DataInputStream in, File file) throws IOException {
+        if(bytes < 0 || bytes > in.available())
+            throw new IOException("Checkpoint " + file + " is corrupted");
+    }
+
+    public long getRunSeed() {
+        return runSeed;
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    public long getCoursesPlayed() {
+        return coursesPlayed;
+    }
+
+    public TrainingSettings getSettings() {
+        return settings;
+    }
+
+    public byte[] getMutationState() {
+        return mutationState;
+    }
+
+    public long[] getFitness() {
+        return fitness;
+    }
+
+    public float[][] getParameters() {
+        return parameters;
+    }
+}
@@ -0,0 +1,148 @@
+package com.antekk.flappybird.game.training;
+
+import java.util.Objects;
+
+public final class TrainingSettings {
+    public static final int DEFAULT_POPULATION_SIZE = 10;
+    public static final int DEFAULT_ELITE_COUNT = 4;
+    public static final float DEFAULT_MUTATION_RATE = 0.1f;
+    public static final float DEFAULT_MUTATION_SIGMA = 0.2f;
+    public static final int TOURNAMENT_SIZE = 3;
+    //populations smaller than this aren't worth splitting across threads
+    public static final int PARALLEL_BREEDING_THRESHOLD = 1024;
+
+    public enum Selection {
+        TOURNAMENT("Tournament"),
+        RANK("Rank");
+
+        private final String label;
+
+        Selection(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    public enum Crossover {
+        BIAS_CUT("Bias cut point"),
+        UNIFORM("Uniform"),
+        ARITHMETIC("Arithmetic");
+
+        private final String label;
+
+        Crossover(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    public enum Mutation {
+        BIAS_SWAP("Bias swap"),
+        GAUSSIAN("Gaussian");
+
+        private final String label;
+
+        Mutation(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private final int populationSize;
+    private final int eliteCount;
+    private final Selection selection;
+    private final Crossover crossover;
+    private final Mutation mutation;
+    private final float mutationRate;
+    private final float mutationSigma;
+
+    public TrainingSettings(int populationSize, int eliteCount, Selection selection) {
+        this(populationSize, eliteCount, selection, Crossover.BIAS_CUT, Mutation.BIAS_SWAP,
+                DEFAULT_MUTATION_RATE, DEFAULT_MUTATION_SIGMA);
+    }
+
+    public TrainingSettings(int populationSize, int eliteCount, Selection selection, Crossover crossover,
+                            Mutation mutation, float mutationRate, float mutationSigma) {
+        //every generation needs room for the fresh network and at least one offspring
+        this.populationSize = Math.max(populationSize, 3);
+        this.eliteCount = Math.min(Math.max(eliteCount, 0), this.populationSize - 2);
+        this.selection = selection;
+        this.crossover = crossover;
+        this.mutation = mutation;
+        this.mutationRate = Math.min(Math.max(mutationRate, 0), 1);
+        this.mutationSigma = Math.max(mutationSigma, 0);
+    }
+
+    public static TrainingSettings getDefault() {
+        return new TrainingSettings(DEFAULT_POPULATION_SIZE, DEFAULT_ELITE_COUNT, Selection.TOURNAMENT);
+    }
+
+    public CrossoverOperator createCrossover() {
+        return CrossoverOperator.of(crossover);
+    }
+
+    public MutationOperator createMutation() {
+        return MutationOperator.of(this);
+    }
+
+    public int getPopulationSize() {
+        return populationSize;
+    }
+
+    public int getEliteCount() {
+        return eliteCount;
+    }
+
+    public Selection getSelection() {
+        return selection;
+    }
+
+    public Crossover getCrossover() {
+        return crossover;
+    }
+
+    public Mutation getMutation() {
+        return mutation;
+    }
+
+    public float getMutationRate() {
+        return mutationRate;
+    }
+
+    public float getMutationSigma() {
+        return mutationSigma;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(!(o instanceof TrainingSettings other))
+            return false;
+        return populationSize == other.populationSize && eliteCount == other.eliteCount &&
+                selection == other.selection && crossover == other.crossover && mutation == other.mutation &&
+                mutationRate == other.mutationRate && mutationSigma == other.mutationSigma;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(populationSize, eliteCount, selection, crossover, mutation, mutationRate, mutationSigma);
+    }
+
+    @Override
+    public String toString() {
+        return "population " + populationSize + ", elites " + eliteCount + ", " + selection + " selection, " +
+                crossover + " crossover, " + mutation + " mutation" +
+                (mutation == Mutation.GAUSSIAN ? " (rate " + mutationRate + ", sigma " + mutationSigma + ")" : "");
+    }
+}
@@ -0,0 +1,20 @@
+package com.antekk.flappybird.game.training;
+
+import com.antekk.flappybird.game.ai.NeuralNetwork;
+
+import java.util.random.RandomGenerator;
+
+//every parameter, weights included, comes from either parent with equal odds
+public class UniformCrossover implements CrossoverOperator {
+    @Override
+    public NeuralNetwork cross(NeuralNetwork parent1, NeuralNetwork parent2, RandomGenerator random) {
+        NeuralNetwork child = parent1.clone();
+        float[] params = child.getParameters();
+        float[] other = parent2.getParameters();
+        for(int i = 0; i < params.length; i++) {
+            if(random.nextBoolean())
+                params[i] = other[i];
+        }
+        return child;
+    }
+}
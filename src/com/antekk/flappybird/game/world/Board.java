@@ -0,0 +1,61 @@
+package com.antekk.flappybird.game.world;
+
+public final class Board {
+    public static final int ROWS = 16;
+    public static final int COLS = 12;
+    public static final int TOOLBAR_BORDER = 2;
+
+    private final int blockSizePx;
+    private final int left;
+    private final int top;
+    private final int right;
+    private final int bottom;
+    private final int ground;
+
+    public Board(int blockSizePx, int top) {
+        this.blockSizePx = blockSizePx;
+        this.left = 0;
+        this.top = top;
+        this.right = COLS * blockSizePx;
+        this.bottom = ROWS * blockSizePx;
+        this.ground = bottom - 3 * blockSizePx;
+    }
+
+    //the board sits under the window's toolbar, whose buttons are 0.65 of a block high with a border under them.
+    //headless runs use the same top offset, so what they train and measure carries over to the game
+    public static int getToolbarButtonHeight(int blockSizePx) {
+        return (int) (0.65 * blockSizePx);
+    }
+
+    public static int getToolbarHeight(int blockSizePx) {
+        return getToolbarButtonHeight(blockSizePx) + TOOLBAR_BORDER;
+    }
+
+    public static Board headless(int blockSizePx) {
+        return new Board(blockSizePx, getToolbarHeight(blockSizePx));
+    }
+
+    public int getBlockSizePx() {
+        return blockSizePx;
+    }
+
+    public int getLeft() {
+        return left;
+    }
+
+    public int getTop() {
+        return top;
+    }
+
+    public int getRight() {
+        return right;
+    }
+
+    public int getBottom() {
+        return bottom;
+    }
+
+    public int getGround() {
+        return ground;
+    }
+}
@@ -0,0 +1,45 @@
+package com.antekk.flappybird.game.world;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class FlapTrajectory {
+    public static final int RISE_FRAMES = 90;
+    public static final int RISE_FRAME_STEP = 6;
+    public static final int FALL_FRAME_STEP = 9;
+
+    private static final ConcurrentHashMap<Integer, FlapTrajectory> cache = new ConcurrentHashMap<>();
+
+    private final float movementSineMultiplier;
+    //displacement passed to moveUpBy, indexed directly by framesSinceBirdStartedMoving
+    private final int[] rise = new int[RISE_FRAMES];
+    private final int[] fall = new int[RISE_FRAMES + 1];
+
+    private FlapTrajectory(int blockSizePx) {
+        movementSineMultiplier = (float) blockSizePx / 6;
+        for(int frames = 0; frames < rise.length; frames++)
+            rise[frames] = computeRise(frames);
+        for(int frames = 0; frames < fall.length; frames++)
+            fall[frames] = computeFall(frames);
+    }
+
+    public static FlapTrajectory forBlockSize(int blockSizePx) {
+        return cache.computeIfAbsent(blockSizePx, FlapTrajectory::new);
+    }
+
+    //frames outside the table only happen for states loaded from elsewhere, those fall back to the formula
+    public int rise(int frames) {
+        return frames >= 0 && frames < rise.length ? rise[frames] : computeRise(frames);
+    }
+
+    public int fall(int frames) {
+        return frames >= 0 && frames < fall.length ? fall[frames] : computeFall(frames);
+    }
+
+    private int computeRise(int frames) {
+        return (int) Math.floor(movementSineMultiplier * Math.cos((double) frames / World.TICKS_PER_SECOND));
+    }
+
+    private int computeFall(int frames) {
+        return (int) -Math.ceil((movementSineMultiplier * Math.sin((double) frames / World.TICKS_PER_SECOND)));
+    }
+}
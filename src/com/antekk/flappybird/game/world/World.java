@@ -0,0 +1,234 @@
+package com.antekk.flappybird.game.world;
+
+import com.antekk.flappybird.game.RandomSource;
+import com.antekk.flappybird.game.bird.Bird;
+import com.antekk.flappybird.game.bird.BirdPopulation;
+import com.antekk.flappybird.game.pipes.PipeCourse;
+import com.antekk.flappybird.game.pipes.PipeFormation;
+import com.antekk.flappybird.game.player.FlappyBirdPlayer;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+public class World {
+    public static final int TICKS_PER_SECOND = 60;
+    private static final int MAX_FRAMES_SINCE_PIPE_SPAWN = 90;
+
+    private final Board board;
+    private final PipeCourse pipes;
+    private ArrayList<Bird> birds = new ArrayList<>();
+    private BirdPopulation population;
+    private int pipeGap;
+    private int framesSincePipeSpawned = 0;
+    private long ticks = 0;
+    private int birdHitboxX = 0;
+    private Consumer<Bird> birdDeathListener = bird -> {};
+    private SplittableRandom courseRandom = RandomSource.get().split();
+
+    private final int X_DISTANCE_PER_FRAME;
+    private final FlapTrajectory trajectory;
+
+    public World(Board board, int pipeGap) {
+        this.board = board;
+        this.pipeGap = pipeGap;
+        X_DISTANCE_PER_FRAME = (int) (0.067 * board.getBlockSizePx());
+        trajectory = FlapTrajectory.forBlockSize(board.getBlockSizePx());
+        pipes = new PipeCourse(board, X_DISTANCE_PER_FRAME, MAX_FRAMES_SINCE_PIPE_SPAWN);
+    }
+
+    public void reset(ArrayList<Bird> birds) {
+        this.birds = birds;
+        this.population = null;
+        resetCourse();
+    }
+
+    public void reset(ArrayList<Bird> birds, long courseSeed) {
+        courseRandom = new SplittableRandom(courseSeed);
+        reset(birds);
+    }
+
+    public void reset(BirdPopulation population) {
+        this.birds = population.getBirds();
+        this.population = population;
+        resetCourse();
+    }
+
+    public void reset(BirdPopulation population, long courseSeed) {
+        courseRandom = new SplittableRandom(courseSeed);
+        reset(population);
+    }
+
+    private void resetCourse() {
+        pipes.clear();
+        framesSincePipeSpawned = 0;
+        ticks = 0;
+        birdHitboxX = birds.isEmpty() ? 0 : birds.get(0).getHitboxPosX();
+        pipes.spawn(pipeGap, courseRandom);
+        pipes.updateCursor(birdHitboxX);
+    }
+
+    public void step() {
+        if(population != null) {
+            pipeLogic();
+            population.step(this);
+            ticks++;
+            return;
+        }
+
+        for(Bird bird : birds)
+            bird.savePreviousPosition();
+
+        pipeLogic();
+
+        for(Bird bird : birds) {
+            birdLogic(bird);
+            birdDeathLogic(bird);
+        }
+
+        scoreLogic();
+        ticks++;
+    }
+
+    public void syncBirdViews() {
+        if(population != null)
+            population.syncViews(this);
+    }
+
+    public boolean areAllBirdsDead() {
+        if(population != null)
+            return population.getAliveCount() == 0;
+
+        for(Bird bird : birds) {
+            if(bird.isAlive)
+                return false;
+        }
+        return true;
+    }
+
+    public int getAliveCount() {
+        if(population != null)
+            return population.getAliveCount();
+
+        int alive = 0;
+        for(Bird bird : birds) {
+            if(bird.isAlive)
+                alive++;
+        }
+        return alive;
+    }
+
+    private void birdDeathLogic(Bird bird) {
+        boolean wasAlive = bird.isAlive;
+
+        //bird collided with the ground
+        if (bird.getSpritePosY() >= board.getGround()) {
+            bird.isAlive = false;
+        }
+
+        //collision with pipes, only the pipe the birds are at and the one after it can be touched
+        if(collidesWith(bird, pipes.getCurrent()) || collidesWith(bird, pipes.getNext())) {
+            bird.isAlive = false;
+        }
+
+        if(wasAlive && !bird.isAlive)
+            birdDeathListener.accept(bird);
+    }
+
+    private static boolean collidesWith(Bird bird, PipeFormation pipeFormation) {
+        return pipeFormation != null && bird.collidesWithPipeFormation(pipeFormation);
+    }
+
+    private static boolean isBetween(Bird bird, PipeFormation pipeFormation) {
+        return pipeFormation != null && bird.isBetweenPipes(pipeFormation);
+    }
+
+    private void scoreLogic() {
+        PipeFormation current = pipes.getCurrent();
+        PipeFormation next = pipes.getNext();
+
+        for(Bird bird : birds) {
+            boolean isBetween = isBetween(bird, current) || isBetween(bird, next);
+            FlappyBirdPlayer player = bird.getPlayer();
+            if (bird.isAlive && !player.wasScoreAddedAtPipe && isBetween) {
+                player.addScore();
+            }
+            player.wasScoreAddedAtPipe = isBetween;
+        }
+    }
+
+    private void pipeLogic() {
+        if(framesSincePipeSpawned >= MAX_FRAMES_SINCE_PIPE_SPAWN) {
+            pipes.spawn(pipeGap, courseRandom);
+            framesSincePipeSpawned = 0;
+        }
+
+        pipes.moveX(-X_DISTANCE_PER_FRAME);
+        pipes.updateCursor(birdHitboxX);
+        framesSincePipeSpawned++;
+    }
+
+    private void birdLogic(Bird bird) {
+        if(!bird.isAlive && bird.getSpriteXPos() >= board.getLeft() - bird.getSpriteWidth()) {
+            bird.moveHorizontallyBy(X_DISTANCE_PER_FRAME);
+            return;
+        }
+
+        if (bird.framesSinceBirdStartedMoving >= FlapTrajectory.RISE_FRAMES && bird.isMovingUp) {
+            bird.isMovingUp = false;
+            bird.framesSinceBirdStartedMoving = 0;
+        }
+
+        if (!bird.isMovingUp) {
+            bird.rotationAngle++;
+            bird.moveUpBy(trajectory.fall(bird.framesSinceBirdStartedMoving));
+            if (bird.framesSinceBirdStartedMoving < FlapTrajectory.RISE_FRAMES)
+                bird.framesSinceBirdStartedMoving += FlapTrajectory.FALL_FRAME_STEP;
+        }
+
+        if (bird.isMovingUp) {
+            bird.rotationAngle = 0;
+            bird.moveUpBy(trajectory.rise(bird.framesSinceBirdStartedMoving));
+            bird.framesSinceBirdStartedMoving += FlapTrajectory.RISE_FRAME_STEP;
+        }
+
+        bird.totalTraveledDistance += X_DISTANCE_PER_FRAME;
+        bird.performNextMlMove(pipes);
+    }
+
+    public void setBirdDeathListener(Consumer<Bird> birdDeathListener) {
+        this.birdDeathListener = birdDeathListener;
+    }
+
+    public void setPipeGap(int pipeGap) {
+        this.pipeGap = pipeGap;
+    }
+
+    public int getPipeGap() {
+        return pipeGap;
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    public PipeCourse getPipes() {
+        return pipes;
+    }
+
+    public ArrayList<Bird> getBirds() {
+        return birds;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public int getXDistancePerFrame() {
+        return X_DISTANCE_PER_FRAME;
+    }
+
+    public FlapTrajectory getTrajectory() {
+        return trajectory;
+    }
+}
@@ -1,6 +1,7 @@
 package com.antekk.flappybird.view;
 
 import com.antekk.flappybird.game.ConfigJSON;
+import com.antekk.flappybird.game.ai.NetworkLibrary;
 
 import javax.swing.*;
 import java.awt.*;
@@ -32,18 +33,59 @@ public final class DialogComponentFactory {
             if(fileName == null || fileName.isBlank())
                 return;
 
-            parent.getGameLoop().getSmartestBrain().saveToJSON(fileName);
+            parent.getGameLoop().getSmartestBrain().save(fileName);
 
         });
         saveNetworkToJSONButton.setTransferHandler(getButtonTransferHandler(fileName -> {
             if(fileName == null || fileName.isBlank())
                 return;
-            parent.getGameLoop().getSmartestBrain().saveToJSON(fileName);
+            parent.getGameLoop().getSmartestBrain().save(fileName);
         }, saveNetworkToJSONButton));
 
         return saveNetworkToJSONButton;
     }
 
+    static JButton getSaveNetworkToLibraryButton(GamePanel parent, NetworkLibrary library) {
+        JButton saveNetworkToLibraryButton = new JButton("Save to library");
+        saveNetworkToLibraryButton.addActionListener(e -> {
+            if(!parent.getGameLoop().getGameMode().isTrainingMode())
+                return;
+
+            try {
+                NetworkLibrary.Entry entry = library.add(parent.getGameLoop().getSmartestBrain());
+                JOptionPane.showMessageDialog(saveNetworkToLibraryButton, "Saved as " + entry.getName(),
+                        "Network library", JOptionPane.INFORMATION_MESSAGE);
+            } catch (IOException ex) {
+                new ErrorDialog("Cannot save the neural network to the library", ex);
+            }
+        });
+        return saveNetworkToLibraryButton;
+    }
+
+    static JButton getOpenNetworkLibraryButton(OptionsDialog optionsDialog, NetworkLibrary library, JSpinner pipesGap) {
+        JButton openNetworkLibraryButton = new JButton("Browse");
+        openNetworkLibraryButton.addActionListener(e ->
+                new NetworkLibraryDialog(optionsDialog, library, (int) pipesGap.getValue()).setVisible(true));
+        return openNetworkLibraryButton;
+    }
+
+    static JButton getAddEnsembleNetworksButton(OptionsDialog optionsDialog) {
+        JButton addEnsembleNetworksButton = new JButton("Add");
+        addEnsembleNetworksButton.addActionListener(e -> {
+            FileDialog dialog = new FileDialog(optionsDialog);
+            dialog.setMode(FileDialog.LOAD);
+            dialog.setTitle("Add networks to the ensemble");
+            dialog.setMultipleMode(true);
+            dialog.setVisible(true);
+
+            for(File file : dialog.getFiles())
+                optionsDialog.addEnsembleNetworkFile(file.getAbsolutePath());
+        });
+
+        addEnsembleNetworksButton.setTransferHandler(getButtonTransferHandler(optionsDialog::addEnsembleNetworkFile, addEnsembleNetworksButton));
+        return addEnsembleNetworksButton;
+    }
+
     static JButton getLoadNetworkFromJSONButton(OptionsDialog optionsDialog) {
         JButton loadNetworkFromJSONButton = new JButton("Open");
         loadNetworkFromJSONButton.addActionListener(e -> {
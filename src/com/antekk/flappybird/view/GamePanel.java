@@ -6,7 +6,8 @@ import com.antekk.flappybird.game.bird.gamemodes.GameMode;
 import com.antekk.flappybird.game.keybinds.GameKeybinds;
 import com.antekk.flappybird.game.loop.GameLoop;
 import com.antekk.flappybird.game.loop.GameState;
-import com.antekk.flappybird.game.pipes.PipeFormation;
+import com.antekk.flappybird.game.training.TrainingCheckpoint;
+import com.antekk.flappybird.game.world.Board;
 import com.antekk.flappybird.view.displays.BirdsStatsDisplay;
 import com.antekk.flappybird.view.displays.ScoreDisplay;
 import com.antekk.flappybird.view.themes.GameColors;
@@ -14,7 +15,7 @@ import com.antekk.flappybird.view.themes.GameColors;
 import javax.swing.*;
 import javax.swing.border.MatteBorder;
 import java.awt.*;
-import java.util.Iterator;
+import java.io.IOException;
 
 public class GamePanel extends JPanel {
     public static int LEFT;
@@ -25,6 +26,7 @@ public class GamePanel extends JPanel {
     private static int backgroundWidth;
     public static int groundX;
     private static int blockSizePx = 50;
+    private Board board;
     private final JPanel toolbar = new JPanel();
     private GameLoop loop;
     private final ScoreDisplay scoreDisplay;
@@ -51,8 +53,8 @@ public class GamePanel extends JPanel {
 
 
         drawBackgroundAndGround(g);
-        for(Iterator<PipeFormation> it = loop.getPipes().iterator(); it.hasNext();)
-            it.next().draw(g);
+        float alpha = loop.getRenderAlpha();
+        loop.getPipes().draw(g, alpha);
 
         drawMlTrainingStatsDisplay(g);
 
@@ -65,7 +67,7 @@ public class GamePanel extends JPanel {
         }
 
         for(Bird bird : loop.getGameMode().getBirds())
-            bird.draw(g);
+            bird.draw(g, alpha);
 
         scoreDisplay.draw(g);
 
@@ -85,7 +87,7 @@ public class GamePanel extends JPanel {
         g.drawImage(GameColors.background, LEFT, TOP, backgroundWidth, GROUND, null);
         g.drawImage(GameColors.background, LEFT + backgroundWidth, TOP, backgroundWidth, GROUND, null);
 
-        for(int i = groundX; i <= RIGHT; i+= 9 * getBlockSizePx()) {
+        for(int i = loop.getInterpolatedGroundX(); i <= RIGHT; i+= 9 * getBlockSizePx()) {
             g.drawImage(GameColors.ground, i, GROUND + TOP, 9 * getBlockSizePx(), 3 * getBlockSizePx(), null);
 
         }
@@ -103,17 +105,15 @@ public class GamePanel extends JPanel {
 
     protected GamePanel(JFrame parent) {
         ConfigJSON.initializeValuesFromConfigFile();
-        loop = new GameLoop(this);
-        loop.setGameMode(ConfigJSON.getGameMode());
 
         JButton pauseGame = new JButton("Pause game");
         JButton showBestPlayers = new JButton("Best players");
         JButton options = new JButton("Options");
 
-        newGame.setPreferredSize(new Dimension(3 * getBlockSizePx(), (int) (0.65 * getBlockSizePx())));
-        pauseGame.setPreferredSize(new Dimension(3 * getBlockSizePx(), (int) (0.65 * getBlockSizePx())));
-        showBestPlayers.setPreferredSize(new Dimension(3 * getBlockSizePx(), (int) (0.65 * getBlockSizePx())));
-        options.setPreferredSize(new Dimension(3 * getBlockSizePx(), (int) (0.65 * getBlockSizePx())));
+        newGame.setPreferredSize(new Dimension(3 * getBlockSizePx(), Board.getToolbarButtonHeight(getBlockSizePx())));
+        pauseGame.setPreferredSize(new Dimension(3 * getBlockSizePx(), Board.getToolbarButtonHeight(getBlockSizePx())));
+        showBestPlayers.setPreferredSize(new Dimension(3 * getBlockSizePx(), Board.getToolbarButtonHeight(getBlockSizePx())));
+        options.setPreferredSize(new Dimension(3 * getBlockSizePx(), Board.getToolbarButtonHeight(getBlockSizePx())));
 
         newGame.setFocusable(false);
         pauseGame.setFocusable(false);
@@ -121,7 +121,7 @@ public class GamePanel extends JPanel {
         options.setFocusable(false);
 
         BoxLayout layout = new BoxLayout(toolbar, BoxLayout.X_AXIS);
-        toolbar.setBorder(new MatteBorder(0, 0, 2, 0, GameColors.borderColor));
+        toolbar.setBorder(new MatteBorder(0, 0, Board.TOOLBAR_BORDER, 0, GameColors.borderColor));
         toolbar.setBackground(GameColors.groundColor);
         toolbar.setLayout(layout);
         toolbar.add(Box.createHorizontalGlue());
@@ -133,13 +133,17 @@ public class GamePanel extends JPanel {
         toolbar.add(Box.createHorizontalGlue());
         toolbar.add(options);
 
-        LEFT = 0;
-        TOP = toolbar.getPreferredSize().height;
-        RIGHT = getBoardCols() * getBlockSizePx();
-        BOTTOM =  getBoardRows() * getBlockSizePx();
-        GROUND = BOTTOM - 3 * getBlockSizePx();
+        board = new Board(getBlockSizePx(), toolbar.getPreferredSize().height);
+        LEFT = board.getLeft();
+        TOP = board.getTop();
+        RIGHT = board.getRight();
+        BOTTOM = board.getBottom();
+        GROUND = board.getGround();
         backgroundWidth = (int) (0.5625 * GROUND);
         groundX = LEFT;
+        loop = new GameLoop(this);
+        loop.setGameMode(ConfigJSON.getGameMode());
+        offerTrainingResume();
         scoreDisplay = new ScoreDisplay(this);
         bestPlayersDialog = new BestPlayersDialog(this);
 
@@ -190,6 +194,37 @@ public class GamePanel extends JPanel {
         repaint();
     }
 
+    private void offerTrainingResume() {
+        if(!TrainingCheckpoint.DEFAULT_FILE.exists())
+            return;
+
+        TrainingCheckpoint checkpoint;
+        try {
+            checkpoint = TrainingCheckpoint.readFrom(TrainingCheckpoint.DEFAULT_FILE);
+        } catch (IOException e) {
+            System.err.println("Ignoring training checkpoint: " + e.getMessage());
+            return;
+        }
+
+        int answer = JOptionPane.showConfirmDialog(
+                null,
+                "<html>Resume training from the last checkpoint?<br>" +
+                        "Generation: " + checkpoint.getGeneration() + "<br>" +
+                        "Population: " + checkpoint.getSettings().getPopulationSize() + "<br>" +
+                        "Run seed: " + checkpoint.getRunSeed() + "</html>",
+                "Resume training",
+                JOptionPane.YES_NO_OPTION
+        );
+        if(answer != JOptionPane.YES_OPTION)
+            return;
+
+        try {
+            loop.resumeTraining(checkpoint);
+        } catch (IOException e) {
+            new ErrorDialog("Cannot resume training from the checkpoint", e);
+        }
+    }
+
     public void showBestPlayersDialog(boolean show) {
         if(!show) {
             bestPlayersDialog.dispose();
@@ -236,17 +271,21 @@ public class GamePanel extends JPanel {
     }
 
     public static int getBoardRows() {
-        return 16;
+        return Board.ROWS;
     }
 
     public static int getBoardCols() {
-        return 12;
+        return Board.COLS;
     }
 
     public GameLoop getGameLoop() {
         return loop;
     }
 
+    public Board getBoard() {
+        return board;
+    }
+
     public static void setBlockSizePx(int blockSizePx) {
         GamePanel.blockSizePx = blockSizePx;
     }
@@ -0,0 +1,210 @@
+package com.antekk.flappybird.view;
+
+import com.antekk.flappybird.game.ai.NetworkLibrary;
+import com.antekk.flappybird.game.ai.NetworkMetadata;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableRowSorter;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static com.antekk.flappybird.view.GamePanel.getBlockSizePx;
+
+//lists the network library from its index, a network is only read when it is picked for the pretrained or ensemble mode
+public class NetworkLibraryDialog extends JDialog {
+    private static final Class<?>[] COLUMN_CLASSES = {String.class, Long.class, Long.class, Integer.class, String.class, String.class};
+    private final NetworkLibrary library;
+    private final ArrayList<NetworkLibrary.Entry> shown = new ArrayList<>();
+    private final DefaultTableModel model = new DefaultTableModel() {
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return COLUMN_CLASSES[column];
+        }
+    };
+    private final JTable networkList = new JTable(model) {
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            return false;
+        }
+    };
+    private final TableRowSorter<DefaultTableModel> sorter = new TableRowSorter<>(model);
+    private final JTextField filterField = new JTextField(12);
+    private final JSpinner minScoreSpinner = new JSpinner(new SpinnerNumberModel(0L, 0L, Long.MAX_VALUE, 1L));
+    private final JCheckBox gapFilterBox = new JCheckBox();
+    private final int currentPipesGap;
+
+    protected NetworkLibraryDialog(OptionsDialog parent, NetworkLibrary library, int currentPipesGap) {
+        super(parent);
+        this.library = library;
+        this.currentPipesGap = currentPipesGap;
+
+        setTitle("Network library");
+        setPreferredSize(new Dimension(GamePanel.getBoardCols() * getBlockSizePx() * 2, (int) (0.8 * GamePanel.getBoardRows() * getBlockSizePx())));
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        setLayout(new BorderLayout());
+
+        networkList.getTableHeader().setReorderingAllowed(false);
+        networkList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        model.addColumn("Name");
+        model.addColumn("Fitness");
+        model.addColumn("Score");
+        model.addColumn("Pipes gap");
+        model.addColumn("Topology");
+        model.addColumn("Saved");
+        networkList.setRowSorter(sorter);
+        sorter.setSortKeys(List.of(new RowSorter.SortKey(2, SortOrder.DESCENDING)));
+
+        JPanel filters = new JPanel();
+        filters.add(new JLabel("Filter: "));
+        filters.add(filterField);
+        filters.add(new JLabel("Min score: "));
+        minScoreSpinner.setPreferredSize(new Dimension(80, 25));
+        filters.add(minScoreSpinner);
+        filters.add(new JLabel("Current gap (" + currentPipesGap + ") only: "));
+        filters.add(gapFilterBox);
+        filterField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                updateFilter();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                updateFilter();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                updateFilter();
+            }
+        });
+        minScoreSpinner.addChangeListener(e -> updateFilter());
+        gapFilterBox.addActionListener(e -> updateFilter());
+
+        JButton useButton = new JButton("Use for pretrained mode");
+        useButton.addActionListener(e -> {
+            NetworkLibrary.Entry entry = getSelectedEntry();
+            if(entry == null)
+                return;
+            parent.processLoadedNeuralNetworkFile(entry.path().toAbsolutePath().toString());
+            dispose();
+        });
+        networkList.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if(e.getClickCount() == 2)
+                    useButton.doClick();
+            }
+        });
+
+        JButton ensembleButton = new JButton("Add to ensemble");
+        ensembleButton.addActionListener(e -> {
+            NetworkLibrary.Entry entry = getSelectedEntry();
+            if(entry == null)
+                return;
+            parent.addEnsembleNetworkFile(entry.path().toAbsolutePath().toString());
+        });
+
+        JButton deleteButton = new JButton("Delete");
+        deleteButton.addActionListener(e -> {
+            NetworkLibrary.Entry entry = getSelectedEntry();
+            if(entry == null)
+                return;
+            int answer = JOptionPane.showConfirmDialog(this, "Delete " + entry.getName() + "?", "Delete network",
+                    JOptionPane.YES_NO_OPTION);
+            if(answer != JOptionPane.YES_OPTION)
+                return;
+            try {
+                library.remove(entry);
+            } catch (IOException ex) {
+                new ErrorDialog("Cannot delete " + entry.path(), ex);
+            }
+            reloadData(library.getEntries());
+        });
+
+        JButton refreshButton = new JButton("Refresh");
+        refreshButton.addActionListener(e -> refresh());
+
+        JButton closeButton = new JButton("Close");
+        closeButton.addActionListener(e -> dispose());
+
+        JPanel bottomButtons = new JPanel();
+        bottomButtons.add(useButton);
+        bottomButtons.add(ensembleButton);
+        bottomButtons.add(deleteButton);
+        bottomButtons.add(refreshButton);
+        bottomButtons.add(closeButton);
+
+        JLabel title = new JLabel("Saved networks in " + library.getDirectory().getPath());
+        title.setBorder(new EmptyBorder(new Insets(10, 10, 10, 10)));
+
+        JPanel top = new JPanel(new BorderLayout());
+        top.add(title, BorderLayout.PAGE_START);
+        top.add(filters, BorderLayout.CENTER);
+
+        add(top, BorderLayout.PAGE_START);
+        add(new JScrollPane(networkList), BorderLayout.CENTER);
+        add(bottomButtons, BorderLayout.PAGE_END);
+
+        refresh();
+        pack();
+    }
+
+    private void refresh() {
+        try {
+            reloadData(library.refresh());
+        } catch (IOException e) {
+            new ErrorDialog("Cannot update the network library index", e);
+            reloadData(library.getEntries());
+        }
+    }
+
+    private void reloadData(List<NetworkLibrary.Entry> entries) {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+        shown.clear();
+        shown.addAll(entries);
+        model.setRowCount(0);
+        for(NetworkLibrary.Entry entry : entries) {
+            NetworkMetadata metadata = entry.metadata();
+            model.addRow(new Object[] {
+                    entry.getName(),
+                    metadata.fitness(),
+                    metadata.achievedScore(),
+                    metadata.pipeGap(),
+                    metadata.getTopology(),
+                    dateFormat.format(new Date(entry.saved()))
+            });
+        }
+    }
+
+    private void updateFilter() {
+        ArrayList<RowFilter<DefaultTableModel, Integer>> filters = new ArrayList<>();
+        String text = filterField.getText().trim();
+        if(!text.isEmpty())
+            filters.add(RowFilter.regexFilter("(?i)" + Pattern.quote(text), 0, 4));
+        long minScore = (long) minScoreSpinner.getValue();
+        if(minScore > 0)
+            filters.add(RowFilter.numberFilter(RowFilter.ComparisonType.AFTER, minScore - 1, 2));
+        if(gapFilterBox.isSelected())
+            filters.add(RowFilter.numberFilter(RowFilter.ComparisonType.EQUAL, currentPipesGap, 3));
+        sorter.setRowFilter(filters.isEmpty() ? null : RowFilter.andFilter(filters));
+    }
+
+    private NetworkLibrary.Entry getSelectedEntry() {
+        int row = networkList.getSelectedRow();
+        if(row < 0)
+            return null;
+        return shown.get(networkList.convertRowIndexToModel(row));
+    }
+}
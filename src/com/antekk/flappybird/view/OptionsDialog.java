@@ -1,39 +1,85 @@
 package com.antekk.flappybird.view;
 
 import com.antekk.flappybird.game.ConfigJSON;
-import com.antekk.flappybird.game.ai.NeuralNetwork;
+import com.antekk.flappybird.game.ai.Brain;
+import com.antekk.flappybird.game.ai.EnsembleNetwork;
+import com.antekk.flappybird.game.ai.Inference;
+import com.antekk.flappybird.game.ai.NetworkLibrary;
 import com.antekk.flappybird.game.bird.gamemodes.GameMode;
+import com.antekk.flappybird.game.bird.gamemodes.MlEnsembleMode;
 import com.antekk.flappybird.game.bird.gamemodes.MlPretrainedMode;
+import com.antekk.flappybird.game.bird.gamemodes.MlTrainingMode;
 import com.antekk.flappybird.game.loop.GameState;
 import com.antekk.flappybird.game.pipes.PipeFormation;
+import com.antekk.flappybird.game.training.EvaluationSettings;
+import com.antekk.flappybird.game.training.GenerationLimits;
+import com.antekk.flappybird.game.training.IslandSettings;
+import com.antekk.flappybird.game.training.TrainingSettings;
 import com.antekk.flappybird.view.themes.GameColors;
 import com.antekk.flappybird.view.themes.Theme;
 import org.json.JSONException;
 
 import javax.swing.*;
 import java.awt.*;
+import java.io.IOException;
+import java.util.ArrayList;
 
 import static com.antekk.flappybird.view.GamePanel.getBlockSizePx;
 import static com.antekk.flappybird.view.GamePanel.setBlockSizePx;
 
 public class OptionsDialog extends JDialog {
     private String loadedNeuralNetworkPath = "";
+    private final ArrayList<String> ensembleNetworkPaths = new ArrayList<>(ConfigJSON.getEnsembleFiles());
     private final JSpinner pipesGap = new JSpinner();
     private final JSpinner sizeSpinner = new JSpinner();
     private final JComboBox<GameMode> gameModeSwitcher = new JComboBox<>();
+    private final JCheckBox parallelEvaluationBox = new JCheckBox();
+    private final JTextField seedField = new JTextField(12);
+    private final JCheckBox turboTrainingBox = new JCheckBox();
+    private final JSpinner turboRenderIntervalSpinner = new JSpinner(new SpinnerNumberModel(1, 1, Integer.MAX_VALUE, 1));
+    private final JSpinner populationSizeSpinner = new JSpinner(new SpinnerNumberModel(TrainingSettings.DEFAULT_POPULATION_SIZE, 3, 1_000_000, 10));
+    private final JSpinner eliteCountSpinner = new JSpinner(new SpinnerNumberModel(TrainingSettings.DEFAULT_ELITE_COUNT, 0, 1_000_000, 1));
+    private final JComboBox<TrainingSettings.Selection> selectionSwitcher = new JComboBox<>(TrainingSettings.Selection.values());
+    private final JComboBox<TrainingSettings.Crossover> crossoverSwitcher = new JComboBox<>(TrainingSettings.Crossover.values());
+    private final JComboBox<TrainingSettings.Mutation> mutationSwitcher = new JComboBox<>(TrainingSettings.Mutation.values());
+    private final JSpinner mutationRateSpinner = new JSpinner(new SpinnerNumberModel(TrainingSettings.DEFAULT_MUTATION_RATE, 0.0, 1.0, 0.01));
+    private final JSpinner mutationSigmaSpinner = new JSpinner(new SpinnerNumberModel(TrainingSettings.DEFAULT_MUTATION_SIGMA, 0.0, 2.0, 0.05));
+    private final JSpinner islandCountSpinner = new JSpinner(new SpinnerNumberModel(2, 1, 256, 1));
+    private final JSpinner migrationIntervalSpinner = new JSpinner(new SpinnerNumberModel(IslandSettings.DEFAULT_MIGRATION_INTERVAL, 1, 1_000_000, 1));
+    private final JSpinner migrantCountSpinner = new JSpinner(new SpinnerNumberModel(IslandSettings.DEFAULT_MIGRANT_COUNT, 0, 1_000_000, 1));
+    private final JSpinner checkpointIntervalSpinner = new JSpinner(new SpinnerNumberModel(ConfigJSON.DEFAULT_CHECKPOINT_INTERVAL, 0, Integer.MAX_VALUE, 1));
+    private final JSpinner evaluationCoursesSpinner = new JSpinner(new SpinnerNumberModel(EvaluationSettings.DEFAULT_COURSES, 1, 1000, 1));
+    private final JComboBox<EvaluationSettings.Aggregation> aggregationSwitcher = new JComboBox<>(EvaluationSettings.Aggregation.values());
+    private final JSpinner percentileSpinner = new JSpinner(new SpinnerNumberModel(EvaluationSettings.DEFAULT_PERCENTILE, 0, 100, 5));
+    private final JSpinner maxGenerationTicksSpinner = new JSpinner(new SpinnerNumberModel(GenerationLimits.DEFAULT_MAX_TICKS, 0L, Long.MAX_VALUE, 600L));
+    private final JSpinner maxGenerationDistanceSpinner = new JSpinner(new SpinnerNumberModel(0L, 0L, Long.MAX_VALUE, 1000L));
+    private final JSpinner stagnationTicksSpinner = new JSpinner(new SpinnerNumberModel(0L, 0L, Long.MAX_VALUE, 60L));
+    private final JSpinner timeBudgetSpinner = new JSpinner(new SpinnerNumberModel(0L, 0L, Long.MAX_VALUE, 1000L));
+    private final JSpinner remoteWorkersSpinner = new JSpinner(new SpinnerNumberModel(0, 0, 256, 1));
+    private final JCheckBox fixedCoursesBox = new JCheckBox();
+    private final JComboBox<Inference> inferenceSwitcher = new JComboBox<>(Inference.values());
+    private final JComboBox<EnsembleNetwork.Vote> ensembleVoteSwitcher = new JComboBox<>(EnsembleNetwork.Vote.values());
+    private final JLabel ensembleSizeLabel = new JLabel();
+    private final NetworkLibrary networkLibrary = new NetworkLibrary(NetworkLibrary.DEFAULT_DIRECTORY);
     private final JButton openNetworkButton;
     private final JButton saveNetworkButton;
+    private final JButton saveToLibraryButton;
+    private final JButton openLibraryButton;
+    private final JButton addEnsembleNetworksButton;
+    private final JButton clearEnsembleButton = new JButton("Clear");
+    private boolean optionsEnabled = true;
 
     protected OptionsDialog(GamePanel parent) {
         super(SwingUtilities.getWindowAncestor(parent));
         setTitle("Options");
-        setPreferredSize(new Dimension((int) (GamePanel.getBoardCols() * getBlockSizePx() * 0.75),
-                (int) (0.6 * GamePanel.getBoardRows() * getBlockSizePx())));
         setDefaultCloseOperation(DISPOSE_ON_CLOSE);
         setLayout(new BorderLayout());
 
         openNetworkButton = DialogComponentFactory.getLoadNetworkFromJSONButton(this);
         saveNetworkButton = DialogComponentFactory.getSaveNetworkToJSONButton(parent);
+        saveToLibraryButton = DialogComponentFactory.getSaveNetworkToLibraryButton(parent, networkLibrary);
+        openLibraryButton = DialogComponentFactory.getOpenNetworkLibraryButton(this, networkLibrary, pipesGap);
+        addEnsembleNetworksButton = DialogComponentFactory.getAddEnsembleNetworksButton(this);
 
         JTabbedPane mainTabbedPane = new JTabbedPane();
         JPanel generalOptions = new JPanel();
@@ -99,6 +145,12 @@ public class OptionsDialog extends JDialog {
         BoxLayout layout1 = new BoxLayout(machineLearningOptions, BoxLayout.Y_AXIS);
         machineLearningOptions.setLayout(layout1);
 
+        //training and evaluation settings get their own tabs, in one they wouldn't fit the dialog
+        JPanel trainingOptions = new JPanel();
+        trainingOptions.setLayout(new BoxLayout(trainingOptions, BoxLayout.Y_AXIS));
+        JPanel evaluationOptions = new JPanel();
+        evaluationOptions.setLayout(new BoxLayout(evaluationOptions, BoxLayout.Y_AXIS));
+
         JPanel gameModeSelection = new JPanel();
         DefaultComboBoxModel<GameMode> gameModeModel = new DefaultComboBoxModel<>();
         gameModeSwitcher.setModel(gameModeModel);
@@ -108,9 +160,148 @@ public class OptionsDialog extends JDialog {
         gameModeModel.setSelectedItem(ConfigJSON.getGameMode());
         machineLearningOptions.add(gameModeSelection);
 
+        JPanel parallelEvaluationPanel = new JPanel();
+        parallelEvaluationPanel.add(new JLabel("Evaluate generations in parallel (headless): "));
+        parallelEvaluationPanel.add(parallelEvaluationBox);
+        parallelEvaluationBox.setSelected(ConfigJSON.useParallelEvaluation());
+        parallelEvaluationPanel.add(new JLabel("<html>Worker processes:<br><center><p style=\"font-size:9px\">(0 - evaluate in this one)</p></center></html>"));
+        remoteWorkersSpinner.setPreferredSize(new Dimension(60,25));
+        remoteWorkersSpinner.setValue(ConfigJSON.getRemoteWorkers());
+        parallelEvaluationPanel.add(remoteWorkersSpinner);
+        evaluationOptions.add(parallelEvaluationPanel);
+
+        EvaluationSettings evaluationSettings = ConfigJSON.getEvaluationSettings();
+        JPanel evaluationPanel = new JPanel();
+        evaluationPanel.add(new JLabel("<html>Courses per genome:<br><center><p style=\"font-size:9px\">(more than 1 is always headless)</p></center></html>"));
+        evaluationCoursesSpinner.setPreferredSize(new Dimension(60,25));
+        evaluationCoursesSpinner.setValue(evaluationSettings.getCourses());
+        evaluationPanel.add(evaluationCoursesSpinner);
+        evaluationPanel.add(new JLabel("Fitness: "));
+        aggregationSwitcher.setSelectedItem(evaluationSettings.getAggregation());
+        evaluationPanel.add(aggregationSwitcher);
+        evaluationPanel.add(new JLabel("Percentile: "));
+        percentileSpinner.setPreferredSize(new Dimension(60,25));
+        percentileSpinner.setValue(evaluationSettings.getPercentile());
+        evaluationPanel.add(percentileSpinner);
+        evaluationOptions.add(evaluationPanel);
+
+        JPanel inferencePanel = new JPanel();
+        inferencePanel.add(new JLabel("<html>Same courses every generation:<br><center><p style=\"font-size:9px\">(reuses cached results of elites)</p></center></html>"));
+        fixedCoursesBox.setSelected(evaluationSettings.hasFixedCourses());
+        inferencePanel.add(fixedCoursesBox);
+        inferencePanel.add(new JLabel("<html>Network arithmetic:<br><center><p style=\"font-size:9px\">(int8/int16 - quantized, for large populations)</p></center></html>"));
+        inferenceSwitcher.setSelectedItem(ConfigJSON.getInference());
+        inferencePanel.add(inferenceSwitcher);
+        evaluationOptions.add(inferencePanel);
+
+        GenerationLimits generationLimits = ConfigJSON.getGenerationLimits();
+        JPanel generationLimitsPanel = new JPanel();
+        generationLimitsPanel.add(new JLabel("<html>End generation after:<br><center><p style=\"font-size:9px\">(0 - no limit)</p></center></html>"));
+        generationLimitsPanel.add(new JLabel("Ticks: "));
+        maxGenerationTicksSpinner.setPreferredSize(new Dimension(70,25));
+        maxGenerationTicksSpinner.setValue(generationLimits.getMaxTicks());
+        generationLimitsPanel.add(maxGenerationTicksSpinner);
+        generationLimitsPanel.add(new JLabel("Distance: "));
+        maxGenerationDistanceSpinner.setPreferredSize(new Dimension(70,25));
+        maxGenerationDistanceSpinner.setValue(generationLimits.getMaxDistance());
+        generationLimitsPanel.add(maxGenerationDistanceSpinner);
+        evaluationOptions.add(generationLimitsPanel);
+
+        JPanel stagnationLimitsPanel = new JPanel();
+        stagnationLimitsPanel.add(new JLabel("Ticks without deaths: "));
+        stagnationTicksSpinner.setPreferredSize(new Dimension(70,25));
+        stagnationTicksSpinner.setValue(generationLimits.getStagnationTicks());
+        stagnationLimitsPanel.add(stagnationTicksSpinner);
+        stagnationLimitsPanel.add(new JLabel("Ms: "));
+        timeBudgetSpinner.setPreferredSize(new Dimension(70,25));
+        timeBudgetSpinner.setValue(generationLimits.getTimeBudgetMillis());
+        stagnationLimitsPanel.add(timeBudgetSpinner);
+        evaluationOptions.add(stagnationLimitsPanel);
+        parallelEvaluationBox.addActionListener(e -> updateGenerationLimitsAvailability());
+        remoteWorkersSpinner.addChangeListener(e -> updateGenerationLimitsAvailability());
+        evaluationCoursesSpinner.addChangeListener(e -> updateGenerationLimitsAvailability());
+        updateGenerationLimitsAvailability();
+
+        TrainingSettings trainingSettings = ConfigJSON.getTrainingSettings();
+        JPanel populationPanel = new JPanel();
+        populationPanel.add(new JLabel("Population size: "));
+        populationSizeSpinner.setPreferredSize(new Dimension(80,25));
+        populationSizeSpinner.setValue(trainingSettings.getPopulationSize());
+        populationPanel.add(populationSizeSpinner);
+        populationPanel.add(new JLabel("Elites: "));
+        eliteCountSpinner.setPreferredSize(new Dimension(60,25));
+        eliteCountSpinner.setValue(trainingSettings.getEliteCount());
+        populationPanel.add(eliteCountSpinner);
+        populationPanel.add(new JLabel("Selection: "));
+        selectionSwitcher.setSelectedItem(trainingSettings.getSelection());
+        populationPanel.add(selectionSwitcher);
+        trainingOptions.add(populationPanel);
+
+        JPanel operatorsPanel = new JPanel();
+        operatorsPanel.add(new JLabel("Crossover: "));
+        crossoverSwitcher.setSelectedItem(trainingSettings.getCrossover());
+        operatorsPanel.add(crossoverSwitcher);
+        operatorsPanel.add(new JLabel("Mutation: "));
+        mutationSwitcher.setSelectedItem(trainingSettings.getMutation());
+        operatorsPanel.add(mutationSwitcher);
+        trainingOptions.add(operatorsPanel);
+
+        JPanel mutationPanel = new JPanel();
+        mutationPanel.add(new JLabel("Gene rate: "));
+        mutationRateSpinner.setPreferredSize(new Dimension(60,25));
+        mutationRateSpinner.setValue((double) trainingSettings.getMutationRate());
+        mutationPanel.add(mutationRateSpinner);
+        mutationPanel.add(new JLabel("Sigma: "));
+        mutationSigmaSpinner.setPreferredSize(new Dimension(60,25));
+        mutationSigmaSpinner.setValue((double) trainingSettings.getMutationSigma());
+        mutationPanel.add(mutationSigmaSpinner);
+        trainingOptions.add(mutationPanel);
+
+        IslandSettings islandSettings = ConfigJSON.getIslandSettings();
+        JPanel islandPanel = new JPanel();
+        islandPanel.add(new JLabel("Islands: "));
+        islandCountSpinner.setPreferredSize(new Dimension(60,25));
+        islandCountSpinner.setValue(islandSettings.getIslandCount());
+        islandPanel.add(islandCountSpinner);
+        islandPanel.add(new JLabel("Migrate every N generations: "));
+        migrationIntervalSpinner.setPreferredSize(new Dimension(60,25));
+        migrationIntervalSpinner.setValue(islandSettings.getMigrationInterval());
+        islandPanel.add(migrationIntervalSpinner);
+        islandPanel.add(new JLabel("Migrants: "));
+        migrantCountSpinner.setPreferredSize(new Dimension(60,25));
+        migrantCountSpinner.setValue(islandSettings.getMigrantCount());
+        islandPanel.add(migrantCountSpinner);
+        trainingOptions.add(islandPanel);
+
+        JPanel turboTrainingPanel = new JPanel();
+        turboTrainingPanel.add(new JLabel("<html>Turbo training:<br><center><p style=\"font-size:9px\">(T toggles while training)</p></center></html>"));
+        turboTrainingPanel.add(turboTrainingBox);
+        turboTrainingBox.setSelected(ConfigJSON.useTurboTraining());
+        turboTrainingPanel.add(new JLabel("Render every Nth generation: "));
+        turboRenderIntervalSpinner.setPreferredSize(new Dimension(60,25));
+        turboRenderIntervalSpinner.setValue(ConfigJSON.getTurboRenderInterval());
+        turboTrainingPanel.add(turboRenderIntervalSpinner);
+        machineLearningOptions.add(turboTrainingPanel);
+
+        JPanel checkpointPanel = new JPanel();
+        checkpointPanel.add(new JLabel("<html>Checkpoint every N generations:<br><center><p style=\"font-size:9px\">(0 - off, training mode only)</p></center></html>"));
+        checkpointIntervalSpinner.setPreferredSize(new Dimension(60,25));
+        checkpointIntervalSpinner.setValue(ConfigJSON.getCheckpointInterval());
+        checkpointPanel.add(checkpointIntervalSpinner);
+        machineLearningOptions.add(checkpointPanel);
+        gameModeSwitcher.addActionListener(e -> updateCheckpointAvailability());
+        updateCheckpointAvailability();
+
+        JPanel seedPanel = new JPanel();
+        seedPanel.add(new JLabel("<html>Run seed:<br><center><p style=\"font-size:9px\">(0 - random, last: " + ConfigJSON.getLastRunSeed() + ")</p></center></html>"));
+        seedPanel.add(seedField);
+        seedField.setText(String.valueOf(ConfigJSON.getSeed()));
+        machineLearningOptions.add(seedPanel);
+
         JPanel saveNetworkPanel = new JPanel();
         saveNetworkPanel.add(new JLabel("<html>Save best player to JSON:<br><center><p style=\"font-size:9px\">(from current generation)</p></center></html>"));
         saveNetworkPanel.add(saveNetworkButton);
+        saveNetworkPanel.add(saveToLibraryButton);
         machineLearningOptions.add(saveNetworkPanel);
 
         JPanel openNetworkPanel = new JPanel();
@@ -118,6 +309,25 @@ public class OptionsDialog extends JDialog {
         openNetworkPanel.add(openNetworkButton);
         machineLearningOptions.add(openNetworkPanel);
 
+        JPanel networkLibraryPanel = new JPanel();
+        networkLibraryPanel.add(new JLabel("Network library:"));
+        networkLibraryPanel.add(openLibraryButton);
+        machineLearningOptions.add(networkLibraryPanel);
+
+        JPanel ensemblePanel = new JPanel();
+        ensemblePanel.add(new JLabel("<html>Ensemble networks:<br><center><p style=\"font-size:9px\">(ensemble mode only)</p></center></html>"));
+        ensemblePanel.add(ensembleSizeLabel);
+        ensemblePanel.add(addEnsembleNetworksButton);
+        clearEnsembleButton.addActionListener(e -> {
+            ensembleNetworkPaths.clear();
+            updateEnsembleSizeLabel();
+        });
+        ensemblePanel.add(clearEnsembleButton);
+        ensembleVoteSwitcher.setSelectedItem(ConfigJSON.getEnsembleVote());
+        ensemblePanel.add(ensembleVoteSwitcher);
+        updateEnsembleSizeLabel();
+        machineLearningOptions.add(ensemblePanel);
+
         JPanel bottomButtons = new JPanel();
         JButton okButton = new JButton("OK");
         okButton.addActionListener(e -> {
@@ -146,18 +356,69 @@ public class OptionsDialog extends JDialog {
             if(newPipesGap != PipeFormation.futureGap)
                 PipeFormation.futureGap = newPipesGap;
 
+            long newSeed;
+            try {
+                newSeed = Long.parseLong(seedField.getText().trim());
+            } catch (NumberFormatException ex) {
+                newSeed = ConfigJSON.getSeed();
+            }
+            //reseed before the game mode builds its population so the new seed covers it
+            boolean seedChanged = newSeed != ConfigJSON.getSeed();
+            if(seedChanged)
+                ConfigJSON.applyRunSeed(newSeed);
+
+            TrainingSettings newTrainingSettings = new TrainingSettings(
+                    (Integer) populationSizeSpinner.getValue(),
+                    (Integer) eliteCountSpinner.getValue(),
+                    (TrainingSettings.Selection) selectionSwitcher.getSelectedItem(),
+                    (TrainingSettings.Crossover) crossoverSwitcher.getSelectedItem(),
+                    (TrainingSettings.Mutation) mutationSwitcher.getSelectedItem(),
+                    ((Double) mutationRateSpinner.getValue()).floatValue(),
+                    ((Double) mutationSigmaSpinner.getValue()).floatValue()
+            );
+            boolean trainingSettingsChanged = !newTrainingSettings.equals(ConfigJSON.getTrainingSettings());
+
+            IslandSettings newIslandSettings = new IslandSettings(
+                    (Integer) islandCountSpinner.getValue(),
+                    (Integer) migrationIntervalSpinner.getValue(),
+                    (Integer) migrantCountSpinner.getValue()
+            );
+            trainingSettingsChanged |= !newIslandSettings.equals(ConfigJSON.getIslandSettings());
+
             GameMode gameModeToSave = getGameModeBasedOnUserSelection(gameModeSwitcher);
 
-            //save the gamemode if its different than the current one (always save if its pretrained gamemode to update the network file)
+            //saved before the game mode is switched, training mode reads its settings from the config on init
+            ConfigJSON.setSeed(newSeed);
+            ConfigJSON.setTurboTraining(turboTrainingBox.isSelected(), (Integer) turboRenderIntervalSpinner.getValue());
+            ConfigJSON.setCheckpointInterval((Integer) checkpointIntervalSpinner.getValue());
+            ConfigJSON.setEnsemble(ensembleNetworkPaths, (EnsembleNetwork.Vote) ensembleVoteSwitcher.getSelectedItem());
+            ConfigJSON.setTrainingSettings(newTrainingSettings, newIslandSettings);
+            ConfigJSON.setEvaluationSettings(
+                    new EvaluationSettings(
+                            (Integer) evaluationCoursesSpinner.getValue(),
+                            (EvaluationSettings.Aggregation) aggregationSwitcher.getSelectedItem(),
+                            (Integer) percentileSpinner.getValue(),
+                            fixedCoursesBox.isSelected()
+                    ),
+                    new GenerationLimits(
+                            (Long) maxGenerationTicksSpinner.getValue(),
+                            (Long) maxGenerationDistanceSpinner.getValue(),
+                            (Long) stagnationTicksSpinner.getValue(),
+                            (Long) timeBudgetSpinner.getValue()
+                    )
+            );
+            ConfigJSON.setParallelEvaluation(parallelEvaluationBox.isSelected(), (Integer) remoteWorkersSpinner.getValue());
+            ConfigJSON.setInference((Inference) inferenceSwitcher.getSelectedItem());
+            ConfigJSON.saveValues((Integer) pipesGap.getValue(), (Theme) themeSelection.getSelectedItem(), newBlockSize, showNewBestDialogBox.isSelected(),
+                gameModeToSave, loadedNeuralNetworkPath);
+
+            //save the gamemode if its different than the current one (always save if its pretrained gamemode to update the network file or if the seed or population settings changed to rebuild the population)
             if(gameModeToSave.getClass() != parent.getGameLoop().getGameMode().getClass() ||
-                gameModeToSave.isPretrainedMode()) {
+                gameModeToSave.isPretrainedMode() || seedChanged || trainingSettingsChanged) {
                 parent.getGameLoop().setGameMode(gameModeToSave);
                 parent.setPreferredSize(parent.getPreferredSize());
             }
 
-            ConfigJSON.saveValues((Integer) pipesGap.getValue(), (Theme) themeSelection.getSelectedItem(), newBlockSize, showNewBestDialogBox.isSelected(),
-                gameModeToSave, loadedNeuralNetworkPath
-            );
             this.dispose();
             parent.repaint();
         });
@@ -171,7 +432,9 @@ public class OptionsDialog extends JDialog {
 
         mainTabbedPane.addTab("General", generalOptions);
         mainTabbedPane.addTab("Machine learning", machineLearningOptions);
-        add(mainTabbedPane, BorderLayout.PAGE_START);
+        mainTabbedPane.addTab("Training", trainingOptions);
+        mainTabbedPane.addTab("Evaluation", evaluationOptions);
+        add(mainTabbedPane, BorderLayout.CENTER);
         add(bottomButtons, BorderLayout.PAGE_END);
 
         pack();
@@ -189,19 +452,99 @@ public class OptionsDialog extends JDialog {
     public void setSaveNetworkButtonEnabled(boolean enable) {
         saveNetworkButton.setEnabled(enable);
         saveNetworkButton.setToolTipText(enable ? null : "Can only be used in training mode & game must be running");
+        saveToLibraryButton.setEnabled(enable);
+        saveToLibraryButton.setToolTipText(enable ? null : "Can only be used in training mode & game must be running");
     }
 
     public void setOptionsEnabled(boolean enabled) {
+        optionsEnabled = enabled;
         pipesGap.setEnabled(enabled);
         sizeSpinner.setEnabled(enabled);
         gameModeSwitcher.setEnabled(enabled);
         openNetworkButton.setEnabled(enabled);
+        openLibraryButton.setEnabled(enabled);
+        addEnsembleNetworksButton.setEnabled(enabled);
+        clearEnsembleButton.setEnabled(enabled);
+        ensembleVoteSwitcher.setEnabled(enabled);
+        parallelEvaluationBox.setEnabled(enabled);
+        seedField.setEnabled(enabled);
+        turboTrainingBox.setEnabled(enabled);
+        populationSizeSpinner.setEnabled(enabled);
+        eliteCountSpinner.setEnabled(enabled);
+        selectionSwitcher.setEnabled(enabled);
+        crossoverSwitcher.setEnabled(enabled);
+        mutationSwitcher.setEnabled(enabled);
+        mutationRateSpinner.setEnabled(enabled);
+        mutationSigmaSpinner.setEnabled(enabled);
+        turboRenderIntervalSpinner.setEnabled(enabled);
+        islandCountSpinner.setEnabled(enabled);
+        migrationIntervalSpinner.setEnabled(enabled);
+        migrantCountSpinner.setEnabled(enabled);
+        evaluationCoursesSpinner.setEnabled(enabled);
+        aggregationSwitcher.setEnabled(enabled);
+        percentileSpinner.setEnabled(enabled);
+        maxGenerationTicksSpinner.setEnabled(enabled);
+        maxGenerationDistanceSpinner.setEnabled(enabled);
+        remoteWorkersSpinner.setEnabled(enabled);
+        fixedCoursesBox.setEnabled(enabled);
+        inferenceSwitcher.setEnabled(enabled);
 
 
         pipesGap.setToolTipText(enabled ? null : "Can't change while in-game");
         sizeSpinner.setToolTipText(enabled ? null : "Can't change while in-game");
         gameModeSwitcher.setToolTipText(enabled ? null : "Can't change while in-game");
         openNetworkButton.setToolTipText(enabled ? null : "Can't use while in-game");
+        openLibraryButton.setToolTipText(enabled ? null : "Can't use while in-game");
+        addEnsembleNetworksButton.setToolTipText(enabled ? null : "Can't use while in-game");
+        clearEnsembleButton.setToolTipText(enabled ? null : "Can't use while in-game");
+        ensembleVoteSwitcher.setToolTipText(enabled ? null : "Can't change while in-game");
+        parallelEvaluationBox.setToolTipText(enabled ? null : "Can't change while in-game");
+        seedField.setToolTipText(enabled ? null : "Can't change while in-game");
+        turboTrainingBox.setToolTipText(enabled ? null : "Can't change while in-game");
+        populationSizeSpinner.setToolTipText(enabled ? null : "Can't change while in-game");
+        eliteCountSpinner.setToolTipText(enabled ? null : "Can't change while in-game");
+        selectionSwitcher.setToolTipText(enabled ? null : "Can't change while in-game");
+        crossoverSwitcher.setToolTipText(enabled ? null : "Can't change while in-game");
+        mutationSwitcher.setToolTipText(enabled ? null : "Can't change while in-game");
+        mutationRateSpinner.setToolTipText(enabled ? null : "Can't change while in-game");
+        mutationSigmaSpinner.setToolTipText(enabled ? null : "Can't change while in-game");
+        turboRenderIntervalSpinner.setToolTipText(enabled ? null : "Can't change while in-game");
+        islandCountSpinner.setToolTipText(enabled ? null : "Can't change while in-game");
+        migrationIntervalSpinner.setToolTipText(enabled ? null : "Can't change while in-game");
+        migrantCountSpinner.setToolTipText(enabled ? null : "Can't change while in-game");
+        evaluationCoursesSpinner.setToolTipText(enabled ? null : "Can't change while in-game");
+        aggregationSwitcher.setToolTipText(enabled ? null : "Can't change while in-game");
+        percentileSpinner.setToolTipText(enabled ? null : "Can't change while in-game");
+        maxGenerationTicksSpinner.setToolTipText(enabled ? null : "Can't change while in-game");
+        maxGenerationDistanceSpinner.setToolTipText(enabled ? null : "Can't change while in-game");
+        remoteWorkersSpinner.setToolTipText(enabled ? null : "Can't change while in-game");
+        fixedCoursesBox.setToolTipText(enabled ? null : "Can't change while in-game");
+        inferenceSwitcher.setToolTipText(enabled ? null : "Can't change while in-game");
+        updateCheckpointAvailability();
+        updateGenerationLimitsAvailability();
+    }
+
+    //headless generations run every bird to its own end, only the tick and distance caps apply to them
+    private void updateGenerationLimitsAvailability() {
+        boolean headless = parallelEvaluationBox.isSelected() || (Integer) remoteWorkersSpinner.getValue() > 0 ||
+                (Integer) evaluationCoursesSpinner.getValue() > 1;
+        String toolTip = !optionsEnabled ? "Can't change while in-game" :
+                headless ? "Only applies to generations played on the board, not to headless evaluation" : null;
+        stagnationTicksSpinner.setEnabled(optionsEnabled && !headless);
+        stagnationTicksSpinner.setToolTipText(toolTip);
+        timeBudgetSpinner.setEnabled(optionsEnabled && !headless);
+        timeBudgetSpinner.setToolTipText(toolTip);
+    }
+
+    //NEAT genomes and islands aren't part of the checkpoint format, those modes train without checkpoints
+    private void updateCheckpointAvailability() {
+        boolean supported = gameModeSwitcher.getSelectedItem() instanceof MlTrainingMode trainingMode &&
+                trainingMode.supportsCheckpoints();
+        checkpointIntervalSpinner.setEnabled(optionsEnabled && supported);
+        if(!optionsEnabled)
+            checkpointIntervalSpinner.setToolTipText("Can't change while in-game");
+        else
+            checkpointIntervalSpinner.setToolTipText(supported ? null : "Only the plain training mode can be checkpointed, NEAT and island training can't be resumed");
     }
 
     void processLoadedNeuralNetworkFile(String fileName) {
@@ -217,13 +560,34 @@ public class OptionsDialog extends JDialog {
         loadedNeuralNetworkPath = fileName;
     }
 
-    private void showLoadedNeuralNetworkMessageBox(NeuralNetwork network) {
+    void addEnsembleNetworkFile(String fileName) {
+        if(fileName == null || fileName.isBlank())
+            return;
+
+        for(int i = 0; i < gameModeSwitcher.getItemCount(); i++) {
+            if(gameModeSwitcher.getItemAt(i) instanceof MlEnsembleMode) {
+                gameModeSwitcher.setSelectedIndex(i);
+                break;
+            }
+        }
+        ensembleNetworkPaths.add(fileName);
+        updateEnsembleSizeLabel();
+    }
+
+    private void updateEnsembleSizeLabel() {
+        ensembleSizeLabel.setText(ensembleNetworkPaths.size() + (ensembleNetworkPaths.size() == 1 ? " file" : " files"));
+        ensembleSizeLabel.setToolTipText(ensembleNetworkPaths.isEmpty() ? null :
+                "<html>" + String.join("<br>", ensembleNetworkPaths) + "</html>");
+    }
+
+    private void showLoadedNeuralNetworkMessageBox(Brain network) {
         if(network == null)
             return;
         String message = "<html>Loaded neural network:<br>" +
                 "File path: " + loadedNeuralNetworkPath + "<br>" +
                 "Achieved score: " + network.getMaxAchievedScore() + "<br>" +
-                "Pipes gap network is trained on: " + network.getPipesVGapNetworkPlayedOn() + "</html>";
+                "Pipes gap network is trained on: " + network.getPipesVGapNetworkPlayedOn() + "<br>" +
+                "Run seed: " + network.getSeed() + "</html>";
 
         JOptionPane.showMessageDialog(this, message, "Loaded neural network", JOptionPane.INFORMATION_MESSAGE);
     }
@@ -231,10 +595,20 @@ public class OptionsDialog extends JDialog {
     private GameMode getGameModeBasedOnUserSelection(JComboBox<GameMode> gameModeSwitcher) {
         GameMode gameMode = (GameMode) gameModeSwitcher.getSelectedItem();
 
+        if(gameMode instanceof MlEnsembleMode ensembleMode) {
+            try {
+                ensembleMode.setMembers(Brain.loadAll(ensembleNetworkPaths),
+                        (EnsembleNetwork.Vote) ensembleVoteSwitcher.getSelectedItem());
+            } catch (IOException | JSONException e) {
+                new ErrorDialog("Cannot load the ensemble networks", e);
+            }
+            return gameMode;
+        }
+
         if(gameMode != null && gameMode.isPretrainedMode() && !loadedNeuralNetworkPath.isBlank()) {
-            NeuralNetwork loadedNetwork;
+            Brain loadedNetwork;
             try {
-                loadedNetwork = NeuralNetwork.getFromJSON(loadedNeuralNetworkPath);
+                loadedNetwork = Brain.load(loadedNeuralNetworkPath);
                 ((MlPretrainedMode) gameMode).setBirdsNeuralNetwork(loadedNetwork);
                 showLoadedNeuralNetworkMessageBox(loadedNetwork);
             } catch (JSONException e) {
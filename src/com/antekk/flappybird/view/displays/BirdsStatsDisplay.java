@@ -1,7 +1,16 @@
 package com.antekk.flappybird.view.displays;
 
+import com.antekk.flappybird.game.ai.Brain;
+import com.antekk.flappybird.game.ai.EnsembleNetwork;
 import com.antekk.flappybird.game.bird.Bird;
+import com.antekk.flappybird.game.bird.gamemodes.MlEnsembleMode;
+import com.antekk.flappybird.game.bird.gamemodes.GameMode;
+import com.antekk.flappybird.game.bird.gamemodes.MlIslandTrainingMode;
+import com.antekk.flappybird.game.bird.gamemodes.MlNeatTrainingMode;
 import com.antekk.flappybird.game.loop.GameLoop;
+import com.antekk.flappybird.game.training.FitnessCache;
+import com.antekk.flappybird.game.training.Island;
+import com.antekk.flappybird.game.training.RemoteEvaluator;
 import com.antekk.flappybird.view.GamePanel;
 
 import java.awt.*;
@@ -11,6 +20,7 @@ import static com.antekk.flappybird.view.GamePanel.RIGHT;
 import static com.antekk.flappybird.view.themes.GameColors.birdMidFlap;
 
 public class BirdsStatsDisplay {
+    private static final int MAX_ROWS = 10;
     private final GamePanel panel;
 
 
@@ -20,25 +30,111 @@ public class BirdsStatsDisplay {
 
     public synchronized void draw(Graphics g) {
         GameLoop loop = panel.getGameLoop();
+        if(loop.getGameMode() instanceof MlEnsembleMode ensembleMode && ensembleMode.getEnsemble() != null) {
+            drawEnsemble(g, ensembleMode.getEnsemble());
+            return;
+        }
         if(!loop.getGameMode().isTrainingMode())
             return;
 
         g.setFont(g.getFont().deriveFont(32f));
-        g.drawString("Generation " + loop.getGenerationNumber(), RIGHT + 2 * getBlockSizePx(), 2 * getBlockSizePx());
+        String generation = "Generation " + loop.getGenerationNumber();
+        g.drawString(generation, RIGHT + 2 * getBlockSizePx(), 2 * getBlockSizePx());
+        int generationWidth = g.getFontMetrics().stringWidth(generation);
+
+        g.setFont(g.getFont().deriveFont(14f));
+        FitnessCache cache = loop.getFitnessCache();
+        RemoteEvaluator remote = loop.getRemoteEvaluator();
+        g.drawString("Ticks/s: " + loop.getTicksPerSecond() + (loop.isTurbo() ? " (turbo, " + loop.getTurboTicksPerFrame() + "/frame)" : "") +
+                        (cache != null ? ", fitness cache hits: " + Math.round(cache.getHitRate() * 100) + "%" : "") +
+                (remote != null ? ", workers: " + remote.getConnectedWorkers() + " (lost: " + remote.getLostWorkers() + ")" : ""),
+                RIGHT + (int) (2.5 * getBlockSizePx()) + generationWidth, 2 * getBlockSizePx());
+
+        g.setFont(g.getFont().deriveFont(14f));
+        g.drawString("Tick overruns: " + loop.getOverrunFrames() + " (late ticks: " + loop.getLateTicks() +
+                ", dropped ticks: " + loop.getDroppedTicks() + ")" +
+                (loop.getGameMode() instanceof MlNeatTrainingMode neat ? ", species: " + neat.getSpeciesCount() : "") +
+                (loop.getCappedGenerations() > 0 ? ", capped generations: " + loop.getCappedGenerations() : "") +
+                (loop.getLastGenerationLimit() != null ? " (last: " + loop.getLastGenerationLimit().name().toLowerCase().replace('_', ' ') + ")" : ""),
+                RIGHT + 2 * getBlockSizePx(), (int) (2.4 * getBlockSizePx()));
 
         g.setFont(g.getFont().deriveFont(18f));
-        for(int i = 0; i < loop.getAmountOfBirds(); i++) {
+        if(loop.getGameMode() instanceof MlIslandTrainingMode islandMode) {
+            drawIslands(g, islandMode.getIslands());
+            return;
+        }
+
+        //large populations only get as many rows as fit on the board, the rest is summed up in the last one
+        int birds = loop.getAmountOfBirds();
+        int rows = birds > MAX_ROWS ? MAX_ROWS - 1 : birds;
+        for(int i = 0; i < rows; i++) {
             Bird bird = loop.getBirdAt(i);
-            int y = (int) ((int) ((i+1) * 1.3 * getBlockSizePx()) + 1.2 * getBlockSizePx());
+            int y = getRowY(i);
                 g.drawImage(birdMidFlap, RIGHT + getBlockSizePx(),y,getBlockSizePx(), getBlockSizePx(), null);
             g.drawString("Fitness = " + bird.getFitness(), (int) (2.5 * getBlockSizePx()) + RIGHT, y + getBlockSizePx() / 2);
             g.drawString("Score = " + bird.getPlayer().score,
                     (int) (2.5 * getBlockSizePx()) + RIGHT, y + getBlockSizePx() / 2 + g.getFontMetrics().getHeight());
         }
+
+        if(rows < birds)
+            g.drawString("... and " + (birds - rows) + " more birds", (int) (2.5 * getBlockSizePx()) + RIGHT,
+                    getRowY(rows) + getBlockSizePx() / 2);
+    }
+
+    private void drawIslands(Graphics g, Island[] islands) {
+        int rows = islands.length > MAX_ROWS ? MAX_ROWS - 1 : islands.length;
+        for(int i = 0; i < rows; i++) {
+            Island island = islands[i];
+            int y = getRowY(i);
+            g.drawImage(birdMidFlap, RIGHT + getBlockSizePx(),y,getBlockSizePx(), getBlockSizePx(), null);
+            g.drawString("Island " + (island.getIndex() + 1) + ": generation " + (island.getGenerations() + 1) +
+                    ", best fitness = " + island.getBestFitness(), (int) (2.5 * getBlockSizePx()) + RIGHT, y + getBlockSizePx() / 2);
+            g.drawString("Migrants in = " + island.getMigrantsReceived() + ", out = " + island.getMigrantsSent(),
+                    (int) (2.5 * getBlockSizePx()) + RIGHT, y + getBlockSizePx() / 2 + g.getFontMetrics().getHeight());
+        }
+
+        if(rows < islands.length)
+            g.drawString("... and " + (islands.length - rows) + " more islands", (int) (2.5 * getBlockSizePx()) + RIGHT,
+                    getRowY(rows) + getBlockSizePx() / 2);
+    }
+
+    //how often every member voted the way the ensemble decided
+    private void drawEnsemble(Graphics g, EnsembleNetwork ensemble) {
+        g.setFont(g.getFont().deriveFont(32f));
+        g.drawString("Ensemble", RIGHT + 2 * getBlockSizePx(), 2 * getBlockSizePx());
+
+        g.setFont(g.getFont().deriveFont(14f));
+        long decisions = ensemble.getDecisions();
+        g.drawString(ensemble.getMemberCount() + " networks, " + ensemble.getVote().name().toLowerCase() + " vote, decisions: " +
+                decisions + " (flaps: " + ensemble.getFlaps() + ", unanimous: " + Math.round(ensemble.getUnanimity() * 100) + "%)",
+                RIGHT + 2 * getBlockSizePx(), (int) (2.4 * getBlockSizePx()));
+
+        g.setFont(g.getFont().deriveFont(18f));
+        int members = ensemble.getMemberCount();
+        int rows = members > MAX_ROWS ? MAX_ROWS - 1 : members;
+        for(int i = 0; i < rows; i++) {
+            Brain member = ensemble.getMember(i);
+            int y = getRowY(i);
+            g.drawImage(birdMidFlap, RIGHT + getBlockSizePx(),y,getBlockSizePx(), getBlockSizePx(), null);
+            g.drawString("Network " + (i + 1) + ": agrees " + Math.round(ensemble.getAgreement(i) * 1000) / 10.0 + "%",
+                    (int) (2.5 * getBlockSizePx()) + RIGHT, y + getBlockSizePx() / 2);
+            g.drawString("Score = " + member.getMaxAchievedScore() + ", gap = " + member.getPipesVGapNetworkPlayedOn() +
+                            (ensemble.getVote() == EnsembleNetwork.Vote.WEIGHTED ? ", weight = " + Math.round(ensemble.getWeight(i)) : ""),
+                    (int) (2.5 * getBlockSizePx()) + RIGHT, y + getBlockSizePx() / 2 + g.getFontMetrics().getHeight());
+        }
+
+        if(rows < members)
+            g.drawString("... and " + (members - rows) + " more networks", (int) (2.5 * getBlockSizePx()) + RIGHT,
+                    getRowY(rows) + getBlockSizePx() / 2);
+    }
+
+    private static int getRowY(int row) {
+        return (int) ((int) ((row + 1) * 1.3 * getBlockSizePx()) + 1.2 * getBlockSizePx());
     }
 
     public Dimension getPreferredSize() {
-        if(!panel.getGameLoop().getGameMode().isTrainingMode())
+        GameMode gameMode = panel.getGameLoop().getGameMode();
+        if(!gameMode.isTrainingMode() && !(gameMode instanceof MlEnsembleMode))
             return new Dimension(0,0);
 
         return new Dimension(